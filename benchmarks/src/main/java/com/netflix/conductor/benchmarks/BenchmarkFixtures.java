@@ -0,0 +1,323 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.utils.ExternalPayloadStorage;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.execution.DeciderService;
+import com.netflix.conductor.core.execution.mapper.DecisionTaskMapper;
+import com.netflix.conductor.core.execution.mapper.ForkJoinTaskMapper;
+import com.netflix.conductor.core.execution.mapper.JoinTaskMapper;
+import com.netflix.conductor.core.execution.mapper.SimpleTaskMapper;
+import com.netflix.conductor.core.execution.mapper.TaskMapper;
+import com.netflix.conductor.core.execution.mapper.UserDefinedTaskMapper;
+import com.netflix.conductor.core.execution.tasks.Fork;
+import com.netflix.conductor.core.execution.tasks.Join;
+import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
+import com.netflix.conductor.core.utils.ExternalPayloadStorageUtils;
+import com.netflix.conductor.core.utils.ParametersUtils;
+import com.netflix.conductor.dao.MetadataDAO;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deterministic fixtures shared by the benchmarks. Everything here is built from the given shape parameters only, so
+ * that results of the same benchmark are comparable across commits.
+ */
+final class BenchmarkFixtures {
+
+    static final String WORKFLOW_NAME = "benchmark_workflow";
+    static final String FORK_REF = "fork";
+    static final String JOIN_REF = "join";
+
+    private static final long START_TIME = 1_600_000_000_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapperProvider().getObjectMapper();
+    }
+
+    static String taskName(int branch, int step) {
+        return "task_" + branch + "_" + step;
+    }
+
+    /**
+     * @return a workflow definition with a fork of {@code width} branches, each a chain of {@code depth} simple
+     * tasks, followed by a join on the last task of every branch
+     */
+    static WorkflowDef forkJoinWorkflowDef(int width, int depth) {
+        List<List<WorkflowTask>> forkTasks = new ArrayList<>(width);
+        List<String> joinOn = new ArrayList<>(width);
+        for (int branch = 0; branch < width; branch++) {
+            List<WorkflowTask> chain = new ArrayList<>(depth);
+            for (int step = 0; step < depth; step++) {
+                chain.add(simpleTask(branch, step));
+            }
+            forkTasks.add(chain);
+            joinOn.add(taskName(branch, depth - 1));
+        }
+
+        WorkflowTask fork = new WorkflowTask();
+        fork.setName(FORK_REF);
+        fork.setTaskReferenceName(FORK_REF);
+        fork.setWorkflowTaskType(TaskType.FORK_JOIN);
+        fork.setForkTasks(forkTasks);
+
+        WorkflowTask join = new WorkflowTask();
+        join.setName(JOIN_REF);
+        join.setTaskReferenceName(JOIN_REF);
+        join.setWorkflowTaskType(TaskType.JOIN);
+        join.setJoinOn(joinOn);
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName(WORKFLOW_NAME);
+        workflowDef.setVersion(1);
+        workflowDef.setSchemaVersion(2);
+        workflowDef.getTasks().add(fork);
+        workflowDef.getTasks().add(join);
+        return workflowDef;
+    }
+
+    private static WorkflowTask simpleTask(int branch, int step) {
+        String name = taskName(branch, step);
+        Map<String, Object> inputParameters = new LinkedHashMap<>();
+        inputParameters.put("requestId", "${workflow.input.requestId}");
+        inputParameters.put("payload", "${workflow.input.payload}");
+        inputParameters.put("literal", "branch " + branch);
+        if (step > 0) {
+            inputParameters.put("previous", "${" + taskName(branch, step - 1) + ".output.result}");
+        }
+
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName(name);
+        workflowTask.setTaskReferenceName(name);
+        workflowTask.setWorkflowTaskType(TaskType.SIMPLE);
+        workflowTask.setInputParameters(inputParameters);
+        workflowTask.setTaskDefinition(new TaskDef(name));
+        return workflowTask;
+    }
+
+    static Map<String, Object> workflowInput(int payloadEntries) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < payloadEntries; i++) {
+            payload.put("key_" + i, "value_" + i);
+        }
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("requestId", "request-1");
+        input.put("payload", payload);
+        return input;
+    }
+
+    /**
+     * @return a running instance of {@link #forkJoinWorkflowDef(int, int)} in which every branch has completed its
+     * first {@code depth / 2} tasks and the following one has completed but not yet been decided upon
+     */
+    static Workflow runningForkJoinWorkflow(int width, int depth) {
+        WorkflowDef workflowDef = forkJoinWorkflowDef(width, depth);
+        WorkflowTask fork = workflowDef.getTasks().get(0);
+        WorkflowTask join = workflowDef.getTasks().get(1);
+
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflow-1");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        workflow.setCreateTime(START_TIME);
+        workflow.setInput(workflowInput(8));
+
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(task(workflow, fork, TaskType.TASK_TYPE_FORK, Task.Status.COMPLETED, true));
+        Task joinTask = task(workflow, join, TaskType.TASK_TYPE_JOIN, Task.Status.IN_PROGRESS, false);
+        joinTask.getInputData().put("joinOn", join.getJoinOn());
+        tasks.add(joinTask);
+
+        int completed = depth / 2;
+        for (int branch = 0; branch < width; branch++) {
+            for (int step = 0; step <= completed; step++) {
+                WorkflowTask workflowTask = fork.getForkTasks().get(branch).get(step);
+                Task task = task(workflow, workflowTask, TaskType.TASK_TYPE_SIMPLE, Task.Status.COMPLETED,
+                    step < completed);
+                task.getOutputData().put("result", "result of " + workflowTask.getTaskReferenceName());
+                tasks.add(task);
+            }
+        }
+        workflow.setTasks(tasks);
+        return workflow;
+    }
+
+    /**
+     * @return a running fork of {@code width} branches with a single, completed task each and the join waiting on all
+     * of them
+     */
+    static Workflow completedForkWorkflow(int width) {
+        Workflow workflow = runningForkJoinWorkflow(width, 1);
+        workflow.getTasks().forEach(task -> task.setExecuted(true));
+        return workflow;
+    }
+
+    private static Task task(Workflow workflow, WorkflowTask workflowTask, String taskType, Task.Status status,
+        boolean executed) {
+        Task task = new Task();
+        task.setTaskId(workflowTask.getTaskReferenceName() + "-id");
+        task.setTaskType(taskType);
+        task.setTaskDefName(workflowTask.getName());
+        task.setReferenceTaskName(workflowTask.getTaskReferenceName());
+        task.setWorkflowTask(workflowTask);
+        task.setWorkflowInstanceId(workflow.getWorkflowId());
+        task.setWorkflowType(WORKFLOW_NAME);
+        task.setStatus(status);
+        task.setExecuted(executed);
+        task.setScheduledTime(START_TIME);
+        task.setStartTime(START_TIME);
+        if (status.isTerminal()) {
+            task.setEndTime(START_TIME + 1000);
+        }
+        return task;
+    }
+
+    static ExternalPayloadStorageUtils externalPayloadStorageUtils(ObjectMapper objectMapper) {
+        return new ExternalPayloadStorageUtils(new NoopPayloadStorage(), new ConductorProperties(), objectMapper);
+    }
+
+    static DeciderService deciderService(ObjectMapper objectMapper, WorkflowDef workflowDef) {
+        ParametersUtils parametersUtils = new ParametersUtils(objectMapper);
+        MetadataDAO metadataDAO = new InMemoryMetadataDAO(workflowDef);
+        SystemTaskRegistry systemTaskRegistry = new SystemTaskRegistry(Set.of(new Fork(), new Join()));
+
+        Map<TaskType, TaskMapper> taskMappers = new HashMap<>();
+        taskMappers.put(TaskType.DECISION, new DecisionTaskMapper());
+        taskMappers.put(TaskType.FORK_JOIN, new ForkJoinTaskMapper());
+        taskMappers.put(TaskType.JOIN, new JoinTaskMapper());
+        taskMappers.put(TaskType.SIMPLE, new SimpleTaskMapper(parametersUtils));
+        taskMappers.put(TaskType.USER_DEFINED, new UserDefinedTaskMapper(parametersUtils, metadataDAO));
+
+        return new DeciderService(parametersUtils, metadataDAO, externalPayloadStorageUtils(objectMapper),
+            systemTaskRegistry, taskMappers, Duration.ofMinutes(60));
+    }
+
+    /**
+     * Accepts every upload without storing it, so that only the cost of the checks and of the serialization is
+     * measured.
+     */
+    static class NoopPayloadStorage implements ExternalPayloadStorage {
+
+        @Override
+        public ExternalStorageLocation getLocation(Operation operation, PayloadType payloadType, String path) {
+            ExternalStorageLocation location = new ExternalStorageLocation();
+            location.setUri("noop://" + payloadType);
+            location.setPath(payloadType + "/payload.json");
+            return location;
+        }
+
+        @Override
+        public void upload(String path, InputStream payload, long payloadSize) {
+        }
+
+        @Override
+        public InputStream download(String path) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Serves the task definitions of the given workflow definition from memory.
+     */
+    static class InMemoryMetadataDAO implements MetadataDAO {
+
+        private final Map<String, TaskDef> taskDefs = new ConcurrentHashMap<>();
+        private final WorkflowDef workflowDef;
+
+        InMemoryMetadataDAO(WorkflowDef workflowDef) {
+            this.workflowDef = workflowDef;
+            workflowDef.collectTasks().stream()
+                .map(WorkflowTask::getTaskDefinition)
+                .filter(taskDef -> taskDef != null)
+                .forEach(this::createTaskDef);
+        }
+
+        @Override
+        public void createTaskDef(TaskDef taskDef) {
+            taskDefs.put(taskDef.getName(), taskDef);
+        }
+
+        @Override
+        public String updateTaskDef(TaskDef taskDef) {
+            createTaskDef(taskDef);
+            return taskDef.getName();
+        }
+
+        @Override
+        public TaskDef getTaskDef(String name) {
+            return taskDefs.get(name);
+        }
+
+        @Override
+        public List<TaskDef> getAllTaskDefs() {
+            return new ArrayList<>(taskDefs.values());
+        }
+
+        @Override
+        public void removeTaskDef(String name) {
+            taskDefs.remove(name);
+        }
+
+        @Override
+        public void createWorkflowDef(WorkflowDef def) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateWorkflowDef(WorkflowDef def) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<WorkflowDef> getLatestWorkflowDef(String name) {
+            return Optional.of(workflowDef).filter(def -> def.getName().equals(name));
+        }
+
+        @Override
+        public Optional<WorkflowDef> getWorkflowDef(String name, int version) {
+            return getLatestWorkflowDef(name).filter(def -> def.getVersion() == version);
+        }
+
+        @Override
+        public void removeWorkflowDef(String name, Integer version) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<WorkflowDef> getAllWorkflowDefs() {
+            return List.of(workflowDef);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.execution.DeciderService;
+import com.netflix.conductor.core.execution.DeciderService.DeciderOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DeciderService#decide(Workflow)} and the task mapper chain behind {@link
+ * DeciderService#getTasksToBeScheduled} on fork/join workflows of varying width and depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DeciderServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int width;
+
+    @Param({"1", "5", "20"})
+    private int depth;
+
+    private DeciderService deciderService;
+    private WorkflowTask forkTask;
+    private Workflow newWorkflow;
+    private Workflow runningWorkflow;
+
+    @Setup
+    public void setUp() {
+        WorkflowDef workflowDef = BenchmarkFixtures.forkJoinWorkflowDef(width, depth);
+        forkTask = workflowDef.getTasks().get(0);
+        deciderService = BenchmarkFixtures.deciderService(BenchmarkFixtures.objectMapper(), workflowDef);
+
+        newWorkflow = new Workflow();
+        newWorkflow.setWorkflowId("workflow-1");
+        newWorkflow.setWorkflowDefinition(workflowDef);
+        newWorkflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        newWorkflow.setInput(BenchmarkFixtures.workflowInput(8));
+
+        runningWorkflow = BenchmarkFixtures.runningForkJoinWorkflow(width, depth);
+    }
+
+    /**
+     * Decides a workflow that has just been started, which schedules the fork with the first task of every branch.
+     */
+    @Benchmark
+    public DeciderOutcome decideNewWorkflow() {
+        return deciderService.decide(newWorkflow);
+    }
+
+    /**
+     * Decides a workflow half way through its branches. Deciding marks the completed tasks as executed, so every
+     * invocation works on a copy; {@link #copyRunningWorkflow()} measures the cost of that copy on its own.
+     */
+    @Benchmark
+    public DeciderOutcome decideRunningWorkflow() {
+        return deciderService.decide(runningWorkflow.copy());
+    }
+
+    @Benchmark
+    public Workflow copyRunningWorkflow() {
+        return runningWorkflow.copy();
+    }
+
+    /**
+     * Runs the mapper chain for the fork, which maps the first task of every branch and the join.
+     */
+    @Benchmark
+    public List<Task> getTasksToBeScheduled() {
+        return deciderService.getTasksToBeScheduled(newWorkflow, forkTask, 0);
+    }
+}
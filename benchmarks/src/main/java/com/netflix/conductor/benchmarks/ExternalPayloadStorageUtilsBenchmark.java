@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.utils.ExternalPayloadStorage.PayloadType;
+import com.netflix.conductor.core.utils.ExternalPayloadStorageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExternalPayloadStorageUtils#verifyAndUpload} on task inputs below and above the default threshold
+ * of 3MB. Uploads go to a storage that discards them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExternalPayloadStorageUtilsBenchmark {
+
+    private static final String KILOBYTE = "x".repeat(1000);
+
+    /**
+     * The approximate size of the task input, in kilobytes.
+     */
+    @Param({"1", "64", "4096"})
+    private int payloadKilobytes;
+
+    private ExternalPayloadStorageUtils externalPayloadStorageUtils;
+    private Map<String, Object> payload;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        externalPayloadStorageUtils = BenchmarkFixtures.externalPayloadStorageUtils(BenchmarkFixtures.objectMapper());
+
+        payload = new LinkedHashMap<>();
+        for (int i = 0; i < payloadKilobytes; i++) {
+            payload.put("key_" + i, KILOBYTE);
+        }
+        task = new Task();
+        task.setTaskId("task-1");
+        task.setTaskDefName("task_0_0");
+        task.setWorkflowInstanceId("workflow-1");
+    }
+
+    @Benchmark
+    public Task verifyAndUpload() {
+        // an upload replaces the input with the storage path, so the input is restored on every invocation
+        task.setInputData(payload);
+        task.setExternalInputPayloadStoragePath(null);
+        externalPayloadStorageUtils.verifyAndUpload(task, PayloadType.TASK_INPUT);
+        return task;
+    }
+}
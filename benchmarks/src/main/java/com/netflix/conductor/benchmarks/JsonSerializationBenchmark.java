@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON (de)serialization of tasks and workflows the way the Redis DAOs do it in
+ * {@code BaseDynoDAO.toJson} and {@code BaseDynoDAO.readValue}: a workflow is stored without its tasks, each task is
+ * stored on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+    /**
+     * The number of entries of the workflow input payload, which is also copied into the task input.
+     */
+    @Param({"8", "512"})
+    private int payloadEntries;
+
+    private ObjectMapper objectMapper;
+    private Task task;
+    private Workflow workflow;
+    private String taskJson;
+    private String workflowJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+
+        workflow = BenchmarkFixtures.runningForkJoinWorkflow(4, 4);
+        workflow.setInput(BenchmarkFixtures.workflowInput(payloadEntries));
+        task = workflow.getTaskByRefName(BenchmarkFixtures.taskName(0, 1));
+        task.setInputData(BenchmarkFixtures.workflowInput(payloadEntries));
+        workflow.setTasks(new LinkedList<>());
+
+        taskJson = objectMapper.writeValueAsString(task);
+        workflowJson = objectMapper.writeValueAsString(workflow);
+    }
+
+    @Benchmark
+    public String writeTask() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(task);
+    }
+
+    @Benchmark
+    public Task readTask() throws JsonProcessingException {
+        return objectMapper.readValue(taskJson, Task.class);
+    }
+
+    @Benchmark
+    public String writeWorkflow() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(workflow);
+    }
+
+    @Benchmark
+    public Workflow readWorkflow() throws JsonProcessingException {
+        return objectMapper.readValue(workflowJson, Workflow.class);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.utils.ParametersUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the resolution of task input templates by {@link ParametersUtils#getTaskInputV2}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParametersUtilsBenchmark {
+
+    /**
+     * The number of entries of the workflow input payload that is copied into the task input.
+     */
+    @Param({"8", "128"})
+    private int payloadEntries;
+
+    private ParametersUtils parametersUtils;
+    private Workflow workflow;
+    private Map<String, Object> inputTemplate;
+
+    @Setup
+    public void setUp() {
+        parametersUtils = new ParametersUtils(BenchmarkFixtures.objectMapper());
+        workflow = BenchmarkFixtures.runningForkJoinWorkflow(4, 4);
+        workflow.setInput(BenchmarkFixtures.workflowInput(payloadEntries));
+
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("previous", "${" + BenchmarkFixtures.taskName(0, 0) + ".output.result}");
+        nested.put("workflowId", "${workflow.workflowId}");
+        nested.put("list", Arrays.asList("${workflow.input.requestId}", "literal", 42));
+
+        inputTemplate = new LinkedHashMap<>();
+        inputTemplate.put("requestId", "${workflow.input.requestId}");
+        inputTemplate.put("payload", "${workflow.input.payload}");
+        inputTemplate.put("singleValue", "${workflow.input.payload.key_1}");
+        inputTemplate.put("taskOutput", "${" + BenchmarkFixtures.taskName(1, 1) + ".output}");
+        inputTemplate.put("interpolated", "request ${workflow.input.requestId} of ${workflow.workflowType}");
+        inputTemplate.put("literal", "no references");
+        inputTemplate.put("nested", nested);
+    }
+
+    @Benchmark
+    public Map<String, Object> getTaskInputV2() {
+        return parametersUtils.getTaskInputV2(inputTemplate, workflow, "task-1", null);
+    }
+}
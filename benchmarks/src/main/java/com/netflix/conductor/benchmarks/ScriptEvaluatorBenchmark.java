@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.core.events.ScriptEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.script.ScriptException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ScriptEvaluator} on a script it has compiled before and on scripts it has never seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScriptEvaluatorBenchmark {
+
+    private static final String SCRIPT = "$.status == 'COMPLETED' && $.retries < ";
+
+    private Map<String, Object> input;
+    private long coldScripts;
+
+    @Setup
+    public void setUp() {
+        input = new LinkedHashMap<>();
+        input.put("status", "COMPLETED");
+        input.put("retries", 1);
+    }
+
+    @Benchmark
+    public Boolean warm() throws ScriptException {
+        return ScriptEvaluator.evalBool(SCRIPT + 3, input);
+    }
+
+    /**
+     * Evaluates a script that differs from all previous ones, so that it is compiled before it is evaluated.
+     */
+    @Benchmark
+    public Boolean cold() throws ScriptException {
+        return ScriptEvaluator.evalBool(SCRIPT + (3 + coldScripts++), input);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.execution.DeciderService;
+import com.netflix.conductor.core.execution.DeciderService.DeciderOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link DeciderService#decide(Workflow)} and the task lookups by reference name behind it on a fork of
+ * {@code taskCount} single task branches, in which every branch has completed but not yet been decided upon. The
+ * decision looks up every task of the workflow, so its cost grows with the square of the task count when each lookup
+ * scans the tasks, and linearly when the lookups are indexed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskCountBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int taskCount;
+
+    private DeciderService deciderService;
+    private Workflow workflow;
+    private List<String> refNames;
+
+    @Setup
+    public void setUp() {
+        workflow = BenchmarkFixtures.runningForkJoinWorkflow(taskCount, 1);
+        deciderService = BenchmarkFixtures.deciderService(BenchmarkFixtures.objectMapper(),
+            workflow.getWorkflowDefinition());
+        refNames = workflow.getTasks().stream()
+            .map(Task::getReferenceTaskName)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Decides the workflow, which marks the completed branches as executed and schedules the join, so every invocation
+     * works on a copy; {@link #copyWorkflow()} measures the cost of that copy on its own.
+     */
+    @Benchmark
+    public DeciderOutcome decide() {
+        return deciderService.decide(workflow.copy());
+    }
+
+    @Benchmark
+    public Workflow copyWorkflow() {
+        return workflow.copy();
+    }
+
+    /**
+     * Looks up every task of a freshly copied workflow by its reference name, including the cost of building the
+     * lookup index once.
+     */
+    @Benchmark
+    public void getEveryTaskByRefName(Blackhole blackhole) {
+        Workflow copy = workflow.copy();
+        for (String refName : refNames) {
+            blackhole.consume(copy.getTaskByRefName(refName));
+        }
+    }
+}
@@ -23,10 +23,14 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.util.AbstractList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -78,7 +82,7 @@ public class Workflow extends Auditable {
     private String parentWorkflowTaskId;
 
     @ProtoField(id = 6)
-    private List<Task> tasks = new LinkedList<>();
+    private List<Task> tasks = new TaskList(new LinkedList<>());
 
     @ProtoField(id = 8)
     private Map<String, Object> input = new HashMap<>();
@@ -128,6 +132,22 @@ public class Workflow extends Auditable {
     @ProtoField(id = 24)
     private long lastRetriedTime;
 
+    /**
+     * The hash of the workflow definition, set only while the workflow is persisted with a reference to its definition
+     * instead of a copy of it.
+     */
+    private String workflowDefinitionHash;
+
+    /**
+     * Lookup indexes over {@link #tasks}, built lazily and rebuilt when the task list is replaced or modified.
+     */
+    private List<Task> indexedTasks;
+    private int indexedTaskCount;
+    private int indexedTaskModifications;
+    private Map<String, Task> taskByRefName;
+    private Map<String, Task> taskById;
+    private Task taskWithoutRefName;
+
     public Workflow() {
 
     }
@@ -199,7 +219,7 @@ public class Workflow extends Auditable {
      * @param tasks the tasks to set
      */
     public void setTasks(List<Task> tasks) {
-        this.tasks = tasks;
+        this.tasks = tasks == null || tasks instanceof TaskList ? tasks : new TaskList(tasks);
     }
 
     /**
@@ -332,6 +352,14 @@ public class Workflow extends Auditable {
         this.workflowDefinition = workflowDefinition;
     }
 
+    public String getWorkflowDefinitionHash() {
+        return workflowDefinitionHash;
+    }
+
+    public void setWorkflowDefinitionHash(String workflowDefinitionHash) {
+        this.workflowDefinitionHash = workflowDefinitionHash;
+    }
+
     /**
      * @return the external storage path of the workflow input payload
      */
@@ -431,25 +459,197 @@ public class Workflow extends Auditable {
         return StringUtils.isNotEmpty(parentWorkflowId);
     }
 
+    /**
+     * @param refName the reference name of the task
+     * @return the latest task with the given reference name, or null if there is none
+     */
     public Task getTaskByRefName(String refName) {
         if (refName == null) {
             throw new RuntimeException(
                 "refName passed is null.  Check the workflow execution.  For dynamic tasks, make sure referenceTaskName is set to a not null value");
         }
-        LinkedList<Task> found = new LinkedList<>();
+        indexTasks();
+        if (taskWithoutRefName != null) {
+            throw new RuntimeException(
+                "Task " + taskWithoutRefName.getTaskDefName() + ", seq=" + taskWithoutRefName.getSeq()
+                    + " does not have reference name specified.");
+        }
+        Task task = taskByRefName.get(refName);
+        if (task != null && !refName.equals(task.getReferenceTaskName())) {
+            // the task was renamed after the index was built
+            task = rebuildTaskIndexes().taskByRefName.get(refName);
+        }
+        return task;
+    }
+
+    /**
+     * @param taskId the id of the task
+     * @return the task with the given id, or null if there is none
+     */
+    public Task getTaskById(String taskId) {
+        Task task = indexTasks().taskById.get(taskId);
+        if (task != null && !taskId.equals(task.getTaskId())) {
+            task = rebuildTaskIndexes().taskById.get(taskId);
+        }
+        return task;
+    }
+
+    /**
+     * The indexes are used as long as {@link #tasks} is the same list and has not been modified since, as counted by
+     * {@link TaskList}. The size is compared as well, for lists passed to {@link #setTasks(List)} and modified through
+     * the reference kept by the caller. The task found is checked again before it is returned.
+     */
+    private Workflow indexTasks() {
+        if (indexedTasks != tasks || indexedTaskCount != tasks.size()
+            || indexedTaskModifications != ((TaskList) tasks).modifications) {
+            rebuildTaskIndexes();
+        }
+        return this;
+    }
+
+    private Workflow rebuildTaskIndexes() {
+        Map<String, Task> byRefName = new HashMap<>();
+        Map<String, Task> byId = new HashMap<>();
+        Task withoutRefName = null;
         for (Task t : tasks) {
             if (t.getReferenceTaskName() == null) {
-                throw new RuntimeException(
-                    "Task " + t.getTaskDefName() + ", seq=" + t.getSeq() + " does not have reference name specified.");
+                if (withoutRefName == null) {
+                    withoutRefName = t;
+                }
+            } else {
+                // later tasks, e.g. retries, replace earlier ones with the same reference name
+                byRefName.put(t.getReferenceTaskName(), t);
             }
-            if (t.getReferenceTaskName().equals(refName)) {
-                found.add(t);
+            if (t.getTaskId() != null) {
+                byId.put(t.getTaskId(), t);
             }
         }
-        if (found.isEmpty()) {
-            return null;
+        taskByRefName = byRefName;
+        taskById = byId;
+        taskWithoutRefName = withoutRefName;
+        indexedTasks = tasks;
+        indexedTaskCount = tasks.size();
+        indexedTaskModifications = ((TaskList) tasks).modifications;
+        return this;
+    }
+
+    /**
+     * A view of a task list which counts the changes made through it, including tasks replaced in place, so that the
+     * task indexes are rebuilt after any of them.
+     */
+    private static final class TaskList extends AbstractList<Task> {
+
+        private final List<Task> tasks;
+        private int modifications;
+
+        TaskList(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public Task get(int index) {
+            return tasks.get(index);
+        }
+
+        @Override
+        public int size() {
+            return tasks.size();
+        }
+
+        @Override
+        public Task set(int index, Task task) {
+            modifications++;
+            return tasks.set(index, task);
+        }
+
+        @Override
+        public void add(int index, Task task) {
+            modifications++;
+            tasks.add(index, task);
+        }
+
+        @Override
+        public boolean add(Task task) {
+            modifications++;
+            return tasks.add(task);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Task> c) {
+            modifications++;
+            return tasks.addAll(c);
+        }
+
+        @Override
+        public Task remove(int index) {
+            modifications++;
+            return tasks.remove(index);
+        }
+
+        @Override
+        public void clear() {
+            modifications++;
+            tasks.clear();
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return listIterator();
+        }
+
+        @Override
+        public ListIterator<Task> listIterator(int index) {
+            ListIterator<Task> iterator = tasks.listIterator(index);
+            return new ListIterator<Task>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Task next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return iterator.hasPrevious();
+                }
+
+                @Override
+                public Task previous() {
+                    return iterator.previous();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return iterator.nextIndex();
+                }
+
+                @Override
+                public int previousIndex() {
+                    return iterator.previousIndex();
+                }
+
+                @Override
+                public void remove() {
+                    modifications++;
+                    iterator.remove();
+                }
+
+                @Override
+                public void set(Task task) {
+                    modifications++;
+                    iterator.set(task);
+                }
+
+                @Override
+                public void add(Task task) {
+                    modifications++;
+                    iterator.add(task);
+                }
+            };
         }
-        return found.getLast();
     }
 
     /**
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.run;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class WorkflowTest {
+
+    @Test
+    public void testGetTaskByRefNameReturnsLatestTask() {
+        Workflow workflow = new Workflow();
+        Task first = createTask("t1", "ref1");
+        Task retried = createTask("t2", "ref1");
+        workflow.getTasks().add(first);
+        workflow.getTasks().add(createTask("t3", "ref2"));
+
+        assertSame(first, workflow.getTaskByRefName("ref1"));
+        assertNull(workflow.getTaskByRefName("ref3"));
+
+        workflow.getTasks().add(retried);
+        assertSame(retried, workflow.getTaskByRefName("ref1"));
+        assertSame(first, workflow.getTaskById("t1"));
+    }
+
+    @Test
+    public void testTaskIndexesFollowTaskListChanges() {
+        Workflow workflow = new Workflow();
+        Task task = createTask("t1", "ref1");
+        workflow.getTasks().add(task);
+        assertSame(task, workflow.getTaskByRefName("ref1"));
+
+        List<Task> tasks = new ArrayList<>();
+        Task replacement = createTask("t2", "ref1");
+        tasks.add(replacement);
+        workflow.setTasks(tasks);
+        assertSame(replacement, workflow.getTaskByRefName("ref1"));
+        assertNull(workflow.getTaskById("t1"));
+
+        replacement.setReferenceTaskName("ref2");
+        assertNull(workflow.getTaskByRefName("ref1"));
+        assertSame(replacement, workflow.getTaskByRefName("ref2"));
+
+        workflow.getTasks().clear();
+        assertNull(workflow.getTaskByRefName("ref2"));
+        assertNull(workflow.getTaskById("t2"));
+    }
+
+    @Test
+    public void testTaskIndexesFollowChangesKeepingTheSize() {
+        Workflow workflow = new Workflow();
+        Task task = createTask("t1", "ref1");
+        workflow.getTasks().add(task);
+        assertSame(task, workflow.getTaskById("t1"));
+
+        Task replacement = createTask("t2", "ref1");
+        workflow.getTasks().set(0, replacement);
+        assertSame(replacement, workflow.getTaskByRefName("ref1"));
+        assertNull(workflow.getTaskById("t1"));
+
+        // e.g. a restart clearing the tasks before the first ones are scheduled again
+        Task rescheduled = createTask("t3", "ref1");
+        workflow.getTasks().clear();
+        workflow.getTasks().addAll(Collections.singletonList(rescheduled));
+        assertSame(rescheduled, workflow.getTaskByRefName("ref1"));
+        assertNull(workflow.getTaskById("t2"));
+
+        Task removed = createTask("t4", "ref2");
+        workflow.getTasks().removeIf(t -> t == rescheduled);
+        workflow.getTasks().add(removed);
+        assertNull(workflow.getTaskByRefName("ref1"));
+        assertSame(removed, workflow.getTaskById("t4"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGetTaskByRefNameWithTaskWithoutRefName() {
+        Workflow workflow = new Workflow();
+        workflow.getTasks().add(createTask("t1", null));
+        workflow.getTaskByRefName("ref1");
+    }
+
+    private Task createTask(String taskId, String refName) {
+        Task task = new Task();
+        task.setTaskId(taskId);
+        task.setReferenceTaskName(refName);
+        return task;
+    }
+}
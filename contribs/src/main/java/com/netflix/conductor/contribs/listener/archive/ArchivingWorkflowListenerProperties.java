@@ -30,7 +30,8 @@ public class ArchivingWorkflowListenerProperties {
     }
 
     /**
-     * The time to live in seconds for workflow archiving module. Currently, only RedisExecutionDAO supports this
+     * The time to live in seconds for workflow archiving module. Currently, only RedisExecutionDAO and
+     * PostgresExecutionDAO with partitioned tables support this
      */
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration ttlDuration = Duration.ZERO;
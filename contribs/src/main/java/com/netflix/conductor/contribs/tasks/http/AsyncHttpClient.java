@@ -0,0 +1,223 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.tasks.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.conductor.contribs.tasks.http.HttpTask.Input;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A non-blocking HTTP client for the {@link AsyncHttpTask}.
+ * <p>
+ * The requests are sent with a shared {@link HttpClient}, which keeps the connections alive and reuses them, and whose
+ * few threads only handle the responses. The number of requests in flight to a single host is limited; the requests
+ * over that limit are queued, without blocking the caller, until a request to the same host completes, or fail once
+ * they have waited for longer than the permit timeout. A request is thus completed, one way or another, within its
+ * {@link #getRequestBudget(Input) budget}.
+ */
+@Component
+@ConditionalOnProperty(name = "conductor.tasks.http.asyncEnabled", havingValue = "true")
+public class AsyncHttpClient {
+
+    private final HttpClient httpClient;
+    private final ExecutorService executorService;
+    private final ObjectMapper objectMapper;
+    private final Duration defaultReadTimeout;
+    private final Duration connectTimeout;
+    private final Duration permitTimeout;
+    private final int maxRequestsPerHost;
+    private final Map<String, HostPermits> hostPermits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AsyncHttpClient(ObjectMapper objectMapper,
+        @Value("${conductor.tasks.http.readTimeout:150ms}") Duration readTimeout,
+        @Value("${conductor.tasks.http.connectTimeout:100ms}") Duration connectTimeout,
+        @Value("${conductor.tasks.http.asyncThreadCount:4}") int threadCount,
+        @Value("${conductor.tasks.http.maxConnectionsPerHost:100}") int maxRequestsPerHost,
+        @Value("${conductor.tasks.http.hostPermitTimeout:1s}") Duration permitTimeout) {
+        this.objectMapper = objectMapper;
+        this.defaultReadTimeout = readTimeout;
+        this.connectTimeout = connectTimeout;
+        this.permitTimeout = permitTimeout;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.executorService = Executors.newFixedThreadPool(threadCount,
+            new ThreadFactoryBuilder().setNameFormat("http-task-client-%d").setDaemon(true).build());
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(connectTimeout)
+            .executor(executorService)
+            .build();
+    }
+
+    /**
+     * Sends the request without waiting for the response.
+     * <p>
+     * The connection timeout of the input is not supported, the client wide connection timeout applies.
+     *
+     * @param input the HTTP request
+     * @return the future response, completed on one of the threads of this client
+     */
+    public CompletableFuture<HttpResponse<String>> send(Input input) {
+        HttpRequest request = buildRequest(input);
+        String host = request.uri().getAuthority();
+        HostPermits permits = hostPermits.computeIfAbsent(host, h -> new HostPermits(maxRequestsPerHost));
+
+        CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+        Runnable sendRequest = () -> {
+            try {
+                // the request timeout only covers the wait for the response headers, not the read of the body
+                httpClient.sendAsync(request, BodyHandlers.ofString())
+                    .orTimeout(connectTimeout.plus(getRequestTimeout(input)).toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((response, error) -> {
+                        permits.release();
+                        if (error != null) {
+                            future.completeExceptionally(error);
+                        } else {
+                            future.complete(response);
+                        }
+                    });
+            } catch (Exception e) {
+                permits.release();
+                future.completeExceptionally(e);
+            }
+        };
+        if (permits.acquireOrEnqueue(sendRequest)) {
+            sendRequest.run();
+        } else {
+            CompletableFuture.delayedExecutor(permitTimeout.toMillis(), TimeUnit.MILLISECONDS, executorService)
+                .execute(() -> {
+                    if (permits.remove(sendRequest)) {
+                        future.completeExceptionally(
+                            new HttpTimeoutException("Timed out waiting for a connection to " + host));
+                    }
+                });
+        }
+        return future;
+    }
+
+    /**
+     * @param input the HTTP request
+     * @return the time after which the request times out
+     */
+    public Duration getRequestTimeout(Input input) {
+        return Optional.ofNullable(input.getReadTimeOut())
+            .map(Duration::ofMillis)
+            .orElse(defaultReadTimeout);
+    }
+
+    /**
+     * @param input the HTTP request
+     * @return the longest time between the {@link #send(Input) send} of the request and the completion of its future:
+     * the longest wait for a connection to the host, and the connection and request timeouts
+     */
+    public Duration getRequestBudget(Input input) {
+        return permitTimeout.plus(connectTimeout).plus(getRequestTimeout(input));
+    }
+
+    private HttpRequest buildRequest(Input input) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(input.getUri()))
+            .timeout(getRequestTimeout(input))
+            .header("Content-Type", input.getContentType())
+            .header("Accept", input.getAccept())
+            .method(input.getMethod().name(), bodyPublisher(input.getBody()));
+        input.getHeaders().forEach((key, value) -> builder.header(key, value.toString()));
+        return builder.build();
+    }
+
+    private BodyPublisher bodyPublisher(Object body) {
+        if (body == null) {
+            return BodyPublishers.noBody();
+        }
+        if (body instanceof String) {
+            return BodyPublishers.ofString((String) body);
+        }
+        try {
+            return BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize the HTTP request body", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * The requests in flight to a host, and the requests waiting for one of them to complete.
+     */
+    private static class HostPermits {
+
+        private final Queue<Runnable> waitingRequests = new ArrayDeque<>();
+        private int availablePermits;
+
+        HostPermits(int permits) {
+            this.availablePermits = permits;
+        }
+
+        synchronized boolean acquireOrEnqueue(Runnable request) {
+            if (availablePermits > 0) {
+                availablePermits--;
+                return true;
+            }
+            waitingRequests.add(request);
+            return false;
+        }
+
+        /**
+         * @return whether the request was still waiting, in which case it will not be run
+         */
+        synchronized boolean remove(Runnable request) {
+            return waitingRequests.remove(request);
+        }
+
+        void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waitingRequests.poll();
+                if (next == null) {
+                    availablePermits++;
+                    return;
+                }
+            }
+            // the permit is handed over to the next waiting request
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.tasks.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.Task.Status;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.execution.tasks.SystemTaskResultUpdater;
+import com.netflix.conductor.core.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_HTTP;
+
+/**
+ * The {@link HttpTask} that does not wait for the HTTP response, enabled with
+ * <code>conductor.tasks.http.asyncEnabled=true</code>.
+ * <p>
+ * The request is sent with the non-blocking {@link AsyncHttpClient} and the task is left IN_PROGRESS, so the system
+ * task worker thread is released right away. The task is completed by the {@link SystemTaskResultUpdater} when the
+ * response arrives. The task is failed if it is still in progress once both the budget of its request and the time
+ * the result updater may take to apply the result have elapsed, i.e. when the response was lost.
+ */
+@Component(TASK_TYPE_HTTP)
+@ConditionalOnProperty(name = "conductor.tasks.http.asyncEnabled", havingValue = "true")
+public class AsyncHttpTask extends HttpTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHttpTask.class);
+
+    private final AsyncHttpClient asyncHttpClient;
+    private final SystemTaskResultUpdater taskResultUpdater;
+    private final Set<String> requestsInFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public AsyncHttpTask(RestTemplateProvider restTemplateProvider,
+                         AsyncHttpClient asyncHttpClient,
+                         SystemTaskResultUpdater taskResultUpdater,
+                         ObjectMapper objectMapper) {
+        super(restTemplateProvider, objectMapper);
+        this.asyncHttpClient = asyncHttpClient;
+        this.taskResultUpdater = taskResultUpdater;
+    }
+
+    @Override
+    public void start(Workflow workflow, Task task, WorkflowExecutor executor) {
+        task.setWorkerId(Utils.getServerId());
+        Input input = getInput(task);
+        if (input == null) {
+            return;
+        }
+
+        // the task is persisted by the system task worker, so the response handler works on its own result
+        TaskResult taskResult = new TaskResult();
+        taskResult.setWorkflowInstanceId(task.getWorkflowInstanceId());
+        taskResult.setTaskId(task.getTaskId());
+        taskResult.setWorkerId(task.getWorkerId());
+        boolean asyncComplete = isAsyncComplete(task);
+
+        requestsInFlight.add(task.getTaskId());
+        try {
+            asyncHttpClient.send(input)
+                .handle((response, error) -> {
+                    try {
+                        if (error != null) {
+                            onError(taskResult, input, error);
+                        } else {
+                            onResponse(taskResult, toHttpResponse(response), asyncComplete);
+                        }
+                    } catch (Exception e) {
+                        onError(taskResult, input, e);
+                    }
+                    return null;
+                })
+                .thenCompose(v -> taskResultUpdater.update(executor, taskResult))
+                .whenComplete((v, e) -> requestsInFlight.remove(taskResult.getTaskId()));
+            task.setStatus(Status.IN_PROGRESS);
+        } catch (Exception e) {
+            requestsInFlight.remove(task.getTaskId());
+            LOGGER.error("Failed to invoke {} task: {} - uri: {}, vipAddress: {} in workflow: {}", getTaskType(),
+                task.getTaskId(), input.getUri(), input.getVipAddress(), task.getWorkflowInstanceId(), e);
+            task.setStatus(Status.FAILED);
+            task.setReasonForIncompletion("Failed to invoke " + getTaskType() + " task due to: " + e);
+            task.getOutputData().put("response", e.toString());
+        }
+    }
+
+    @Override
+    public boolean execute(Workflow workflow, Task task, WorkflowExecutor executor) {
+        if (requestsInFlight.contains(task.getTaskId())) {
+            return false;
+        }
+        Input input = objectMapper.convertValue(task.getInputData().get(REQUEST_PARAMETER_NAME), Input.class);
+        long deadline = task.getStartTime() + asyncHttpClient.getRequestBudget(input)
+            .plus(taskResultUpdater.getUpdateWindow())
+            .toMillis();
+        if (System.currentTimeMillis() < deadline) {
+            // the request may be in flight on another server, or its result not applied yet
+            return false;
+        }
+        // the response was lost, e.g. the server that sent the request was restarted
+        task.setStatus(Status.FAILED);
+        task.setReasonForIncompletion("No response was received for the HTTP request of the task");
+        return true;
+    }
+
+    @Override
+    public void cancel(Workflow workflow, Task task, WorkflowExecutor executor) {
+        // the response of a request in flight is ignored when it arrives, as the task is no longer in progress
+        requestsInFlight.remove(task.getTaskId());
+        super.cancel(workflow, task, executor);
+    }
+
+    private void onResponse(TaskResult taskResult, HttpResponse response, boolean asyncComplete) {
+        LOGGER.debug("Response: {}, {}, task:{}", response.statusCode, response.body, taskResult.getTaskId());
+        if (response.statusCode > 199 && response.statusCode < 300) {
+            taskResult.setStatus(asyncComplete ? TaskResult.Status.IN_PROGRESS : TaskResult.Status.COMPLETED);
+        } else {
+            if (response.body != null) {
+                taskResult.setReasonForIncompletion(response.body.toString());
+            } else {
+                taskResult.setReasonForIncompletion("No response from the remote service");
+            }
+            taskResult.setStatus(TaskResult.Status.FAILED);
+        }
+        taskResult.addOutputData("response", response.asMap());
+    }
+
+    private void onError(TaskResult taskResult, Input input, Throwable error) {
+        LOGGER.error("Failed to invoke {} task: {} - uri: {}, vipAddress: {} in workflow: {}", getTaskType(),
+            taskResult.getTaskId(), input.getUri(), input.getVipAddress(), taskResult.getWorkflowInstanceId(), error);
+        taskResult.setStatus(TaskResult.Status.FAILED);
+        taskResult.setReasonForIncompletion("Failed to invoke " + getTaskType() + " task due to: " + error);
+        taskResult.addOutputData("response", error.toString());
+    }
+
+    private HttpResponse toHttpResponse(java.net.http.HttpResponse<String> httpResponse) {
+        HttpResponse response = new HttpResponse();
+        response.statusCode = httpResponse.statusCode();
+        HttpStatus status = HttpStatus.resolve(httpResponse.statusCode());
+        response.reasonPhrase = status != null ? status.getReasonPhrase() : null;
+        response.headers = new LinkedMultiValueMap<>(httpResponse.headers().map());
+        String body = httpResponse.body();
+        if (status != null && status.is2xxSuccessful() && body != null && !body.isEmpty()) {
+            response.body = extractBody(body);
+        }
+        return response;
+    }
+}
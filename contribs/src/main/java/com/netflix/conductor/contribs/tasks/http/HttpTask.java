@@ -24,6 +24,7 @@ import com.netflix.conductor.core.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -46,6 +47,7 @@ import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_HTT
  * Task that enables calling another HTTP endpoint as part of its execution
  */
 @Component(TASK_TYPE_HTTP)
+@ConditionalOnProperty(name = "conductor.tasks.http.asyncEnabled", havingValue = "false", matchIfMissing = true)
 public class HttpTask extends WorkflowSystemTask {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpTask.class);
@@ -81,26 +83,9 @@ public class HttpTask extends WorkflowSystemTask {
 
     @Override
     public void start(Workflow workflow, Task task, WorkflowExecutor executor) {
-        Object request = task.getInputData().get(requestParameter);
         task.setWorkerId(Utils.getServerId());
-        if (request == null) {
-            task.setReasonForIncompletion(MISSING_REQUEST);
-            task.setStatus(Status.FAILED);
-            return;
-        }
-
-        Input input = objectMapper.convertValue(request, Input.class);
-        if (input.getUri() == null) {
-            String reason = "Missing HTTP URI.  See documentation for HttpTask for required input parameters";
-            task.setReasonForIncompletion(reason);
-            task.setStatus(Status.FAILED);
-            return;
-        }
-
-        if (input.getMethod() == null) {
-            String reason = "No HTTP method specified";
-            task.setReasonForIncompletion(reason);
-            task.setStatus(Status.FAILED);
+        Input input = getInput(task);
+        if (input == null) {
             return;
         }
 
@@ -135,6 +120,35 @@ public class HttpTask extends WorkflowSystemTask {
         }
     }
 
+    /**
+     * @param task the HTTP task
+     * @return the HTTP request of the task, or null if the task input is invalid, in which case the task is failed
+     */
+    protected Input getInput(Task task) {
+        Object request = task.getInputData().get(requestParameter);
+        if (request == null) {
+            task.setReasonForIncompletion(MISSING_REQUEST);
+            task.setStatus(Status.FAILED);
+            return null;
+        }
+
+        Input input = objectMapper.convertValue(request, Input.class);
+        if (input.getUri() == null) {
+            String reason = "Missing HTTP URI.  See documentation for HttpTask for required input parameters";
+            task.setReasonForIncompletion(reason);
+            task.setStatus(Status.FAILED);
+            return null;
+        }
+
+        if (input.getMethod() == null) {
+            String reason = "No HTTP method specified";
+            task.setReasonForIncompletion(reason);
+            task.setStatus(Status.FAILED);
+            return null;
+        }
+        return input;
+    }
+
     /**
      * @param input HTTP Request
      * @return Response of the http call
@@ -173,7 +187,7 @@ public class HttpTask extends WorkflowSystemTask {
         }
     }
 
-    private Object extractBody(String responseBody) {
+    protected Object extractBody(String responseBody) {
         try {
             JsonNode node = objectMapper.readTree(responseBody);
             if (node.isArray()) {
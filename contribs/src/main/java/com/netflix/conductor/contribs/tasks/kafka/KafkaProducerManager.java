@@ -39,8 +39,12 @@ public class KafkaProducerManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProducerManager.class);
 
     private final String requestTimeoutConfig;
+    private final Duration deliveryTimeout;
+    private final Duration linger;
     private final Cache<Properties, Producer> kafkaProducerCache;
     private final String maxBlockMsConfig;
+    private final String lingerMsConfig;
+    private final String batchSizeConfig;
 
     private static final String STRING_SERIALIZER = "org.apache.kafka.common.serialization.StringSerializer";
     private static final RemovalListener<Properties, Producer> LISTENER = notification -> {
@@ -54,9 +58,16 @@ public class KafkaProducerManager {
     public KafkaProducerManager(@Value("${conductor.tasks.kafka-publish.requestTimeout:100ms}") Duration requestTimeout,
         @Value("${conductor.tasks.kafka-publish.maxBlock:500ms}") Duration maxBlock,
         @Value("${conductor.tasks.kafka-publish.cacheSize:10}") int cacheSize,
-        @Value("${conductor.tasks.kafka-publish.cacheTime:120000ms}") Duration cacheTime) {
+        @Value("${conductor.tasks.kafka-publish.cacheTime:120000ms}") Duration cacheTime,
+        @Value("${conductor.tasks.kafka-publish.linger:0ms}") Duration linger,
+        @Value("${conductor.tasks.kafka-publish.batchSize:16384}") int batchSize,
+        @Value("${conductor.tasks.kafka-publish.deliveryTimeout:120000ms}") Duration deliveryTimeout) {
         this.requestTimeoutConfig = String.valueOf(requestTimeout.toMillis());
+        this.deliveryTimeout = deliveryTimeout;
+        this.linger = linger;
         this.maxBlockMsConfig = String.valueOf(maxBlock.toMillis());
+        this.lingerMsConfig = String.valueOf(linger.toMillis());
+        this.batchSizeConfig = String.valueOf(batchSize);
         this.kafkaProducerCache = CacheBuilder.newBuilder().removalListener(LISTENER)
             .maximumSize(cacheSize).expireAfterAccess(cacheTime.toMillis(), TimeUnit.MILLISECONDS)
             .build();
@@ -67,6 +78,27 @@ public class KafkaProducerManager {
         return getFromCache(configProperties, () -> new KafkaProducer(configProperties));
     }
 
+    /**
+     * The delivery timeout of the producer of the input, i.e. the time after which a message sent by the producer is
+     * either acknowledged or failed. Kafka requires the delivery timeout to be at least the linger time and the request
+     * timeout, so the configured delivery timeout is raised to that sum if needed.
+     *
+     * @param input the Kafka request
+     * @return the delivery timeout of the producer of the input
+     */
+    public Duration getDeliveryTimeout(KafkaPublishTask.Input input) {
+        Duration minDeliveryTimeout = linger.plusMillis(Long.parseLong(getRequestTimeoutMs(input)));
+        return deliveryTimeout.compareTo(minDeliveryTimeout) < 0 ? minDeliveryTimeout : deliveryTimeout;
+    }
+
+    /**
+     * @param input the Kafka request
+     * @return the time the send of a message may block for, e.g. waiting for the metadata of the topic
+     */
+    public Duration getMaxBlock(KafkaPublishTask.Input input) {
+        return Duration.ofMillis(Long.parseLong(getMaxBlockMs(input)));
+    }
+
     @VisibleForTesting
     Producer getFromCache(Properties configProperties, Callable<Producer> createProducerCallable) {
         try {
@@ -84,21 +116,28 @@ public class KafkaProducerManager {
 
         configProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, input.getKeySerializer());
 
-        String requestTimeoutMs = requestTimeoutConfig;
+        configProperties.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, getRequestTimeoutMs(input));
+        configProperties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, getMaxBlockMs(input));
+        configProperties.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG,
+            String.valueOf(getDeliveryTimeout(input).toMillis()));
+        configProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, STRING_SERIALIZER);
+        // the publishes do not wait for the acknowledgements, so the messages of concurrent tasks can be batched
+        configProperties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMsConfig);
+        configProperties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSizeConfig);
+        return configProperties;
+    }
 
+    private String getRequestTimeoutMs(KafkaPublishTask.Input input) {
         if (Objects.nonNull(input.getRequestTimeoutMs())) {
-            requestTimeoutMs = String.valueOf(input.getRequestTimeoutMs());
+            return String.valueOf(input.getRequestTimeoutMs());
         }
+        return requestTimeoutConfig;
+    }
 
-        String maxBlockMs = maxBlockMsConfig;
-
+    private String getMaxBlockMs(KafkaPublishTask.Input input) {
         if (Objects.nonNull(input.getMaxBlockMs())) {
-            maxBlockMs = String.valueOf(input.getMaxBlockMs());
+            return String.valueOf(input.getMaxBlockMs());
         }
-
-        configProperties.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
-        configProperties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
-        configProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, STRING_SERIALIZER);
-        return configProperties;
+        return maxBlockMsConfig;
     }
 }
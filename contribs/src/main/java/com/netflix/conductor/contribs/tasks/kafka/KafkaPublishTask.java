@@ -15,11 +15,14 @@ package com.netflix.conductor.contribs.tasks.kafka;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.execution.tasks.SystemTaskResultUpdater;
 import com.netflix.conductor.core.execution.tasks.WorkflowSystemTask;
 import com.netflix.conductor.core.utils.Utils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
@@ -37,7 +40,8 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
@@ -60,12 +64,16 @@ public class KafkaPublishTask extends WorkflowSystemTask {
     private final ObjectMapper objectMapper;
     private final String requestParameter;
     private final KafkaProducerManager producerManager;
+    private final SystemTaskResultUpdater taskResultUpdater;
+    private final Set<String> publishesInFlight = ConcurrentHashMap.newKeySet();
 
     @Autowired
-    public KafkaPublishTask(KafkaProducerManager clientManager, ObjectMapper objectMapper) {
+    public KafkaPublishTask(KafkaProducerManager clientManager, SystemTaskResultUpdater taskResultUpdater,
+        ObjectMapper objectMapper) {
         super(TASK_TYPE_KAFKA_PUBLISH);
         this.requestParameter = REQUEST_PARAMETER_NAME;
         this.producerManager = clientManager;
+        this.taskResultUpdater = taskResultUpdater;
         this.objectMapper = objectMapper;
         LOGGER.info("KafkaTask initialized.");
     }
@@ -99,39 +107,62 @@ public class KafkaPublishTask extends WorkflowSystemTask {
             return;
         }
 
+        // the task is persisted by the system task worker, so the producer callback works on its own result
+        TaskResult taskResult = new TaskResult();
+        taskResult.setWorkflowInstanceId(task.getWorkflowInstanceId());
+        taskResult.setTaskId(task.getTaskId());
+        taskResult.setWorkerId(task.getWorkerId());
+        boolean asyncComplete = isAsyncComplete(task);
+
+        publishesInFlight.add(task.getTaskId());
         try {
-            Future<RecordMetadata> recordMetaDataFuture = kafkaPublish(input);
-            try {
-                recordMetaDataFuture.get();
-                if (isAsyncComplete(task)) {
-                    task.setStatus(Task.Status.IN_PROGRESS);
-                } else {
-                    task.setStatus(Task.Status.COMPLETED);
-                }
-                long timeTakenToCompleteTask = Instant.now().toEpochMilli() - taskStartMillis;
-                LOGGER.debug("Published message {}, Time taken {}", input, timeTakenToCompleteTask);
-
-            } catch (ExecutionException ec) {
-                LOGGER.error("Failed to invoke kafka task: {} - execution exception ", task.getTaskId(), ec);
-                markTaskAsFailed(task, FAILED_TO_INVOKE + ec.getMessage());
-            }
+            kafkaPublish(input, (metadata, exception) ->
+                onPublished(executor, taskResult, asyncComplete, input, taskStartMillis, exception));
+            task.setStatus(Task.Status.IN_PROGRESS);
         } catch (Exception e) {
+            publishesInFlight.remove(task.getTaskId());
             LOGGER.error("Failed to invoke kafka task:{} for input {} - unknown exception", task.getTaskId(), input, e);
             markTaskAsFailed(task, FAILED_TO_INVOKE + e.getMessage());
         }
     }
 
+    /**
+     * Completes or fails the task once the broker acknowledged the message, or the publish failed. Runs on the I/O
+     * thread of the producer, so the task is updated by the {@link SystemTaskResultUpdater}.
+     */
+    private void onPublished(WorkflowExecutor executor, TaskResult taskResult, boolean asyncComplete, Input input,
+        long taskStartMillis, Exception exception) {
+        String taskId = taskResult.getTaskId();
+        if (exception != null) {
+            LOGGER.error("Failed to invoke kafka task: {} - execution exception ", taskId, exception);
+            taskResult.setReasonForIncompletion(FAILED_TO_INVOKE + exception.getMessage());
+            taskResult.setStatus(TaskResult.Status.FAILED);
+        } else {
+            long timeTakenToCompleteTask = Instant.now().toEpochMilli() - taskStartMillis;
+            LOGGER.debug("Published message {}, Time taken {}", input, timeTakenToCompleteTask);
+            if (asyncComplete) {
+                // the task stays IN_PROGRESS until it is completed by an external system
+                publishesInFlight.remove(taskId);
+                return;
+            }
+            taskResult.setStatus(TaskResult.Status.COMPLETED);
+        }
+        taskResultUpdater.update(executor, taskResult)
+            .whenComplete((v, e) -> publishesInFlight.remove(taskId));
+    }
+
     private void markTaskAsFailed(Task task, String reasonForIncompletion) {
         task.setReasonForIncompletion(reasonForIncompletion);
         task.setStatus(Task.Status.FAILED);
     }
 
     /**
-     * @param input Kafka Request
+     * @param input    Kafka Request
+     * @param callback called once the message is acknowledged, or failed to be published
      * @return Future for execution.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private Future<RecordMetadata> kafkaPublish(Input input) throws Exception {
+    private Future<RecordMetadata> kafkaPublish(Input input, Callback callback) throws Exception {
 
         long startPublishingEpochMillis = Instant.now().toEpochMilli();
 
@@ -149,7 +180,7 @@ public class KafkaPublishTask extends WorkflowSystemTask {
         ProducerRecord rec = new ProducerRecord(input.getTopic(), null,
             null, key, objectMapper.writeValueAsString(input.getValue()), headers);
 
-        Future send = producer.send(rec);
+        Future send = producer.send(rec, callback);
 
         long timeTakenToPublish = Instant.now().toEpochMilli() - startPublishingEpochMillis;
 
@@ -173,11 +204,29 @@ public class KafkaPublishTask extends WorkflowSystemTask {
 
     @Override
     public boolean execute(Workflow workflow, Task task, WorkflowExecutor executor) {
-        return false;
+        if (publishesInFlight.contains(task.getTaskId())) {
+            return false;
+        }
+        // a publish in flight is acknowledged or failed within the delivery timeout of the producer
+        Input input = objectMapper.convertValue(task.getInputData().get(requestParameter), Input.class);
+        long deadline = task.getStartTime() + producerManager.getMaxBlock(input)
+            .plus(producerManager.getDeliveryTimeout(input))
+            .plus(taskResultUpdater.getUpdateWindow())
+            .toMillis();
+        if (System.currentTimeMillis() < deadline) {
+            // left as loaded, so that the system task worker does not write it back over an acknowledgement applied
+            // in the meantime
+            return false;
+        }
+        // the acknowledgement was lost, e.g. the server that published the message was restarted
+        markTaskAsFailed(task, "No acknowledgement was received for the published message");
+        return true;
     }
 
     @Override
     public void cancel(Workflow workflow, Task task, WorkflowExecutor executor) {
+        // the acknowledgement of a publish in flight is ignored when it arrives, as the task is no longer in progress
+        publishesInFlight.remove(task.getTaskId());
         task.setStatus(Task.Status.CANCELED);
     }
 
@@ -0,0 +1,203 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.tasks.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.execution.tasks.SystemTaskResultUpdater;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class AsyncHttpTaskTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUri;
+    private AsyncHttpClient asyncHttpClient;
+    private SystemTaskResultUpdater taskResultUpdater;
+    private AsyncHttpTask httpTask;
+    private WorkflowExecutor workflowExecutor;
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/json", exchange -> respond(exchange, 200, "{\"key\":\"value\"}"));
+        server.createContext("/failure", exchange -> respond(exchange, 500, "error"));
+        serverExecutor = Executors.newFixedThreadPool(6);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUri = "http://localhost:" + server.getAddress().getPort();
+
+        asyncHttpClient = new AsyncHttpClient(objectMapper, Duration.ofSeconds(5), Duration.ofSeconds(1), 2, 2,
+            Duration.ofSeconds(5));
+        taskResultUpdater = new SystemTaskResultUpdater(new ConductorProperties());
+        httpTask = new AsyncHttpTask(mock(RestTemplateProvider.class), asyncHttpClient, taskResultUpdater,
+            objectMapper);
+        workflowExecutor = mock(WorkflowExecutor.class);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        taskResultUpdater.shutdown();
+        asyncHttpClient.shutdown();
+    }
+
+    @Test
+    public void testCompletedOnResponse() {
+        Task task = newTask("/json");
+        when(workflowExecutor.getTask(task.getTaskId())).thenReturn(task);
+
+        httpTask.start(new Workflow(), task, workflowExecutor);
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+
+        ArgumentCaptor<TaskResult> captor = ArgumentCaptor.forClass(TaskResult.class);
+        verify(workflowExecutor, timeout(5000)).updateTask(captor.capture());
+        TaskResult taskResult = captor.getValue();
+        assertEquals(TaskResult.Status.COMPLETED, taskResult.getStatus());
+        assertEquals(task.getTaskId(), taskResult.getTaskId());
+        Map<String, Object> response = (Map<String, Object>) taskResult.getOutputData().get("response");
+        assertEquals(200, response.get("statusCode"));
+        assertEquals("value", ((Map<String, Object>) response.get("body")).get("key"));
+    }
+
+    @Test
+    public void testFailedOnErrorResponse() {
+        Task task = newTask("/failure");
+        when(workflowExecutor.getTask(task.getTaskId())).thenReturn(task);
+
+        httpTask.start(new Workflow(), task, workflowExecutor);
+
+        ArgumentCaptor<TaskResult> captor = ArgumentCaptor.forClass(TaskResult.class);
+        verify(workflowExecutor, timeout(5000)).updateTask(captor.capture());
+        assertEquals(TaskResult.Status.FAILED, captor.getValue().getStatus());
+        assertEquals("error", captor.getValue().getReasonForIncompletion());
+    }
+
+    @Test
+    public void testRequestsPerHostAreLimited() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(6);
+        server.createContext("/slow", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            respond(exchange, 200, "ok");
+        });
+
+        HttpTask.Input input = new HttpTask.Input();
+        input.setUri(baseUri + "/slow");
+        input.setMethod("GET");
+        for (int i = 0; i < 6; i++) {
+            asyncHttpClient.send(input).thenRun(latch::countDown);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void testRequestWaitingForHostPermitTimesOut() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        server.createContext("/blocked", exchange -> {
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "ok");
+        });
+        AsyncHttpClient client = new AsyncHttpClient(objectMapper, Duration.ofSeconds(5), Duration.ofSeconds(1), 1, 1,
+            Duration.ofMillis(100));
+        try {
+            HttpTask.Input input = new HttpTask.Input();
+            input.setUri(baseUri + "/blocked");
+            input.setMethod("GET");
+            CompletableFuture<?> first = client.send(input);
+            CompletableFuture<?> second = client.send(input);
+
+            try {
+                second.get(5, TimeUnit.SECONDS);
+                fail("the request waiting for a permit should have timed out");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof HttpTimeoutException);
+            }
+            released.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            released.countDown();
+            client.shutdown();
+        }
+    }
+
+    private Task newTask(String path) {
+        HttpTask.Input input = new HttpTask.Input();
+        input.setUri(baseUri + path);
+        input.setMethod("GET");
+        Task task = new Task();
+        task.setTaskId(path.substring(1));
+        task.setWorkflowInstanceId("workflowId");
+        task.setStatus(Task.Status.SCHEDULED);
+        task.getInputData().put(HttpTask.REQUEST_PARAMETER_NAME, input);
+        return task;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+        throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
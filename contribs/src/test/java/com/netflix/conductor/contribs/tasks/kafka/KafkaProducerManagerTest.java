@@ -30,7 +30,7 @@ public class KafkaProducerManagerTest {
     @Test
     public void testRequestTimeoutSetFromDefault() {
         KafkaProducerManager manager = new KafkaProducerManager(
-            Duration.ofMillis(100), Duration.ofMillis(500), 10, Duration.ofMillis(120000));
+            Duration.ofMillis(100), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ZERO, 16384, Duration.ofMinutes(2));
         KafkaPublishTask.Input input = getInput();
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG), "100");
@@ -39,7 +39,7 @@ public class KafkaProducerManagerTest {
     @Test
     public void testRequestTimeoutSetFromInput() {
         KafkaProducerManager manager = new KafkaProducerManager(
-            Duration.ofMillis(100), Duration.ofMillis(500), 10, Duration.ofMillis(120000));
+            Duration.ofMillis(100), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ZERO, 16384, Duration.ofMinutes(2));
         KafkaPublishTask.Input input = getInput();
         input.setRequestTimeoutMs(200);
         Properties props = manager.getProducerProperties(input);
@@ -49,7 +49,7 @@ public class KafkaProducerManagerTest {
     @Test
     public void testRequestTimeoutSetFromConfig() {
         KafkaProducerManager manager = new KafkaProducerManager(
-            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000));
+            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ZERO, 16384, Duration.ofMinutes(2));
         KafkaPublishTask.Input input = getInput();
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG), "150");
@@ -59,7 +59,7 @@ public class KafkaProducerManagerTest {
     @Test(expected = RuntimeException.class)
     public void testExecutionException() {
         KafkaProducerManager manager = new KafkaProducerManager(
-            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000));
+            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ZERO, 16384, Duration.ofMinutes(2));
         KafkaPublishTask.Input input = getInput();
         Producer producer = manager.getProducer(input);
         assertNotNull(producer);
@@ -69,7 +69,7 @@ public class KafkaProducerManagerTest {
     @Test
     public void testCacheInvalidation() {
         KafkaProducerManager manager = new KafkaProducerManager(
-            Duration.ofMillis(150), Duration.ofMillis(500), 0, Duration.ofMillis(0));
+            Duration.ofMillis(150), Duration.ofMillis(500), 0, Duration.ofMillis(0), Duration.ZERO, 16384, Duration.ofMinutes(2));
         KafkaPublishTask.Input input = getInput();
         input.setBootStrapServers("");
         Properties props = manager.getProducerProperties(input);
@@ -82,22 +82,55 @@ public class KafkaProducerManagerTest {
     @Test
     public void testMaxBlockMsFromConfig() {
         KafkaProducerManager manager = new KafkaProducerManager(
-            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000));
+            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ZERO, 16384, Duration.ofMinutes(2));
         KafkaPublishTask.Input input = getInput();
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.MAX_BLOCK_MS_CONFIG), "500");
     }
 
+    @Test
+    public void testBatchingFromConfig() {
+        KafkaProducerManager manager = new KafkaProducerManager(
+            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ofMillis(5), 32768, Duration.ofMinutes(2));
+        KafkaPublishTask.Input input = getInput();
+        Properties props = manager.getProducerProperties(input);
+        assertEquals(props.getProperty(ProducerConfig.LINGER_MS_CONFIG), "5");
+        assertEquals(props.getProperty(ProducerConfig.BATCH_SIZE_CONFIG), "32768");
+    }
+
     @Test
     public void testMaxBlockMsFromInput() {
         KafkaProducerManager manager = new KafkaProducerManager(
-            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000));
+            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ZERO, 16384, Duration.ofMinutes(2));
         KafkaPublishTask.Input input = getInput();
         input.setMaxBlockMs(600);
         Properties props = manager.getProducerProperties(input);
         assertEquals(props.getProperty(ProducerConfig.MAX_BLOCK_MS_CONFIG), "600");
     }
 
+    @Test
+    public void testDeliveryTimeoutFromConfig() {
+        KafkaProducerManager manager = new KafkaProducerManager(
+            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ofMillis(5), 16384,
+            Duration.ofSeconds(30));
+        KafkaPublishTask.Input input = getInput();
+        Properties props = manager.getProducerProperties(input);
+        assertEquals(props.getProperty(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG), "30000");
+        assertEquals(Duration.ofSeconds(30), manager.getDeliveryTimeout(input));
+    }
+
+    @Test
+    public void testDeliveryTimeoutCoversLingerAndRequestTimeout() {
+        KafkaProducerManager manager = new KafkaProducerManager(
+            Duration.ofMillis(150), Duration.ofMillis(500), 10, Duration.ofMillis(120000), Duration.ofMillis(50), 16384,
+            Duration.ofMillis(100));
+        KafkaPublishTask.Input input = getInput();
+        input.setRequestTimeoutMs(200);
+        Properties props = manager.getProducerProperties(input);
+        assertEquals(props.getProperty(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG), "250");
+        assertEquals(Duration.ofMillis(250), manager.getDeliveryTimeout(input));
+    }
+
     private KafkaPublishTask.Input getInput() {
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setTopic("testTopic");
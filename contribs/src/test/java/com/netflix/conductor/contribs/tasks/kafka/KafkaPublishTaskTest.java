@@ -15,13 +15,19 @@ package com.netflix.conductor.contribs.tasks.kafka;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.execution.tasks.SystemTaskResultUpdater;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.serialization.IntegerSerializer;
 import org.apache.kafka.common.serialization.LongSerializer;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -29,12 +35,17 @@ import org.springframework.test.context.junit4.SpringRunner;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
@@ -45,9 +56,17 @@ public class KafkaPublishTaskTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private SystemTaskResultUpdater taskResultUpdater;
+
+    @Before
+    public void setUp() {
+        taskResultUpdater = mock(SystemTaskResultUpdater.class);
+        when(taskResultUpdater.update(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
     @Test
     public void missingRequest_Fail() {
-        KafkaPublishTask kafkaPublishTask = new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+        KafkaPublishTask kafkaPublishTask = new KafkaPublishTask(getKafkaProducerManager(), taskResultUpdater, objectMapper);
         Task task = new Task();
         kafkaPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
@@ -63,7 +82,7 @@ public class KafkaPublishTaskTest {
 
         task.getInputData().put(KafkaPublishTask.REQUEST_PARAMETER_NAME, input);
 
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), taskResultUpdater, objectMapper);
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
     }
@@ -80,34 +99,32 @@ public class KafkaPublishTaskTest {
 
         task.getInputData().put(KafkaPublishTask.REQUEST_PARAMETER_NAME, input);
 
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), taskResultUpdater, objectMapper);
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
     }
 
 
     @Test
-    public void kafkaPublishExecutionException_Fail() throws ExecutionException, InterruptedException {
+    public void kafkaPublishExecutionException_Fail() {
 
         Task task = getTask();
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kafkaPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        KafkaPublishTask kafkaPublishTask = new KafkaPublishTask(producerManager, taskResultUpdater, objectMapper);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        Future publishingFuture = mock(Future.class);
-        when(producer.send(any())).thenReturn(publishingFuture);
-
-        ExecutionException executionException = mock(ExecutionException.class);
-
-        when(executionException.getMessage()).thenReturn("Execution exception");
-        when(publishingFuture.get()).thenThrow(executionException);
+        completeSend(producer, new KafkaException("Execution exception"));
 
         kafkaPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
-        assertEquals(Task.Status.FAILED, task.getStatus());
-        assertEquals("Failed to invoke kafka task due to: Execution exception", task.getReasonForIncompletion());
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+
+        TaskResult taskResult = getUpdatedTaskResult();
+        assertEquals(TaskResult.Status.FAILED, taskResult.getStatus());
+        assertEquals("Failed to invoke kafka task due to: Execution exception",
+            taskResult.getReasonForIncompletion());
     }
 
 
@@ -117,12 +134,12 @@ public class KafkaPublishTaskTest {
         Task task = getTask();
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, taskResultUpdater, objectMapper);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        when(producer.send(any())).thenThrow(new RuntimeException("Unknown exception"));
+        when(producer.send(any(), any())).thenThrow(new RuntimeException("Unknown exception"));
 
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.FAILED, task.getStatus());
@@ -135,15 +152,16 @@ public class KafkaPublishTaskTest {
         Task task = getTask();
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, taskResultUpdater, objectMapper);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        when(producer.send(any())).thenReturn(mock(Future.class));
+        completeSend(producer, null);
 
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
-        assertEquals(Task.Status.COMPLETED, task.getStatus());
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+        assertEquals(TaskResult.Status.COMPLETED, getUpdatedTaskResult().getStatus());
     }
 
     @Test
@@ -153,15 +171,52 @@ public class KafkaPublishTaskTest {
         task.getInputData().put("asyncComplete", true);
 
         KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, taskResultUpdater, objectMapper);
 
         Producer producer = mock(Producer.class);
 
         when(producerManager.getProducer(any())).thenReturn(producer);
-        when(producer.send(any())).thenReturn(mock(Future.class));
+        completeSend(producer, null);
 
         kPublishTask.start(mock(Workflow.class), task, mock(WorkflowExecutor.class));
         assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+        verify(taskResultUpdater, never()).update(any(), any());
+    }
+
+    @Test
+    public void kafkaPublishRepolled_UnchangedUntilDeadline() {
+        Task task = getTask();
+        task.setTaskId("taskId");
+        task.setStatus(Task.Status.IN_PROGRESS);
+
+        KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
+        when(producerManager.getMaxBlock(any())).thenReturn(Duration.ofSeconds(60));
+        when(producerManager.getDeliveryTimeout(any())).thenReturn(Duration.ofSeconds(120));
+        when(taskResultUpdater.getUpdateWindow()).thenReturn(Duration.ofSeconds(31));
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, taskResultUpdater, objectMapper);
+
+        // the acknowledgement may still be applied, the re-poll leaves the task as loaded so that it is not written back
+        task.setStartTime(System.currentTimeMillis() - Duration.ofSeconds(200).toMillis());
+        assertFalse(kPublishTask.execute(mock(Workflow.class), task, mock(WorkflowExecutor.class)));
+        assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
+        assertNull(task.getReasonForIncompletion());
+
+        task.setStartTime(System.currentTimeMillis() - Duration.ofSeconds(212).toMillis());
+        assertTrue(kPublishTask.execute(mock(Workflow.class), task, mock(WorkflowExecutor.class)));
+        assertEquals(Task.Status.FAILED, task.getStatus());
+    }
+
+    private void completeSend(Producer producer, Exception exception) {
+        when(producer.send(any(), any())).thenAnswer(invocation -> {
+            ((Callback) invocation.getArgument(1)).onCompletion(null, exception);
+            return mock(Future.class);
+        });
+    }
+
+    private TaskResult getUpdatedTaskResult() {
+        ArgumentCaptor<TaskResult> captor = ArgumentCaptor.forClass(TaskResult.class);
+        verify(taskResultUpdater).update(any(), captor.capture());
+        return captor.getValue();
     }
 
     private Task getTask() {
@@ -182,7 +237,7 @@ public class KafkaPublishTaskTest {
 
     @Test
     public void integerSerializer_integerObject() {
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), taskResultUpdater, objectMapper);
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setKeySerializer(IntegerSerializer.class.getCanonicalName());
         input.setKey(String.valueOf(Integer.MAX_VALUE));
@@ -191,7 +246,7 @@ public class KafkaPublishTaskTest {
 
     @Test
     public void longSerializer_longObject() {
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), taskResultUpdater, objectMapper);
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setKeySerializer(LongSerializer.class.getCanonicalName());
         input.setKey(String.valueOf(Long.MAX_VALUE));
@@ -200,13 +255,14 @@ public class KafkaPublishTaskTest {
 
     @Test
     public void noSerializer_StringObject() {
-        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), objectMapper);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(getKafkaProducerManager(), taskResultUpdater, objectMapper);
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
         input.setKey("testStringKey");
         assertEquals(kPublishTask.getKey(input), "testStringKey");
     }
 
     private KafkaProducerManager getKafkaProducerManager() {
-        return new KafkaProducerManager(Duration.ofMillis(100), Duration.ofMillis(500), 120000, Duration.ofMillis(10));
+        return new KafkaProducerManager(Duration.ofMillis(100), Duration.ofMillis(500), 120000, Duration.ofMillis(10),
+            Duration.ZERO, 16384, Duration.ofMinutes(2));
     }
 }
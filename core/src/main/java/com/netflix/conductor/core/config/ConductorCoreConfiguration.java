@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.core.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
@@ -21,11 +22,15 @@ import com.netflix.conductor.core.execution.mapper.TaskMapper;
 import com.netflix.conductor.core.execution.tasks.WorkflowSystemTask;
 import com.netflix.conductor.core.listener.WorkflowStatusListener;
 import com.netflix.conductor.core.listener.WorkflowStatusListenerStub;
+import com.netflix.conductor.core.metadata.MetadataCacheBeanPostProcessor;
+import com.netflix.conductor.core.metadata.MetadataCacheInvalidationChannel;
 import com.netflix.conductor.core.storage.DummyPayloadStorage;
 import com.netflix.conductor.core.sync.Lock;
 import com.netflix.conductor.core.sync.NoopLock;
+import com.netflix.conductor.core.utils.DocumentCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -69,6 +74,21 @@ public class ConductorCoreConfiguration {
         return new WorkflowStatusListenerStub();
     }
 
+    @ConditionalOnProperty(name = "conductor.app.metadata-cache-enabled", havingValue = "true")
+    @Bean
+    public static MetadataCacheBeanPostProcessor metadataCacheBeanPostProcessor(
+        ObjectProvider<ConductorProperties> conductorProperties, ObjectProvider<ObjectMapper> objectMapper,
+        ObjectProvider<MetadataCacheInvalidationChannel> invalidationChannel) {
+        return new MetadataCacheBeanPostProcessor(conductorProperties, objectMapper, invalidationChannel);
+    }
+
+    @Bean
+    public DocumentCodec documentCodec(ObjectMapper objectMapper, ConductorProperties properties) {
+        long compressionThreshold = properties.isDocumentCompressionEnabled()
+            ? properties.getDocumentCompressionThreshold().toBytes() : -1L;
+        return new DocumentCodec(objectMapper, properties.getDocumentFormat(), compressionThreshold);
+    }
+
     @Bean
     public ExecutorService executorService(ConductorProperties conductorProperties) {
         ThreadFactory threadFactory = new ThreadFactoryBuilder()
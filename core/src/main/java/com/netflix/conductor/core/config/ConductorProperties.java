@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.core.config;
 
+import com.netflix.conductor.core.utils.DocumentCodec;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DataSizeUnit;
 import org.springframework.boot.convert.DurationUnit;
@@ -48,6 +49,12 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration workflowOffsetTimeout = Duration.ofSeconds(30);
 
+    /**
+     * The maximum number of in-memory evaluations of a workflow within a single decide, when executing synchronous
+     * system tasks keeps changing its state. If the limit is reached, the workflow is pushed back to the decider queue.
+     */
+    private int workflowMaxDecidePasses = 100;
+
     /**
      * The number of threads to use to do background sweep on active workflows.
      */
@@ -122,6 +129,17 @@ public class ConductorProperties {
      */
     private Duration systemTaskWorkerPollInterval = Duration.ofMillis(50);
 
+    /**
+     * The maximum interval (in milliseconds) between two polls of a system task queue that keeps being found empty.
+     * The interval doubles from systemTaskWorkerPollInterval with every empty poll, up to this value.
+     */
+    private Duration systemTaskWorkerMaxPollBackoff = Duration.ofMillis(1000);
+
+    /**
+     * The number of threads polling the system task queues, shared by all the system task and isolation group queues.
+     */
+    private int systemTaskQueuePollerThreadCount = 2;
+
     /**
      * The namespace for the system task workers to provide instance level isolation.
      */
@@ -137,6 +155,19 @@ public class ConductorProperties {
      */
     private int systemTaskMaxPollCount = 1;
 
+    /**
+     * The number of threads applying the results of the system tasks that complete on a callback, e.g. on the response
+     * to a non-blocking request.
+     */
+    private int systemTaskResultUpdateThreadCount = 2;
+
+    /**
+     * The time for which the application of a system task result is retried, while the task is still SCHEDULED or the
+     * update fails, before the result is given up.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration systemTaskResultUpdateTimeout = Duration.ofSeconds(30);
+
     /**
      * The duration of workflow execution which qualifies a workflow as a short-running workflow when async indexing to
      * elasticsearch is enabled.
@@ -151,6 +182,37 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration asyncUpdateDelay = Duration.ofSeconds(60);
 
+    /**
+     * The interval at which the last poll data of the task queues is written to the data store. The last poll of each
+     * queue and domain is kept in memory in between. Set to zero to write the poll data on every poll.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pollDataFlushInterval = Duration.ofMillis(1000);
+
+    /**
+     * Used to enable the near-cache for workflow definitions and event handlers in front of the metadata and event
+     * handler DAOs.
+     */
+    private boolean metadataCacheEnabled = false;
+
+    /**
+     * The time after which a cached workflow definition or event handler list is evicted.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration metadataCacheTtl = Duration.ofSeconds(60);
+
+    /**
+     * The age after which a cached entry is reloaded in the background on its next read. Should be shorter than
+     * metadataCacheTtl for hot entries to never expire on the read path.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration metadataCacheRefreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * The maximum number of entries kept in each of the metadata caches.
+     */
+    private int metadataCacheMaxSize = 1000;
+
     /**
      * Used to control the validation for owner email field as mandatory within workflow and task definitions.
      */
@@ -240,6 +302,24 @@ public class ConductorProperties {
     @DataSizeUnit(DataUnit.KILOBYTES)
     private DataSize maxWorkflowVariablesPayloadSizeThreshold = DataSize.ofKilobytes(256L);
 
+    /**
+     * The format in which the persistence modules store task and workflow documents. Documents are always read in the
+     * format they were written in, so changing it does not require migrating existing data.
+     */
+    private DocumentCodec.Format documentFormat = DocumentCodec.Format.JSON;
+
+    /**
+     * Used to enable/disable the compression of stored task and workflow documents.
+     */
+    private boolean documentCompressionEnabled = false;
+
+    /**
+     * The size in KB of a serialized task or workflow document beyond which it is compressed, when compression is
+     * enabled.
+     */
+    @DataSizeUnit(DataUnit.KILOBYTES)
+    private DataSize documentCompressionThreshold = DataSize.ofKilobytes(1L);
+
     public String getStack() {
         return stack;
     }
@@ -272,6 +352,14 @@ public class ConductorProperties {
         this.workflowOffsetTimeout = workflowOffsetTimeout;
     }
 
+    public int getWorkflowMaxDecidePasses() {
+        return workflowMaxDecidePasses;
+    }
+
+    public void setWorkflowMaxDecidePasses(int workflowMaxDecidePasses) {
+        this.workflowMaxDecidePasses = workflowMaxDecidePasses;
+    }
+
     public int getSweeperThreadCount() {
         return sweeperThreadCount;
     }
@@ -384,6 +472,22 @@ public class ConductorProperties {
         this.systemTaskWorkerPollInterval = systemTaskWorkerPollInterval;
     }
 
+    public Duration getSystemTaskWorkerMaxPollBackoff() {
+        return systemTaskWorkerMaxPollBackoff;
+    }
+
+    public void setSystemTaskWorkerMaxPollBackoff(Duration systemTaskWorkerMaxPollBackoff) {
+        this.systemTaskWorkerMaxPollBackoff = systemTaskWorkerMaxPollBackoff;
+    }
+
+    public int getSystemTaskQueuePollerThreadCount() {
+        return systemTaskQueuePollerThreadCount;
+    }
+
+    public void setSystemTaskQueuePollerThreadCount(int systemTaskQueuePollerThreadCount) {
+        this.systemTaskQueuePollerThreadCount = systemTaskQueuePollerThreadCount;
+    }
+
     public String getSystemTaskWorkerExecutionNamespace() {
         return systemTaskWorkerExecutionNamespace;
     }
@@ -408,6 +512,22 @@ public class ConductorProperties {
         this.systemTaskMaxPollCount = systemTaskMaxPollCount;
     }
 
+    public int getSystemTaskResultUpdateThreadCount() {
+        return systemTaskResultUpdateThreadCount;
+    }
+
+    public void setSystemTaskResultUpdateThreadCount(int systemTaskResultUpdateThreadCount) {
+        this.systemTaskResultUpdateThreadCount = systemTaskResultUpdateThreadCount;
+    }
+
+    public Duration getSystemTaskResultUpdateTimeout() {
+        return systemTaskResultUpdateTimeout;
+    }
+
+    public void setSystemTaskResultUpdateTimeout(Duration systemTaskResultUpdateTimeout) {
+        this.systemTaskResultUpdateTimeout = systemTaskResultUpdateTimeout;
+    }
+
     public Duration getAsyncUpdateShortRunningWorkflowDuration() {
         return asyncUpdateShortRunningWorkflowDuration;
     }
@@ -424,6 +544,46 @@ public class ConductorProperties {
         this.asyncUpdateDelay = asyncUpdateDelay;
     }
 
+    public Duration getPollDataFlushInterval() {
+        return pollDataFlushInterval;
+    }
+
+    public void setPollDataFlushInterval(Duration pollDataFlushInterval) {
+        this.pollDataFlushInterval = pollDataFlushInterval;
+    }
+
+    public boolean isMetadataCacheEnabled() {
+        return metadataCacheEnabled;
+    }
+
+    public void setMetadataCacheEnabled(boolean metadataCacheEnabled) {
+        this.metadataCacheEnabled = metadataCacheEnabled;
+    }
+
+    public Duration getMetadataCacheTtl() {
+        return metadataCacheTtl;
+    }
+
+    public void setMetadataCacheTtl(Duration metadataCacheTtl) {
+        this.metadataCacheTtl = metadataCacheTtl;
+    }
+
+    public Duration getMetadataCacheRefreshInterval() {
+        return metadataCacheRefreshInterval;
+    }
+
+    public void setMetadataCacheRefreshInterval(Duration metadataCacheRefreshInterval) {
+        this.metadataCacheRefreshInterval = metadataCacheRefreshInterval;
+    }
+
+    public int getMetadataCacheMaxSize() {
+        return metadataCacheMaxSize;
+    }
+
+    public void setMetadataCacheMaxSize(int metadataCacheMaxSize) {
+        this.metadataCacheMaxSize = metadataCacheMaxSize;
+    }
+
     public boolean isOwnerEmailMandatory() {
         return ownerEmailMandatory;
     }
@@ -536,6 +696,30 @@ public class ConductorProperties {
         this.maxWorkflowVariablesPayloadSizeThreshold = maxWorkflowVariablesPayloadSizeThreshold;
     }
 
+    public DocumentCodec.Format getDocumentFormat() {
+        return documentFormat;
+    }
+
+    public void setDocumentFormat(DocumentCodec.Format documentFormat) {
+        this.documentFormat = documentFormat;
+    }
+
+    public boolean isDocumentCompressionEnabled() {
+        return documentCompressionEnabled;
+    }
+
+    public void setDocumentCompressionEnabled(boolean documentCompressionEnabled) {
+        this.documentCompressionEnabled = documentCompressionEnabled;
+    }
+
+    public DataSize getDocumentCompressionThreshold() {
+        return documentCompressionThreshold;
+    }
+
+    public void setDocumentCompressionThreshold(DataSize documentCompressionThreshold) {
+        this.documentCompressionThreshold = documentCompressionThreshold;
+    }
+
     /**
      * @return Returns all the configurations in a map.
      */
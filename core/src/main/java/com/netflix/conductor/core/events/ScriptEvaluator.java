@@ -12,15 +12,35 @@
  */
 package com.netflix.conductor.core.events;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.conductor.metrics.Monitors;
+
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Evaluates javascript expressions with Nashorn.
+ * <p>
+ * Scripts are compiled once and the compiled scripts are kept in a bounded cache keyed by their source, so expressions
+ * evaluated repeatedly, such as decision cases and event handler conditions, are not parsed again. Every evaluation
+ * runs against its own bindings, which makes concurrent evaluations of the same compiled script safe.
+ */
 public class ScriptEvaluator {
 
+    private static final int MAX_COMPILED_SCRIPTS = 1000;
+
     private static final ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
 
+    private static final Cache<String, CompiledScript> compiledScripts = CacheBuilder.newBuilder()
+        .maximumSize(MAX_COMPILED_SCRIPTS)
+        .build();
+
     private ScriptEvaluator() {
     }
 
@@ -45,7 +65,24 @@ public class ScriptEvaluator {
     public static Object eval(String script, Object input) throws ScriptException {
         Bindings bindings = engine.createBindings();
         bindings.put("$", input);
-        return engine.eval(script, bindings);
+        return compile(script).eval(bindings);
+    }
+
+    private static CompiledScript compile(String script) throws ScriptException {
+        CompiledScript compiledScript = compiledScripts.getIfPresent(script);
+        if (compiledScript != null) {
+            Monitors.recordScriptCacheHit();
+            return compiledScript;
+        }
+        Monitors.recordScriptCacheMiss();
+        try {
+            return compiledScripts.get(script, () -> ((Compilable) engine).compile(script));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScriptException) {
+                throw (ScriptException) e.getCause();
+            }
+            throw new ScriptException(e);
+        }
     }
 
     /**
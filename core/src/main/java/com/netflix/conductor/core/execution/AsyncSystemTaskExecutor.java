@@ -91,8 +91,10 @@ public class AsyncSystemTaskExecutor {
         }
 
         boolean hasTaskExecutionCompleted = false;
+        boolean persistTask = true;
         String workflowId = task.getWorkflowInstanceId();
-        // if we are here the Task object is updated and needs to be persisted regardless of an exception
+        // if we are here the Task object is updated and needs to be persisted regardless of an exception, unless its
+        // execution left it unchanged
         try {
             Workflow workflow = executionDAOFacade.getWorkflowById(workflowId, true);
 
@@ -123,7 +125,17 @@ public class AsyncSystemTaskExecutor {
                 Monitors.recordQueueWaitTime(task.getTaskDefName(), task.getQueueWaitTime());
                 systemTask.start(workflow, task, workflowExecutor);
             } else if (task.getStatus() == IN_PROGRESS) {
-                systemTask.execute(workflow, task, workflowExecutor);
+                boolean changed = systemTask.execute(workflow, task, workflowExecutor);
+                // the result of a task in progress may be applied while it is executed here, e.g. by the
+                // SystemTaskResultUpdater, and writing back the task loaded before would revert that result
+                if (!changed && task.getStatus() == IN_PROGRESS) {
+                    persistTask = false;
+                } else if (isNoLongerInProgress(taskId)) {
+                    LOGGER.info("Task {}/{} was updated while it was executed, its execution is discarded",
+                        task.getTaskType(), task.getTaskId());
+                    persistTask = false;
+                    return;
+                }
             }
 
             if (task.getOutputData() != null && !task.getOutputData().isEmpty()) {
@@ -151,7 +163,9 @@ public class AsyncSystemTaskExecutor {
             Monitors.error(AsyncSystemTaskExecutor.class.getSimpleName(), "executeSystemTask");
             LOGGER.error("Error executing system task - {}, with id: {}", systemTask, taskId, e);
         } finally {
-            executionDAOFacade.updateTask(task);
+            if (persistTask) {
+                executionDAOFacade.updateTask(task);
+            }
             // if the current task execution has completed, then the workflow needs to be evaluated
             if(hasTaskExecutionCompleted) {
                 workflowExecutor.decide(workflowId);
@@ -167,6 +181,11 @@ public class AsyncSystemTaskExecutor {
         }
     }
 
+    private boolean isNoLongerInProgress(String taskId) {
+        Task task = executionDAOFacade.getTaskById(taskId);
+        return task == null || task.getStatus() != IN_PROGRESS;
+    }
+
     private Task loadTaskQuietly(String taskId) {
         try {
             return executionDAOFacade.getTaskById(taskId);
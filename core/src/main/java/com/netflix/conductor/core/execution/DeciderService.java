@@ -170,12 +170,7 @@ public class DeciderService {
                 executedTaskRefNames.remove(pendingTask.getReferenceTaskName());
             }
 
-            Optional<TaskDef> taskDefinition = pendingTask.getTaskDefinition();
-            if (taskDefinition.isEmpty()) {
-                taskDefinition = Optional
-                    .ofNullable(workflow.getWorkflowDefinition().getTaskByRefName(pendingTask.getReferenceTaskName()))
-                    .map(WorkflowTask::getTaskDefinition);
-            }
+            Optional<TaskDef> taskDefinition = getTaskDefinition(workflow, pendingTask);
 
             if (taskDefinition.isPresent()) {
                 checkTaskTimeout(taskDefinition.get(), pendingTask);
@@ -568,6 +563,81 @@ public class DeciderService {
         externalPayloadStorageUtils.verifyAndUpload(workflow, PayloadType.WORKFLOW_OUTPUT);
     }
 
+    private Optional<TaskDef> getTaskDefinition(Workflow workflow, Task task) {
+        Optional<TaskDef> taskDefinition = task.getTaskDefinition();
+        if (taskDefinition.isEmpty()) {
+            taskDefinition = Optional
+                .ofNullable(workflow.getWorkflowDefinition().getTaskByRefName(task.getReferenceTaskName()))
+                .map(WorkflowTask::getTaskDefinition);
+        }
+        return taskDefinition;
+    }
+
+    /**
+     * Computes when the workflow has to be decided again if no task of it is updated in the meantime, which is when
+     * the earliest of the workflow timeout and the timeouts and response timeouts of its in progress tasks expires.
+     * <p>
+     * The timeouts of a scheduled task start when it is polled, which does not decide the workflow, so a workflow with
+     * scheduled tasks is decided again after at most the default offset. Deadlines that already expired without
+     * changing the workflow, as with the ALERT_ONLY timeout policy, are ignored.
+     *
+     * @param workflow      the workflow that was just decided
+     * @param defaultOffset the offset used when the workflow has no upcoming deadline
+     * @return the offset in seconds after which the workflow has to be decided again
+     */
+    public long getDeciderQueueOffsetSeconds(Workflow workflow, Duration defaultOffset) {
+        long now = System.currentTimeMillis();
+        long defaultDeadline = now + defaultOffset.toMillis();
+        if (workflow.getStatus() != WorkflowStatus.RUNNING) {
+            return defaultOffset.getSeconds();
+        }
+
+        long nextDeadline = Long.MAX_VALUE;
+        WorkflowDef workflowDef = workflow.getWorkflowDefinition();
+        if (workflowDef != null && workflowDef.getTimeoutSeconds() > 0) {
+            long timeoutStart = workflow.getLastRetriedTime() > 0 ? workflow.getLastRetriedTime()
+                : workflow.getStartTime();
+            nextDeadline = earliestUpcoming(nextDeadline, timeoutStart + 1000L * workflowDef.getTimeoutSeconds(), now);
+        }
+
+        for (Task task : workflow.getTasks()) {
+            if (task.isRetried() || task.getStatus().isTerminal()) {
+                continue;
+            }
+            if (task.getStatus() == SCHEDULED) {
+                nextDeadline = Math.min(nextDeadline, defaultDeadline);
+                continue;
+            }
+            if (task.getStatus() != IN_PROGRESS || workflowDef == null) {
+                continue;
+            }
+            TaskDef taskDef = getTaskDefinition(workflow, task).orElse(null);
+            if (taskDef == null) {
+                continue;
+            }
+            long startDelay = 1000L * task.getStartDelayInSeconds();
+            long callbackTime = 1000L * task.getCallbackAfterSeconds();
+            if (taskDef.getTimeoutSeconds() > 0 && task.getStartTime() > 0) {
+                nextDeadline = earliestUpcoming(nextDeadline,
+                    task.getStartTime() + startDelay + 1000L * taskDef.getTimeoutSeconds(), now);
+            }
+            if (taskDef.getResponseTimeoutSeconds() > 0 && !isAyncCompleteSystemTask(task)) {
+                nextDeadline = earliestUpcoming(nextDeadline,
+                    task.getUpdateTime() + callbackTime + 1000L * taskDef.getResponseTimeoutSeconds(), now);
+            }
+        }
+
+        if (nextDeadline == Long.MAX_VALUE) {
+            return defaultOffset.getSeconds();
+        }
+        // rounded up, since the queues may drop the sub-second part of the offset
+        return (nextDeadline - now + 999) / 1000;
+    }
+
+    private long earliestUpcoming(long nextDeadline, long deadline, long now) {
+        return deadline > now ? Math.min(nextDeadline, deadline) : nextDeadline;
+    }
+
     @VisibleForTesting
     void checkWorkflowTimeout(Workflow workflow) {
         WorkflowDef workflowDef = workflow.getWorkflowDefinition();
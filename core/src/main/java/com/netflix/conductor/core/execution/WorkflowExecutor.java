@@ -47,6 +47,7 @@ import com.netflix.conductor.core.utils.QueueUtils;
 import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
+import com.netflix.conductor.metrics.PhaseTimer;
 import com.netflix.conductor.service.ExecutionLockService;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -59,10 +60,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -920,6 +924,7 @@ public class WorkflowExecutor {
             throw new ApplicationException(ApplicationException.Code.INVALID_INPUT, "Task object is null");
         }
 
+        PhaseTimer phaseTimer = PhaseTimer.start("update_task");
         String workflowId = taskResult.getWorkflowInstanceId();
         Workflow workflowInstance = executionDAOFacade.getWorkflowById(workflowId, true);
 
@@ -934,6 +939,9 @@ public class WorkflowExecutor {
                 "No such task found by id: " + taskResult.getTaskId()));
 
         LOGGER.debug("Task: {} belonging to Workflow {} being updated", task, workflowInstance);
+        phaseTimer.setWorkflowType(workflowInstance.getWorkflowName());
+        phaseTimer.setTaskCount(workflowInstance.getTasks().size());
+        phaseTimer.endPhase("load");
 
         String taskQueueName = QueueUtils.getQueueName(task);
 
@@ -1030,6 +1038,7 @@ public class WorkflowExecutor {
             default:
                 break;
         }
+        phaseTimer.endPhase("queue");
 
         // Throw an ApplicationException if below operations fail to avoid workflow inconsistencies.
         try {
@@ -1049,6 +1058,7 @@ public class WorkflowExecutor {
 
         taskResult.getLogs().forEach(taskExecLog -> taskExecLog.setTaskId(task.getTaskId()));
         executionDAOFacade.addTaskExecLog(taskResult.getLogs());
+        phaseTimer.endPhase("persist");
 
         if (task.getStatus().isTerminal()) {
             long duration = getTaskDuration(0, task);
@@ -1057,7 +1067,9 @@ public class WorkflowExecutor {
             Monitors.recordTaskExecutionTime(task.getTaskDefName(), lastDuration, false, task.getStatus());
         }
 
-        decide(workflowId);
+        // a decision holding the lock may have loaded the workflow before this update, decide it again right away
+        int priority = workflowInstance.getPriority();
+        decideWithOffset(workflowId, null, () -> expediteWorkflow(workflowId, priority));
     }
 
     public Task getTask(String taskId) {
@@ -1071,6 +1083,23 @@ public class WorkflowExecutor {
             .orElse(null);
     }
 
+    /**
+     * Reads the given tasks in one call to the {@link ExecutionDAOFacade}.
+     *
+     * @param taskIds the ids of the tasks to be read
+     * @return the tasks found, ids without a task are skipped
+     */
+    public List<Task> getTasks(List<String> taskIds) {
+        return executionDAOFacade.getTasksByIds(taskIds).stream()
+            .map(task -> {
+                if (task.getWorkflowTask() != null) {
+                    return metadataMapperService.populateTaskWithDefinition(task);
+                }
+                return task;
+            })
+            .collect(Collectors.toList());
+    }
+
     public List<Task> getTasks(String taskType, String startKey, int count) {
         return executionDAOFacade.getTasksByName(taskType, startKey, count);
     }
@@ -1099,77 +1128,212 @@ public class WorkflowExecutor {
      * @throws ApplicationException If there was an error - caller should retry in this case.
      */
     public boolean decide(String workflowId) {
-        if (!executionLockService.acquireLock(workflowId)) {
-            return false;
+        return decideWithOffset(workflowId).isEmpty();
+    }
+
+    /**
+     * Same as {@link #decide(String)}, also computing when the workflow has to be decided again. When the decision
+     * scheduled tasks, the workflow is pushed to the decider queue with that offset, since it may be queued for a later
+     * deadline than the ones of the new tasks.
+     *
+     * @param workflowId ID of the workflow to evaluate the state for
+     * @return empty if the workflow has completed (success or failed), otherwise the offset in seconds after which it
+     * has to be decided again unless one of its tasks is updated in the meantime
+     * @throws ApplicationException If there was an error - caller should retry in this case.
+     * @see DeciderService#getDeciderQueueOffsetSeconds(Workflow, java.time.Duration)
+     */
+    public Optional<Long> decideWithOffset(String workflowId) {
+        return decideWithOffset(workflowId, null, () -> {
+        });
+    }
+
+    /**
+     * Same as {@link #decideWithOffset(String)}, handing the outcome to requeue while the workflow is still locked.
+     * <p>
+     * A task updated after the workflow was loaded cannot be decided by its update while this holds the lock. So once
+     * the workflow has been queued for an offset longer than {@link ConductorProperties#getWorkflowOffsetTimeout()},
+     * by requeue or for the tasks just scheduled, its tasks are read again, and if any of them changed the workflow is
+     * made due right away.
+     *
+     * @param workflowId ID of the workflow to evaluate the state for
+     * @param requeue    called with the outcome, empty if the workflow has completed, or with the offset timeout if
+     *                   the workflow is locked by another decision
+     * @return the outcome, with an offset of 0 if the workflow was made due right away
+     * @throws ApplicationException If there was an error - caller should retry in this case.
+     */
+    public Optional<Long> decideWithOffset(String workflowId, Consumer<Optional<Long>> requeue) {
+        return decideWithOffset(workflowId, requeue,
+            () -> requeue.accept(Optional.of(properties.getWorkflowOffsetTimeout().getSeconds())));
+    }
+
+    private Optional<Long> decideWithOffset(String workflowId, Consumer<Optional<Long>> requeue, Runnable notLocked) {
+        PhaseTimer phaseTimer = PhaseTimer.start("decide");
+        boolean locked = executionLockService.acquireLock(workflowId);
+        phaseTimer.endPhase("lock");
+        if (!locked) {
+            notLocked.run();
+            return Optional.of(properties.getWorkflowOffsetTimeout().getSeconds());
         }
 
-        // If it is a new workflow, the tasks will be still empty even though include tasks is true
-        Workflow workflow = executionDAOFacade.getWorkflowById(workflowId, true);
+        try {
+            // If it is a new workflow, the tasks will be still empty even though include tasks is true
+            Workflow workflow = executionDAOFacade.getWorkflowById(workflowId, true);
+            int loadedTaskCount = workflow.getTasks().size();
+            Optional<Long> offset = decide(workflow, phaseTimer);
+            if (requeue != null) {
+                requeue.accept(offset);
+            }
+            boolean queued = requeue != null || workflow.getTasks().size() > loadedTaskCount;
+            if (queued && offset.isPresent() && offset.get() > properties.getWorkflowOffsetTimeout().getSeconds()
+                && tasksChanged(workflow)) {
+                LOGGER.debug("Tasks of workflow: {} changed while it was decided, requeueing it", workflowId);
+                expediteWorkflow(workflowId, workflow.getPriority());
+                offset = Optional.of(0L);
+            }
+            return offset;
+        } finally {
+            executionLockService.releaseLock(workflowId);
+        }
+    }
+
+    /**
+     * @return true if the persisted tasks of the workflow differ in number, status or update time from the ones held
+     * in memory
+     */
+    private boolean tasksChanged(Workflow workflow) {
+        Map<String, Task> tasks = workflow.getTasks().stream()
+            .collect(Collectors.toMap(Task::getTaskId, Function.identity(), (first, second) -> second));
+        List<Task> persistedTasks = executionDAOFacade.getTasksForWorkflow(workflow.getWorkflowId());
+        if (persistedTasks.size() != tasks.size()) {
+            return true;
+        }
+        return persistedTasks.stream().anyMatch(persisted -> {
+            Task task = tasks.get(persisted.getTaskId());
+            return task == null || task.getStatus() != persisted.getStatus()
+                || task.getUpdateTime() != persisted.getUpdateTime();
+        });
+    }
+
+    private Optional<Long> decide(Workflow workflow, PhaseTimer phaseTimer) {
+        String workflowId = workflow.getWorkflowId();
 
         // FIXME Backwards compatibility for legacy workflows already running.
         // This code will be removed in a future version.
         workflow = metadataMapperService.populateWorkflowWithDefinitions(workflow);
+        phaseTimer.setWorkflowType(workflow.getWorkflowName());
+        phaseTimer.setTaskCount(workflow.getTasks().size());
+        phaseTimer.endPhase("load");
 
         if (workflow.getStatus().isTerminal()) {
             if (!workflow.getStatus().isSuccessful()) {
                 cancelNonTerminalTasks(workflow);
             }
-            return true;
+            return Optional.empty();
         }
 
-        // we find any sub workflow tasks that have changed
-        // and change the workflow/task state accordingly
-        adjustStateIfSubWorkflowChanged(workflow);
-
+        // Tasks changed in memory by the passes below, persisted together with the workflow once the loop exits
+        Map<String, Task> dirtyTasks = new LinkedHashMap<>();
+        boolean workflowDirty = false;
+        boolean tasksScheduled = false;
         try {
-            DeciderService.DeciderOutcome outcome = deciderService.decide(workflow);
-            if (outcome.isComplete) {
-                endExecution(workflow);
-                return true;
-            }
+            // The workflow is kept in memory across passes instead of being reloaded after every state change, since
+            // this method holds the lock and every change made to it is applied to this instance as well.
+            for (int pass = 1; ; pass++) {
+                // we find any sub workflow tasks that have changed
+                // and change the workflow/task state accordingly
+                adjustStateIfSubWorkflowChanged(workflow);
+
+                DeciderService.DeciderOutcome outcome = deciderService.decide(workflow);
+                phaseTimer.endPhase("decide");
+                if (outcome.isComplete) {
+                    flushDecidedState(workflow, dirtyTasks, false);
+                    endExecution(workflow);
+                    phaseTimer.endPhase("complete");
+                    return Optional.empty();
+                }
 
-            List<Task> tasksToBeScheduled = outcome.tasksToBeScheduled;
-            setTaskDomains(tasksToBeScheduled, workflow);
-            List<Task> tasksToBeUpdated = outcome.tasksToBeUpdated;
-            boolean stateChanged = false;
+                List<Task> tasksToBeScheduled = outcome.tasksToBeScheduled;
+                setTaskDomains(tasksToBeScheduled, workflow);
+                List<Task> tasksToBeUpdated = outcome.tasksToBeUpdated;
+                boolean stateChanged = false;
 
-            tasksToBeScheduled = dedupAndAddTasks(workflow, tasksToBeScheduled);
+                tasksToBeScheduled = dedupAndAddTasks(workflow, tasksToBeScheduled);
+                tasksScheduled = tasksScheduled || !tasksToBeScheduled.isEmpty();
 
-            Workflow workflowInstance = deciderService.populateWorkflowAndTaskData(workflow);
-            for (Task task : outcome.tasksToBeScheduled) {
-                if (systemTaskRegistry.isSystemTask(task.getTaskType()) && NON_TERMINAL_TASK.test(task)) {
-                    WorkflowSystemTask workflowSystemTask = systemTaskRegistry.get(task.getTaskType());
-                    deciderService.populateTaskData(task);
-                    if (!workflowSystemTask.isAsync() && workflowSystemTask.execute(workflowInstance, task, this)) {
-                        tasksToBeUpdated.add(task);
-                        stateChanged = true;
+                Workflow workflowInstance = deciderService.populateWorkflowAndTaskData(workflow);
+                for (Task task : outcome.tasksToBeScheduled) {
+                    if (systemTaskRegistry.isSystemTask(task.getTaskType()) && NON_TERMINAL_TASK.test(task)) {
+                        WorkflowSystemTask workflowSystemTask = systemTaskRegistry.get(task.getTaskType());
+                        deciderService.populateTaskData(task);
+                        if (!workflowSystemTask.isAsync() && workflowSystemTask.execute(workflowInstance, task, this)) {
+                            tasksToBeUpdated.add(task);
+                            stateChanged = true;
+                        }
+                        deciderService.externalizeTaskData(task);
                     }
-                    deciderService.externalizeTaskData(task);
                 }
-            }
 
-            if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
-                executionDAOFacade.updateTasks(tasksToBeUpdated);
-                executionDAOFacade.updateWorkflow(workflow);
-            }
+                if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
+                    tasksToBeUpdated.forEach(task -> dirtyTasks.put(task.getTaskId(), task));
+                    workflowDirty = true;
+                }
+                phaseTimer.endPhase("system_tasks");
 
-            stateChanged = scheduleTask(workflow, tasksToBeScheduled) || stateChanged;
+                stateChanged = scheduleTask(workflow, tasksToBeScheduled) || stateChanged;
+                phaseTimer.setTaskCount(workflow.getTasks().size());
+                phaseTimer.endPhase("schedule");
 
-            if (stateChanged) {
-                decide(workflowId);
+                if (!stateChanged) {
+                    break;
+                }
+                if (pass >= properties.getWorkflowMaxDecidePasses()) {
+                    LOGGER.debug("Workflow: {} still changing after {} decide passes, pushing it to the decider queue",
+                        workflowId, pass);
+                    queueDAO.push(DECIDER_QUEUE, workflowId, workflow.getPriority(), 0);
+                    phaseTimer.endPhase("queue");
+                    flushDecidedState(workflow, dirtyTasks, workflowDirty);
+                    phaseTimer.endPhase("persist");
+                    return Optional.of(0L);
+                }
+            }
+            flushDecidedState(workflow, dirtyTasks, workflowDirty);
+            phaseTimer.endPhase("persist");
+
+            long offset = deciderService.getDeciderQueueOffsetSeconds(workflow,
+                properties.getWorkflowOffsetTimeout());
+            if (tasksScheduled) {
+                try {
+                    queueDAO.push(DECIDER_QUEUE, workflowId, workflow.getPriority(), offset);
+                } catch (Exception e) {
+                    LOGGER.warn("Unable to requeue workflow: {} for the deadlines of its new tasks", workflowId, e);
+                }
+                phaseTimer.endPhase("queue");
             }
+            return Optional.of(offset);
 
         } catch (TerminateWorkflowException twe) {
             LOGGER.info("Execution terminated of workflow: {}", workflowId, twe);
+            flushDecidedState(workflow, dirtyTasks, false);
             terminate(workflow, twe);
-            return true;
+            phaseTimer.endPhase("terminate");
+            return Optional.empty();
         } catch (RuntimeException e) {
             LOGGER.error("Error deciding workflow: {}", workflowId, e);
             throw e;
-        } finally {
-            executionLockService.releaseLock(workflowId);
         }
-        return false;
+    }
+
+    /**
+     * Persists the tasks changed by the decide passes, and the workflow if it changed as well.
+     */
+    private void flushDecidedState(Workflow workflow, Map<String, Task> dirtyTasks, boolean workflowDirty) {
+        if (!dirtyTasks.isEmpty()) {
+            executionDAOFacade.updateTasks(new ArrayList<>(dirtyTasks.values()));
+            dirtyTasks.clear();
+        }
+        if (workflowDirty) {
+            executionDAOFacade.updateWorkflow(workflow);
+        }
     }
 
     private void adjustStateIfSubWorkflowChanged(Workflow workflow) {
@@ -1588,13 +1752,7 @@ public class WorkflowExecutor {
         }
 
         // Now iterate through the tasks and find the "specific" task
-        Task rerunFromTask = null;
-        for (Task task : workflow.getTasks()) {
-            if (task.getTaskId().equals(taskId)) {
-                rerunFromTask = task;
-                break;
-            }
-        }
+        Task rerunFromTask = workflow.getTaskById(taskId);
 
         // If not found look into sub workflows
         if (rerunFromTask == null) {
@@ -1706,6 +1864,17 @@ public class WorkflowExecutor {
         }
     }
 
+    /**
+     * Makes the workflow due for a decision right away, whether or not it is in the decider queue.
+     */
+    private void expediteWorkflow(String workflowId, int priority) {
+        if (queueDAO.containsMessage(DECIDER_QUEUE, workflowId)) {
+            queueDAO.postpone(DECIDER_QUEUE, workflowId, priority, 0);
+        } else {
+            queueDAO.push(DECIDER_QUEUE, workflowId, priority, 0);
+        }
+    }
+
     /**
      * Pushes parent workflow id into the decider queue with a priority.
      */
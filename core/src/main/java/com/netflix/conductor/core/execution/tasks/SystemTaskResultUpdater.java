@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution.tasks;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the results of the async system tasks that complete outside of the system task worker, e.g. on the response
+ * to a non-blocking request, with {@link WorkflowExecutor#updateTask(TaskResult)}.
+ * <p>
+ * The updates run on threads of their own, so that the threads delivering the results, e.g. the I/O threads of a
+ * client, are not held by the persistence of the updates. A result may arrive before the system task worker has
+ * persisted the start of the task, which would then overwrite the update, so the update is never applied while the task
+ * is SCHEDULED. The update is retried, while the task is SCHEDULED or the update fails, until the update timeout has
+ * elapsed; the result is then given up and the future of the update fails. A task that stays SCHEDULED was not
+ * started, and is started again by the system task worker.
+ */
+@Component
+public class SystemTaskResultUpdater {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SystemTaskResultUpdater.class);
+
+    private static final long RETRY_DELAY_MILLIS = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = 1000;
+
+    private final ScheduledExecutorService executorService;
+    private final Duration updateTimeout;
+
+    public SystemTaskResultUpdater(ConductorProperties properties) {
+        this.executorService = Executors.newScheduledThreadPool(properties.getSystemTaskResultUpdateThreadCount(),
+            new ThreadFactoryBuilder().setNameFormat("system-task-result-updater-%d").setDaemon(true).build());
+        this.updateTimeout = properties.getSystemTaskResultUpdateTimeout();
+    }
+
+    /**
+     * @param workflowExecutor the executor of the workflow of the task
+     * @param taskResult       the result of the task
+     * @return a future completed once the update is applied, or failed once the result is given up
+     */
+    public CompletableFuture<Void> update(WorkflowExecutor workflowExecutor, TaskResult taskResult) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        long deadline = System.currentTimeMillis() + updateTimeout.toMillis();
+        executorService.execute(() -> update(workflowExecutor, taskResult, future, deadline, RETRY_DELAY_MILLIS));
+        return future;
+    }
+
+    /**
+     * @return the longest time between the {@link #update(WorkflowExecutor, TaskResult) update} of a result and its
+     * application
+     */
+    public Duration getUpdateWindow() {
+        return updateTimeout.plusMillis(MAX_RETRY_DELAY_MILLIS);
+    }
+
+    private void update(WorkflowExecutor workflowExecutor, TaskResult taskResult, CompletableFuture<Void> future,
+        long deadline, long retryDelay) {
+        try {
+            Task task = workflowExecutor.getTask(taskResult.getTaskId());
+            if (task != null && task.getStatus() == Task.Status.SCHEDULED) {
+                retry(workflowExecutor, taskResult, future, deadline, retryDelay,
+                    new IllegalStateException("Task: " + taskResult.getTaskId() + " was not started"));
+                return;
+            }
+            workflowExecutor.updateTask(taskResult);
+            future.complete(null);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to update task: {} in workflow: {} with status: {}", taskResult.getTaskId(),
+                taskResult.getWorkflowInstanceId(), taskResult.getStatus(), e);
+            if (e instanceof ApplicationException && !((ApplicationException) e).isRetryable()) {
+                future.completeExceptionally(e);
+            } else {
+                retry(workflowExecutor, taskResult, future, deadline, retryDelay, e);
+            }
+        }
+    }
+
+    private void retry(WorkflowExecutor workflowExecutor, TaskResult taskResult, CompletableFuture<Void> future,
+        long deadline, long retryDelay, Exception cause) {
+        if (System.currentTimeMillis() + retryDelay > deadline) {
+            LOGGER.error("Gave up the update of task: {} in workflow: {} with status: {}", taskResult.getTaskId(),
+                taskResult.getWorkflowInstanceId(), taskResult.getStatus(), cause);
+            future.completeExceptionally(cause);
+            return;
+        }
+        long nextRetryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+        try {
+            executorService.schedule(
+                () -> update(workflowExecutor, taskResult, future, deadline, nextRetryDelay),
+                retryDelay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            future.completeExceptionally(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+}
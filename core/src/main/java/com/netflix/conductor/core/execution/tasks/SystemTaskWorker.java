@@ -13,6 +13,7 @@
 package com.netflix.conductor.core.execution.tasks;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.conductor.core.LifecycleAwareComponent;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.execution.AsyncSystemTaskExecutor;
@@ -28,14 +29,21 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * The worker that polls and executes an async system task.
+ * <p>
+ * All the system task queues, including the isolation group and domain queues, are polled by one shared pool of
+ * poller threads, so the number of threads does not depend on the number of queues. Each queue is rescheduled on the
+ * pool after each of its polls, which polls the queues in turn. A queue found empty is polled less and less often, up
+ * to {@link ConductorProperties#getSystemTaskWorkerMaxPollBackoff()}.
  */
 @Component
 @ConditionalOnProperty(name = "conductor.system-task-workers.enabled", havingValue = "true", matchIfMissing = true)
@@ -44,7 +52,10 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     private static final Logger LOGGER = LoggerFactory.getLogger(SystemTaskWorker.class);
 
     private final long pollInterval;
+    private final long maxPollBackoff;
     private final QueueDAO queueDAO;
+    private final ScheduledExecutorService pollerExecutor;
+    private final Set<String> polledQueues = ConcurrentHashMap.newKeySet();
 
     ExecutionConfig defaultExecutionConfig;
     private final AsyncSystemTaskExecutor asyncSystemTaskExecutor;
@@ -65,7 +76,10 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
         this.queueDAO = queueDAO;
         this.maxPollCount = properties.getSystemTaskMaxPollCount();
         this.pollInterval = properties.getSystemTaskWorkerPollInterval().toMillis();
+        this.maxPollBackoff = Math.max(pollInterval, properties.getSystemTaskWorkerMaxPollBackoff().toMillis());
         this.executionService = executionService;
+        this.pollerExecutor = Executors.newScheduledThreadPool(properties.getSystemTaskQueuePollerThreadCount(),
+            new ThreadFactoryBuilder().setNameFormat("system-task-queue-poller-%d").setDaemon(true).build());
 
         LOGGER.info("SystemTaskWorker initialized with {} threads", threadCount);
     }
@@ -75,15 +89,34 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     }
 
     public void startPolling(WorkflowSystemTask systemTask, String queueName) {
-        Executors.newSingleThreadScheduledExecutor()
-                .scheduleWithFixedDelay(() -> this.pollAndExecute(systemTask, queueName), 1000, pollInterval, TimeUnit.MILLISECONDS);
+        if (!polledQueues.add(queueName)) {
+            return;
+        }
+        pollerExecutor.schedule(() -> poll(systemTask, queueName, pollInterval), 1000, TimeUnit.MILLISECONDS);
         LOGGER.info("Started listening for task: {} in queue: {}", systemTask, queueName);
     }
 
-    void pollAndExecute(WorkflowSystemTask systemTask, String queueName) {
+    private void poll(WorkflowSystemTask systemTask, String queueName, long backoff) {
+        long nextPollDelay = pollInterval;
+        try {
+            if (pollAndExecute(systemTask, queueName)) {
+                nextPollDelay = Math.min(backoff * 2, maxPollBackoff);
+            }
+        } finally {
+            long delay = nextPollDelay;
+            pollerExecutor.schedule(() -> poll(systemTask, queueName, delay), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Polls the given queue, without waiting for tasks, and hands the polled tasks over to the executor of the queue.
+     *
+     * @return whether the queue was found empty or could not be polled, in which case its next poll is backed off
+     */
+    boolean pollAndExecute(WorkflowSystemTask systemTask, String queueName) {
         if (!isRunning()) {
             LOGGER.debug("{} stopped. Not polling for task: {}", getClass().getSimpleName(), systemTask);
-            return;
+            return true;
         }
 
         // get the remaining capacity of worker queue to prevent queue full exception
@@ -95,7 +128,7 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
         if (!semaphoreUtil.acquireSlots(1)) {
             // no available permits, do not poll
             Monitors.recordSystemTaskWorkerPollingLimited(queueName);
-            return;
+            return false;
         }
 
         int acquiredSlots = 1;
@@ -110,7 +143,7 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
             }
             LOGGER.debug("Polling queue: {} with {} slots acquired", queueName, acquiredSlots);
 
-            List<String> polledTaskIds = queueDAO.pop(queueName, acquiredSlots, 200);
+            List<String> polledTaskIds = queueDAO.pop(queueName, acquiredSlots, 0);
 
             Monitors.recordTaskPoll(queueName);
             LOGGER.debug("Polling queue:{}, got {} tasks", queueName, polledTaskIds.size());
@@ -137,15 +170,18 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
                         semaphoreUtil.completeProcessing(1);
                     }
                 }
+                return false;
             } else {
                 // no task polled, release permit
                 semaphoreUtil.completeProcessing(acquiredSlots);
+                return true;
             }
         } catch (Exception e) {
             // release the permit if exception is thrown during polling, because the thread would not be busy
             semaphoreUtil.completeProcessing(acquiredSlots);
             Monitors.recordTaskPollError(taskName, "", e.getClass().getSimpleName());
             LOGGER.error("Error polling system task in queue:{}", queueName, e);
+            return true;
         }
     }
 
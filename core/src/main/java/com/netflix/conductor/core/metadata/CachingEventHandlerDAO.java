@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.netflix.conductor.common.metadata.events.EventHandler;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.EventHandlerDAO;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link EventHandlerDAO} that keeps the event handlers looked up by event in a near-cache. Since a write may move
+ * a handler from one event to another, every event handler write invalidates the whole cache, on this server and,
+ * through the optional {@link MetadataCacheInvalidationChannel}, on the others.
+ */
+public class CachingEventHandlerDAO implements EventHandlerDAO {
+
+    static final String EVENT_HANDLER_CACHE = "eventHandler";
+
+    private final EventHandlerDAO eventHandlerDAO;
+    private final MetadataCacheInvalidationChannel invalidationChannel;
+    private final MetadataCache<Pair<String, Boolean>, List<EventHandler>> eventHandlers;
+
+    public CachingEventHandlerDAO(EventHandlerDAO eventHandlerDAO, ConductorProperties properties,
+        Executor refreshExecutor, MetadataCacheInvalidationChannel invalidationChannel) {
+        this.eventHandlerDAO = eventHandlerDAO;
+        this.invalidationChannel = invalidationChannel;
+        this.eventHandlers = new MetadataCache<>(EVENT_HANDLER_CACHE,
+            key -> Collections.unmodifiableList(eventHandlerDAO.getEventHandlersForEvent(key.getLeft(), key.getRight())),
+            properties, refreshExecutor);
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(EVENT_HANDLER_CACHE, event -> eventHandlers.invalidateAll());
+        }
+    }
+
+    @Override
+    public void addEventHandler(EventHandler eventHandler) {
+        eventHandlerDAO.addEventHandler(eventHandler);
+        eventHandlersChanged(eventHandler.getEvent());
+    }
+
+    @Override
+    public void updateEventHandler(EventHandler eventHandler) {
+        eventHandlerDAO.updateEventHandler(eventHandler);
+        eventHandlersChanged(eventHandler.getEvent());
+    }
+
+    @Override
+    public void removeEventHandler(String name) {
+        eventHandlerDAO.removeEventHandler(name);
+        eventHandlersChanged(name);
+    }
+
+    @Override
+    public List<EventHandler> getAllEventHandlers() {
+        return eventHandlerDAO.getAllEventHandlers();
+    }
+
+    @Override
+    public List<EventHandler> getEventHandlersForEvent(String event, boolean activeOnly) {
+        return eventHandlers.get(Pair.of(event, activeOnly));
+    }
+
+    private void eventHandlersChanged(String key) {
+        eventHandlers.invalidateAll();
+        if (invalidationChannel != null) {
+            invalidationChannel.publish(EVENT_HANDLER_CACHE, key);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.MetadataDAO;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link MetadataDAO} that keeps the workflow definitions looked up by name and by name and version in a near-cache.
+ * Workflow definition writes invalidate every cached version of the definition, on this server and, through the
+ * optional {@link MetadataCacheInvalidationChannel}, on the others. Task definitions are not cached here, the
+ * {@link MetadataDAO} implementations already cache them. Lookups of definitions which do not exist are not cached,
+ * so that a definition registered on another server is found without waiting for the invalidation.
+ * <p>
+ * Cached definitions are handed out as copies, since {@link MetadataMapperService} populates the definitions it looks
+ * up.
+ */
+public class CachingMetadataDAO implements MetadataDAO {
+
+    static final String WORKFLOW_DEF_CACHE = "workflowDef";
+
+    private final MetadataDAO metadataDAO;
+    private final ObjectMapper objectMapper;
+    private final MetadataCacheInvalidationChannel invalidationChannel;
+    private final MetadataCache<String, Optional<WorkflowDef>> latestWorkflowDefs;
+    private final MetadataCache<Pair<String, Integer>, Optional<WorkflowDef>> workflowDefs;
+
+    public CachingMetadataDAO(MetadataDAO metadataDAO, ObjectMapper objectMapper, ConductorProperties properties,
+        Executor refreshExecutor, MetadataCacheInvalidationChannel invalidationChannel) {
+        this.metadataDAO = metadataDAO;
+        this.objectMapper = objectMapper;
+        this.invalidationChannel = invalidationChannel;
+        this.latestWorkflowDefs = new MetadataCache<>("latestWorkflowDef", metadataDAO::getLatestWorkflowDef,
+            Optional::isPresent, properties, refreshExecutor);
+        this.workflowDefs = new MetadataCache<>(WORKFLOW_DEF_CACHE,
+            key -> metadataDAO.getWorkflowDef(key.getLeft(), key.getRight()), Optional::isPresent, properties,
+            refreshExecutor);
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(WORKFLOW_DEF_CACHE, this::invalidateWorkflowDef);
+        }
+    }
+
+    @Override
+    public void createTaskDef(TaskDef taskDef) {
+        metadataDAO.createTaskDef(taskDef);
+    }
+
+    @Override
+    public String updateTaskDef(TaskDef taskDef) {
+        return metadataDAO.updateTaskDef(taskDef);
+    }
+
+    @Override
+    public TaskDef getTaskDef(String name) {
+        return metadataDAO.getTaskDef(name);
+    }
+
+    @Override
+    public List<TaskDef> getAllTaskDefs() {
+        return metadataDAO.getAllTaskDefs();
+    }
+
+    @Override
+    public void removeTaskDef(String name) {
+        metadataDAO.removeTaskDef(name);
+    }
+
+    @Override
+    public void createWorkflowDef(WorkflowDef def) {
+        metadataDAO.createWorkflowDef(def);
+        workflowDefChanged(def.getName());
+    }
+
+    @Override
+    public void updateWorkflowDef(WorkflowDef def) {
+        metadataDAO.updateWorkflowDef(def);
+        workflowDefChanged(def.getName());
+    }
+
+    @Override
+    public Optional<WorkflowDef> getLatestWorkflowDef(String name) {
+        return latestWorkflowDefs.get(name).map(this::copy);
+    }
+
+    @Override
+    public Optional<WorkflowDef> getWorkflowDef(String name, int version) {
+        return workflowDefs.get(Pair.of(name, version)).map(this::copy);
+    }
+
+    @Override
+    public void removeWorkflowDef(String name, Integer version) {
+        metadataDAO.removeWorkflowDef(name, version);
+        workflowDefChanged(name);
+    }
+
+    @Override
+    public List<WorkflowDef> getAllWorkflowDefs() {
+        return metadataDAO.getAllWorkflowDefs();
+    }
+
+    private WorkflowDef copy(WorkflowDef workflowDef) {
+        return objectMapper.convertValue(workflowDef, WorkflowDef.class);
+    }
+
+    private void workflowDefChanged(String name) {
+        invalidateWorkflowDef(name);
+        if (invalidationChannel != null) {
+            invalidationChannel.publish(WORKFLOW_DEF_CACHE, name);
+        }
+    }
+
+    private void invalidateWorkflowDef(String name) {
+        latestWorkflowDefs.invalidate(name);
+        workflowDefs.invalidateIf(key -> key.getLeft().equals(name));
+    }
+}
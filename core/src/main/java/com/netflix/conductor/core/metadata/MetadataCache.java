@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.metrics.Monitors;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache of metadata lookups. Entries expire after {@link ConductorProperties#getMetadataCacheTtl()} and are
+ * reloaded in the background when read after {@link ConductorProperties#getMetadataCacheRefreshInterval()}, serving the
+ * previous value until the reload completes. Values rejected by the cacheable predicate, such as the lookups of
+ * metadata which does not exist yet, are returned but not kept, so that metadata created on another server is seen as
+ * soon as it exists.
+ */
+class MetadataCache<K, V> {
+
+    private final String name;
+    private final LoadingCache<K, V> cache;
+    private final Predicate<V> cacheable;
+
+    MetadataCache(String name, Function<K, V> loader, ConductorProperties properties, Executor refreshExecutor) {
+        this(name, loader, value -> true, properties, refreshExecutor);
+    }
+
+    MetadataCache(String name, Function<K, V> loader, Predicate<V> cacheable, ConductorProperties properties,
+        Executor refreshExecutor) {
+        this.name = name;
+        this.cacheable = cacheable;
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(properties.getMetadataCacheMaxSize())
+            .expireAfterWrite(properties.getMetadataCacheTtl())
+            .refreshAfterWrite(properties.getMetadataCacheRefreshInterval())
+            .build(new CacheLoader<>() {
+                @Override
+                public V load(K key) {
+                    Monitors.recordMetadataCacheMiss(name);
+                    return loader.apply(key);
+                }
+
+                @Override
+                public ListenableFuture<V> reload(K key, V oldValue) {
+                    ListenableFutureTask<V> task = ListenableFutureTask.create(() -> loader.apply(key));
+                    refreshExecutor.execute(task);
+                    return task;
+                }
+            });
+    }
+
+    String getName() {
+        return name;
+    }
+
+    V get(K key) {
+        if (cache.asMap().containsKey(key)) {
+            Monitors.recordMetadataCacheHit(name);
+        }
+        V value;
+        try {
+            value = cache.getUnchecked(key);
+        } catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+        if (!cacheable.test(value)) {
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    void invalidateIf(Predicate<K> predicate) {
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.EventHandlerDAO;
+import com.netflix.conductor.dao.MetadataDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Wraps the {@link MetadataDAO} and {@link EventHandlerDAO} beans of the configured persistence module in their
+ * near-cache decorators. A bean implementing both interfaces is replaced by a proxy that routes the calls of each
+ * interface to its decorator.
+ */
+public class MetadataCacheBeanPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataCacheBeanPostProcessor.class);
+
+    private final ObjectProvider<ConductorProperties> properties;
+    private final ObjectProvider<ObjectMapper> objectMapper;
+    private final ObjectProvider<MetadataCacheInvalidationChannel> invalidationChannel;
+    private final ExecutorService refreshExecutor;
+
+    public MetadataCacheBeanPostProcessor(ObjectProvider<ConductorProperties> properties,
+        ObjectProvider<ObjectMapper> objectMapper,
+        ObjectProvider<MetadataCacheInvalidationChannel> invalidationChannel) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.invalidationChannel = invalidationChannel;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("metadata-cache-refresh-%d")
+            .setDaemon(true)
+            .build());
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        boolean isMetadataDAO = bean instanceof MetadataDAO;
+        boolean isEventHandlerDAO = bean instanceof EventHandlerDAO;
+        if (!isMetadataDAO && !isEventHandlerDAO) {
+            return bean;
+        }
+        LOGGER.info("Enabling the metadata near-cache for {}", beanName);
+        MetadataCacheInvalidationChannel channel = invalidationChannel.getIfAvailable();
+        MetadataDAO cachingMetadataDAO = isMetadataDAO
+            ? new CachingMetadataDAO((MetadataDAO) bean, objectMapper.getObject(), properties.getObject(),
+            refreshExecutor, channel)
+            : null;
+        EventHandlerDAO cachingEventHandlerDAO = isEventHandlerDAO
+            ? new CachingEventHandlerDAO((EventHandlerDAO) bean, properties.getObject(), refreshExecutor, channel)
+            : null;
+        if (!isEventHandlerDAO) {
+            return cachingMetadataDAO;
+        }
+        if (!isMetadataDAO) {
+            return cachingEventHandlerDAO;
+        }
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(),
+            ClassUtils.getAllInterfaces(bean),
+            (proxy, method, args) -> {
+                Object target = bean;
+                if (method.getDeclaringClass() == MetadataDAO.class) {
+                    target = cachingMetadataDAO;
+                } else if (method.getDeclaringClass() == EventHandlerDAO.class) {
+                    target = cachingEventHandlerDAO;
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates the invalidations of the metadata near-cache to the other Conductor servers sharing the same store.
+ */
+public interface MetadataCacheInvalidationChannel {
+
+    /**
+     * Notifies the other servers that the given key of the given cache is stale.
+     *
+     * @param cache the name of the cache
+     * @param key   the stale key
+     */
+    void publish(String cache, String key);
+
+    /**
+     * @param cache    the name of the cache
+     * @param listener invoked with the stale key on every invalidation of the given cache
+     */
+    void subscribe(String cache, Consumer<String> listener);
+}
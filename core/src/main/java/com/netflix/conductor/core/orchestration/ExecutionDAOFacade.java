@@ -16,6 +16,7 @@ import static com.netflix.conductor.core.execution.WorkflowExecutor.DECIDER_QUEU
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
@@ -34,11 +35,16 @@ import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.dao.RateLimitingDAO;
 import com.netflix.conductor.metrics.Monitors;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
 import org.slf4j.Logger;
@@ -68,6 +74,12 @@ public class ExecutionDAOFacade {
 
     private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
 
+    /**
+     * The last poll of each task queue and domain that has not been written to the {@link PollDataDAO} yet
+     */
+    private final Map<String, PollData> pendingPollData = new ConcurrentHashMap<>();
+    private final boolean pollDataFlushEnabled;
+
     public ExecutionDAOFacade(ExecutionDAO executionDAO, QueueDAO queueDAO, IndexDAO indexDAO,
         RateLimitingDAO rateLimitingDao, PollDataDAO pollDataDAO, ObjectMapper objectMapper,
         ConductorProperties properties) {
@@ -84,10 +96,18 @@ public class ExecutionDAOFacade {
                 Monitors.recordDiscardedIndexingCount("delayQueue");
             });
         this.scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+
+        long pollDataFlushIntervalMs = properties.getPollDataFlushInterval().toMillis();
+        this.pollDataFlushEnabled = pollDataFlushIntervalMs > 0;
+        if (pollDataFlushEnabled) {
+            this.scheduledThreadPoolExecutor.scheduleWithFixedDelay(this::flushPollData, pollDataFlushIntervalMs,
+                pollDataFlushIntervalMs, TimeUnit.MILLISECONDS);
+        }
     }
 
     @PreDestroy
     public void shutdownExecutorService() {
+        flushPollData();
         try {
             LOGGER.info("Gracefully shutdown executor service");
             scheduledThreadPoolExecutor.shutdown();
@@ -355,6 +375,14 @@ public class ExecutionDAOFacade {
         return executionDAO.getTask(taskId);
     }
 
+    /**
+     * @param taskIds the ids of the tasks to be read
+     * @return the tasks found, ids without a task are skipped
+     */
+    public List<Task> getTasksByIds(List<String> taskIds) {
+        return executionDAO.getTasks(taskIds);
+    }
+
     public List<Task> getTasksByName(String taskName, String startKey, int count) {
         return executionDAO.getTasks(taskName, startKey, count);
     }
@@ -376,14 +404,7 @@ public class ExecutionDAOFacade {
      */
     public void updateTask(Task task) {
         try {
-            if (task.getStatus() != null) {
-                if (!task.getStatus().isTerminal() || (task.getStatus().isTerminal() && task.getUpdateTime() == 0)) {
-                    task.setUpdateTime(System.currentTimeMillis());
-                }
-                if (task.getStatus().isTerminal() && task.getEndTime() == 0) {
-                    task.setEndTime(System.currentTimeMillis());
-                }
-            }
+            setUpdateAndEndTime(task);
             executionDAO.updateTask(task);
             /*
              * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
@@ -402,8 +423,40 @@ public class ExecutionDAOFacade {
         }
     }
 
+    /**
+     * Same as {@link #updateTask(Task)} for a list of tasks, except that the tasks are written to the {@link
+     * ExecutionDAO} in one batch.
+     *
+     * @param tasks the tasks to be updated in the data store
+     * @throws ApplicationException if the dao operations fail
+     */
     public void updateTasks(List<Task> tasks) {
-        tasks.forEach(this::updateTask);
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            tasks.forEach(this::setUpdateAndEndTime);
+            executionDAO.updateTasks(tasks);
+            if (!properties.isAsyncIndexingEnabled()) {
+                tasks.forEach(indexDAO::indexTask);
+            }
+        } catch (Exception e) {
+            String errorMsg = String.format("Error updating %d tasks in workflow: %s", tasks.size(),
+                tasks.get(0).getWorkflowInstanceId());
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    private void setUpdateAndEndTime(Task task) {
+        if (task.getStatus() != null) {
+            if (!task.getStatus().isTerminal() || (task.getStatus().isTerminal() && task.getUpdateTime() == 0)) {
+                task.setUpdateTime(System.currentTimeMillis());
+            }
+            if (task.getStatus().isTerminal() && task.getEndTime() == 0) {
+                task.setEndTime(System.currentTimeMillis());
+            }
+        }
     }
 
     public void removeTask(String taskId) {
@@ -411,23 +464,35 @@ public class ExecutionDAOFacade {
     }
 
     public List<PollData> getTaskPollData(String taskName) {
-        return pollDataDAO.getPollData(taskName);
+        return withPendingPollData(pollDataDAO.getPollData(taskName),
+            pollData -> taskName.equals(pollData.getQueueName()));
     }
 
     public List<PollData> getAllPollData() {
-        return pollDataDAO.getAllPollData();
+        return withPendingPollData(pollDataDAO.getAllPollData(), pollData -> true);
     }
 
     public PollData getTaskPollDataByDomain(String taskName, String domain) {
+        PollData pending = pendingPollData.get(pollDataKey(taskName, domain));
         try {
-            return pollDataDAO.getPollData(taskName, domain);
+            return latest(pending, pollDataDAO.getPollData(taskName, domain));
         } catch (Exception e) {
             LOGGER.error("Error fetching pollData for task: '{}', domain: '{}'", taskName, domain, e);
-            return null;
+            return pending;
         }
     }
 
+    /**
+     * Records the last poll of the given task queue. When a poll data flush interval is configured, the poll is kept in
+     * memory and written to the {@link PollDataDAO} by {@link #flushPollData()}, so that only the last poll of each
+     * queue and domain within the interval is written.
+     */
     public void updateTaskLastPoll(String taskName, String domain, String workerId) {
+        if (pollDataFlushEnabled) {
+            pendingPollData.put(pollDataKey(taskName, domain),
+                new PollData(taskName, domain, workerId, System.currentTimeMillis()));
+            return;
+        }
         try {
             pollDataDAO.updateLastPollData(taskName, domain, workerId);
         } catch (Exception e) {
@@ -437,6 +502,49 @@ public class ExecutionDAOFacade {
         }
     }
 
+    @VisibleForTesting
+    void flushPollData() {
+        pendingPollData.forEach((key, pollData) -> {
+            try {
+                pollDataDAO.updateLastPollData(pollData.getQueueName(), pollData.getDomain(), pollData.getWorkerId());
+                // a newer poll recorded in the meantime is kept for the next flush
+                pendingPollData.remove(key, pollData);
+            } catch (Exception e) {
+                LOGGER.error("Error updating PollData for task: {} in domain: {} from worker: {}",
+                    pollData.getQueueName(), pollData.getDomain(), pollData.getWorkerId(), e);
+                Monitors.error(this.getClass().getCanonicalName(), "updateTaskLastPoll");
+            }
+        });
+    }
+
+    private List<PollData> withPendingPollData(List<PollData> storedPollData, Predicate<PollData> filter) {
+        if (pendingPollData.isEmpty()) {
+            return storedPollData;
+        }
+        Map<String, PollData> pollDataByKey = new LinkedHashMap<>();
+        storedPollData.forEach(pollData ->
+            pollDataByKey.put(pollDataKey(pollData.getQueueName(), pollData.getDomain()), pollData));
+        pendingPollData.values().stream()
+            .filter(filter)
+            .forEach(pollData -> pollDataByKey.merge(pollDataKey(pollData.getQueueName(), pollData.getDomain()),
+                pollData, this::latest));
+        return new ArrayList<>(pollDataByKey.values());
+    }
+
+    private PollData latest(PollData pollData1, PollData pollData2) {
+        if (pollData1 == null) {
+            return pollData2;
+        }
+        if (pollData2 == null) {
+            return pollData1;
+        }
+        return pollData1.getLastPollTime() >= pollData2.getLastPollTime() ? pollData1 : pollData2;
+    }
+
+    private String pollDataKey(String taskName, String domain) {
+        return domain == null ? taskName : domain + ":" + taskName;
+    }
+
     /**
      * Save the {@link EventExecution} to the data store Saves to {@link ExecutionDAO} first, if this succeeds then
      * saves to the {@link IndexDAO}.
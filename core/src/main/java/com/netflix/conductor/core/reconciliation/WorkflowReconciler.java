@@ -18,8 +18,11 @@ import com.netflix.conductor.core.LifecycleAwareComponent;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -28,6 +31,15 @@ import org.springframework.stereotype.Component;
 
 /**
  * Periodically polls all running workflows in the system and evaluates them for timeouts and/or maintain consistency.
+ * <p>
+ * Up to {@link ConductorProperties#getSweeperThreadCount()} sweeps are in flight at any time. As soon as sweeps
+ * complete, the freed slots are refilled from the decider queue, so that a slow sweep only holds its own slot. The
+ * workflows are only popped once there are slots to sweep them, so a backlog stays in the decider queue rather than
+ * piling up in the sweeper, and the queue is not popped for more workflows than it holds.
+ * <p>
+ * The depth of the decider queue is read, and reported, before every refill and while waiting for a free slot. The
+ * refill loop keeps going as long as the decider queue fills all the free slots, and waits for the next scheduled run
+ * once the queue is empty or does not fill the slots.
  */
 @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
 @Component
@@ -37,13 +49,18 @@ public class WorkflowReconciler extends LifecycleAwareComponent {
     private final WorkflowSweeper workflowSweeper;
     private final QueueDAO queueDAO;
     private final int sweeperThreadCount;
+    private final Semaphore sweepSlots;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowReconciler.class);
 
+    // the time to wait for a free slot before checking whether the component was stopped
+    private static final long SLOT_WAIT_MILLIS = 500;
+
     public WorkflowReconciler(WorkflowSweeper workflowSweeper, QueueDAO queueDAO, ConductorProperties properties) {
         this.workflowSweeper = workflowSweeper;
         this.queueDAO = queueDAO;
         this.sweeperThreadCount = properties.getSweeperThreadCount();
+        this.sweepSlots = new Semaphore(sweeperThreadCount);
         LOGGER.info("WorkflowReconciler initialized with {} sweeper threads", properties.getSweeperThreadCount());
     }
 
@@ -53,18 +70,30 @@ public class WorkflowReconciler extends LifecycleAwareComponent {
             if (!isRunning()) {
                 LOGGER.debug("Component stopped, skip workflow sweep");
             } else {
-                List<String> workflowIds = queueDAO.pop(DECIDER_QUEUE, sweeperThreadCount, 2000);
-                if (workflowIds != null) {
-                    // wait for all workflow ids to be "swept"
-                    CompletableFuture.allOf(workflowIds
-                        .stream()
-                        .map(workflowSweeper::sweepAsync)
-                        .toArray(CompletableFuture[]::new))
-                        .get();
-                    LOGGER.debug("Sweeper processed {} from the decider queue", String.join(",", workflowIds));
+                boolean queueDrained = false;
+                while (isRunning() && !queueDrained) {
+                    // wait for at least one free slot, then take all the free ones
+                    if (!sweepSlots.tryAcquire(SLOT_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        recordQueueDepth();
+                        continue;
+                    }
+                    int freeSlots = 1 + sweepSlots.drainPermits();
+                    List<String> workflowIds = Collections.emptyList();
+                    int count = 0;
+                    try {
+                        //NOTE: Disabling the sweeper implicitly disables this metric.
+                        count = Math.min(freeSlots, recordQueueDepth());
+                        if (count > 0) {
+                            workflowIds = Optional.ofNullable(queueDAO.pop(DECIDER_QUEUE, count, 2000))
+                                .orElse(Collections.emptyList());
+                        }
+                    } finally {
+                        sweepSlots.release(freeSlots - workflowIds.size());
+                    }
+                    workflowIds.forEach(this::sweep);
+                    queueDrained = workflowIds.isEmpty() || workflowIds.size() < count;
+                    LOGGER.debug("Sweeper dispatched {} from the decider queue", String.join(",", workflowIds));
                 }
-                //NOTE: Disabling the sweeper implicitly disables this metric.
-                recordQueueDepth();
             }
         } catch (Exception e) {
             Monitors.error(WorkflowReconciler.class.getSimpleName(), "poll");
@@ -76,8 +105,30 @@ public class WorkflowReconciler extends LifecycleAwareComponent {
         }
     }
 
-    private void recordQueueDepth() {
+    private void sweep(String workflowId) {
+        long start = System.currentTimeMillis();
+        recordSweepsInFlight();
+        try {
+            workflowSweeper.sweepAsync(workflowId)
+                .whenComplete((result, error) -> {
+                    sweepSlots.release();
+                    recordSweepsInFlight();
+                    Monitors.recordWorkflowSweepTime(System.currentTimeMillis() - start);
+                });
+        } catch (RuntimeException e) {
+            sweepSlots.release();
+            recordSweepsInFlight();
+            LOGGER.error("Unable to dispatch the sweep of workflow: {}", workflowId, e);
+        }
+    }
+
+    private void recordSweepsInFlight() {
+        Monitors.recordWorkflowSweepsInFlight(sweeperThreadCount - sweepSlots.availablePermits());
+    }
+
+    private int recordQueueDepth() {
         int currentQueueSize = queueDAO.getSize(DECIDER_QUEUE);
         Monitors.recordGauge(DECIDER_QUEUE, currentQueueSize);
+        return currentQueueSize;
     }
 }
@@ -23,6 +23,7 @@ import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -69,12 +70,15 @@ public class WorkflowSweeper {
                 workflowRepairService.verifyAndRepairWorkflowTasks(workflowId);
             }
 
-            boolean done = workflowExecutor.decide(workflowId);
-            if (done) {
-                queueDAO.remove(DECIDER_QUEUE, workflowId);
-            } else {
-                queueDAO.setUnackTimeout(DECIDER_QUEUE, workflowId, properties.getWorkflowOffsetTimeout().toMillis());
-            }
+            // requeue the workflow for its next deadline rather than for a fixed offset, while it is still locked so
+            // that a task update which could not decide it in the meantime is not delayed until that deadline
+            workflowExecutor.decideWithOffset(workflowId, offset -> {
+                if (offset.isEmpty()) {
+                    queueDAO.remove(DECIDER_QUEUE, workflowId);
+                } else {
+                    queueDAO.setUnackTimeout(DECIDER_QUEUE, workflowId, TimeUnit.SECONDS.toMillis(offset.get()));
+                }
+            });
         } catch (ApplicationException e) {
             if (e.getCode() == ApplicationException.Code.NOT_FOUND) {
                 queueDAO.remove(DECIDER_QUEUE, workflowId);
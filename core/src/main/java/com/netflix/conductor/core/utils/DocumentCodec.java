@@ -0,0 +1,179 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes the task and workflow documents stored by the persistence modules.
+ * <p>
+ * By default documents are written as plain JSON, exactly as they always were. When the {@link Format#SMILE} format
+ * is used, or a document is larger than the compression threshold, it is written as a marker followed by a format
+ * flag, a compression flag and the Base64 encoded bytes of the document, so that it still fits into the text columns
+ * and strings the stores are built on. Both forms are recognized when decoding, so documents written before the format
+ * or the threshold changed remain readable and no migration is needed.
+ */
+public class DocumentCodec {
+
+    public enum Format {
+        JSON, SMILE
+    }
+
+    private static final char MARKER = '~';
+    private static final char JSON_FORMAT = 'J';
+    private static final char SMILE_FORMAT = 'S';
+    private static final char UNCOMPRESSED = 'N';
+    private static final char DEFLATED = 'D';
+    private static final int HEADER_LENGTH = 3;
+
+    private static final long NO_COMPRESSION = -1L;
+
+    private final ObjectMapper objectMapper;
+    private final SmileFactory smileFactory;
+    private final Format format;
+    private final long compressionThreshold;
+
+    /**
+     * Creates a codec that writes plain, uncompressed JSON.
+     */
+    public DocumentCodec(ObjectMapper objectMapper) {
+        this(objectMapper, Format.JSON, NO_COMPRESSION);
+    }
+
+    /**
+     * @param objectMapper         the mapper used to (de)serialize documents in either format
+     * @param format               the format documents are written in
+     * @param compressionThreshold the size in bytes of a serialized document beyond which it is compressed, or a
+     *                             negative value to never compress
+     */
+    public DocumentCodec(ObjectMapper objectMapper, Format format, long compressionThreshold) {
+        this.objectMapper = objectMapper;
+        this.smileFactory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * @param document the task, workflow or any other document to be stored
+     * @return the document in the configured format, compressed if it is larger than the compression threshold
+     * @throws ApplicationException if the document cannot be serialized
+     */
+    public String encode(Object document) {
+        try {
+            if (format == Format.JSON && compressionThreshold < 0) {
+                return objectMapper.writeValueAsString(document);
+            }
+            byte[] bytes = serialize(document);
+            boolean compressed = compressionThreshold >= 0 && bytes.length > compressionThreshold;
+            if (format == Format.JSON && !compressed) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            if (compressed) {
+                bytes = deflate(bytes);
+            }
+            return new StringBuilder(HEADER_LENGTH + (bytes.length + 2) / 3 * 4)
+                .append(MARKER)
+                .append(format == Format.SMILE ? SMILE_FORMAT : JSON_FORMAT)
+                .append(compressed ? DEFLATED : UNCOMPRESSED)
+                .append(Base64.getEncoder().encodeToString(bytes))
+                .toString();
+        } catch (IOException e) {
+            throw new ApplicationException(Code.INTERNAL_ERROR, e);
+        }
+    }
+
+    /**
+     * @param document a document returned by {@link #encode(Object)} of any codec, or a plain JSON document
+     * @param type     the type of the document
+     * @return the decoded document
+     * @throws ApplicationException if the document cannot be decoded
+     */
+    public <T> T decode(String document, Class<T> type) {
+        try {
+            if (!isEncoded(document)) {
+                return objectMapper.readValue(document, type);
+            }
+            byte[] bytes = Base64.getDecoder().decode(document.substring(HEADER_LENGTH));
+            if (document.charAt(2) == DEFLATED) {
+                bytes = inflate(bytes);
+            }
+            switch (document.charAt(1)) {
+                case SMILE_FORMAT:
+                    try (JsonParser parser = smileFactory.createParser(bytes)) {
+                        return objectMapper.readValue(parser, type);
+                    }
+                case JSON_FORMAT:
+                    return objectMapper.readValue(bytes, type);
+                default:
+                    throw new ApplicationException(Code.INTERNAL_ERROR,
+                        "Unknown document format: " + document.substring(0, HEADER_LENGTH));
+            }
+        } catch (IOException e) {
+            throw new ApplicationException(Code.INTERNAL_ERROR, e);
+        }
+    }
+
+    /**
+     * @return true if the document is not plain JSON but encoded by a {@link DocumentCodec}
+     */
+    public static boolean isEncoded(String document) {
+        return document.length() > HEADER_LENGTH && document.charAt(0) == MARKER;
+    }
+
+    private byte[] serialize(Object document) throws IOException {
+        if (format == Format.JSON) {
+            return objectMapper.writeValueAsBytes(document);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = smileFactory.createGenerator(outputStream)) {
+            objectMapper.writeValue(generator, document);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] bytes) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 2);
+            try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(outputStream, deflater)) {
+                deflaterStream.write(bytes);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) throws IOException {
+        try (InflaterInputStream inflaterStream = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            return inflaterStream.readAllBytes();
+        }
+    }
+}
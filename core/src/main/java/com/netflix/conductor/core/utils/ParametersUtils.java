@@ -12,9 +12,11 @@
  */
 package com.netflix.conductor.core.utils;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
@@ -29,13 +31,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 /**
  * Used to parse and resolve the JSONPath bindings in the workflow and task definitions.
@@ -46,7 +51,9 @@ public class ParametersUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParametersUtils.class);
 
     private final ObjectMapper objectMapper;
-    private final TypeReference<Map<String, Object>> map = new TypeReference<Map<String, Object>>() {};
+    private final LoadingCache<String, ParameterExpression> expressionCache = CacheBuilder.newBuilder()
+        .maximumSize(10_000)
+        .build(CacheLoader.from(ParameterExpression::parse));
 
     public ParametersUtils(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -73,53 +80,63 @@ public class ParametersUtils {
             clone(taskDefinition.getInputTemplate()).forEach(inputParams::putIfAbsent);
         }
 
+        // Only the workflow and task nodes referenced by the input expressions are materialized
+        Set<String> referencedNodes = new HashSet<>();
+        boolean allNodes = !collectReferencedNodes(inputParams, referencedNodes);
+
         Map<String, Map<String, Object>> inputMap = new HashMap<>();
 
-        Map<String, Object> workflowParams = new HashMap<>();
-        workflowParams.put("input", workflow.getInput());
-        workflowParams.put("output", workflow.getOutput());
-        workflowParams.put("status", workflow.getStatus());
-        workflowParams.put("workflowId", workflow.getWorkflowId());
-        workflowParams.put("parentWorkflowId", workflow.getParentWorkflowId());
-        workflowParams.put("parentWorkflowTaskId", workflow.getParentWorkflowTaskId());
-        workflowParams.put("workflowType", workflow.getWorkflowName());
-        workflowParams.put("version", workflow.getWorkflowVersion());
-        workflowParams.put("correlationId", workflow.getCorrelationId());
-        workflowParams.put("reasonForIncompletion", workflow.getReasonForIncompletion());
-        workflowParams.put("schemaVersion", workflow.getWorkflowDefinition().getSchemaVersion());
-        workflowParams.put("variables", workflow.getVariables());
-
-        inputMap.put("workflow", workflowParams);
+        if (allNodes || referencedNodes.contains("workflow")) {
+            Map<String, Object> workflowParams = new HashMap<>();
+            workflowParams.put("input", workflow.getInput());
+            workflowParams.put("output", workflow.getOutput());
+            workflowParams.put("status", workflow.getStatus());
+            workflowParams.put("workflowId", workflow.getWorkflowId());
+            workflowParams.put("parentWorkflowId", workflow.getParentWorkflowId());
+            workflowParams.put("parentWorkflowTaskId", workflow.getParentWorkflowTaskId());
+            workflowParams.put("workflowType", workflow.getWorkflowName());
+            workflowParams.put("version", workflow.getWorkflowVersion());
+            workflowParams.put("correlationId", workflow.getCorrelationId());
+            workflowParams.put("reasonForIncompletion", workflow.getReasonForIncompletion());
+            workflowParams.put("schemaVersion", workflow.getWorkflowDefinition().getSchemaVersion());
+            workflowParams.put("variables", workflow.getVariables());
+
+            inputMap.put("workflow", workflowParams);
+        }
 
         //For new workflow being started the list of tasks will be empty
-        workflow.getTasks().stream()
-            .map(Task::getReferenceTaskName)
-            .map(workflow::getTaskByRefName)
-            .forEach(task -> {
-                Map<String, Object> taskParams = new HashMap<>();
-                taskParams.put("input", task.getInputData());
-                taskParams.put("output", task.getOutputData());
-                taskParams.put("taskType", task.getTaskType());
-                if (task.getStatus() != null) {
-                    taskParams.put("status", task.getStatus().toString());
-                }
-                taskParams.put("referenceTaskName", task.getReferenceTaskName());
-                taskParams.put("retryCount", task.getRetryCount());
-                taskParams.put("correlationId", task.getCorrelationId());
-                taskParams.put("pollCount", task.getPollCount());
-                taskParams.put("taskDefName", task.getTaskDefName());
-                taskParams.put("scheduledTime", task.getScheduledTime());
-                taskParams.put("startTime", task.getStartTime());
-                taskParams.put("endTime", task.getEndTime());
-                taskParams.put("workflowInstanceId", task.getWorkflowInstanceId());
-                taskParams.put("taskId", task.getTaskId());
-                taskParams.put("reasonForIncompletion", task.getReasonForIncompletion());
-                taskParams.put("callbackAfterSeconds", task.getCallbackAfterSeconds());
-                taskParams.put("workerId", task.getWorkerId());
-                inputMap.put(
-                    task.isLoopOverTask() ? TaskUtils.removeIterationFromTaskRefName(task.getReferenceTaskName())
-                        : task.getReferenceTaskName(), taskParams);
-            });
+        Map<String, Task> referencedTasks = new HashMap<>();
+        for (Task workflowTask : workflow.getTasks()) {
+            String taskRefName = workflowTask.isLoopOverTask()
+                ? TaskUtils.removeIterationFromTaskRefName(workflowTask.getReferenceTaskName())
+                : workflowTask.getReferenceTaskName();
+            if (allNodes || referencedNodes.contains(taskRefName)) {
+                referencedTasks.put(taskRefName, workflow.getTaskByRefName(workflowTask.getReferenceTaskName()));
+            }
+        }
+        referencedTasks.forEach((taskRefName, task) -> {
+            Map<String, Object> taskParams = new HashMap<>();
+            taskParams.put("input", task.getInputData());
+            taskParams.put("output", task.getOutputData());
+            taskParams.put("taskType", task.getTaskType());
+            if (task.getStatus() != null) {
+                taskParams.put("status", task.getStatus().toString());
+            }
+            taskParams.put("referenceTaskName", task.getReferenceTaskName());
+            taskParams.put("retryCount", task.getRetryCount());
+            taskParams.put("correlationId", task.getCorrelationId());
+            taskParams.put("pollCount", task.getPollCount());
+            taskParams.put("taskDefName", task.getTaskDefName());
+            taskParams.put("scheduledTime", task.getScheduledTime());
+            taskParams.put("startTime", task.getStartTime());
+            taskParams.put("endTime", task.getEndTime());
+            taskParams.put("workflowInstanceId", task.getWorkflowInstanceId());
+            taskParams.put("taskId", task.getTaskId());
+            taskParams.put("reasonForIncompletion", task.getReasonForIncompletion());
+            taskParams.put("callbackAfterSeconds", task.getCallbackAfterSeconds());
+            taskParams.put("workerId", task.getWorkerId());
+            inputMap.put(taskRefName, taskParams);
+        });
 
         Configuration option = Configuration.defaultConfiguration()
             .addOptions(Option.SUPPRESS_EXCEPTIONS);
@@ -133,16 +150,73 @@ public class ParametersUtils {
         return replacedTaskInput;
     }
 
-    // deep clone using json - POJO
+    /**
+     * Deep clones the maps and lists of the given input. Strings, numbers and booleans are immutable and shared with the
+     * input; any other value is converted to its JSON representation, as a JSON round trip of the whole input would.
+     */
     private Map<String, Object> clone(Map<String, Object> inputTemplate) {
         try {
-            byte[] bytes = objectMapper.writeValueAsBytes(inputTemplate);
-            return objectMapper.readValue(bytes, map);
-        } catch (IOException e) {
+            Map<String, Object> clone = new LinkedHashMap<>();
+            inputTemplate.forEach((key, value) -> clone.put(key, cloneValue(value)));
+            return clone;
+        } catch (IllegalArgumentException e) {
             throw new RuntimeException("Unable to clone input params", e);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private Object cloneValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof Map) {
+            Map<Object, Object> clone = new LinkedHashMap<>();
+            ((Map<Object, Object>) value).forEach((key, entry) -> clone.put(String.valueOf(key), cloneValue(entry)));
+            return clone;
+        } else if (value instanceof List) {
+            List<Object> clone = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(entry -> clone.add(cloneValue(entry)));
+            return clone;
+        }
+        return objectMapper.convertValue(value, Object.class);
+    }
+
+    /**
+     * Adds the root nodes (<code>workflow</code> or a task reference name) of the expressions in the given input to
+     * the given set.
+     *
+     * @return false if the root node of one of the expressions cannot be determined
+     */
+    @SuppressWarnings("unchecked")
+    private boolean collectReferencedNodes(Object value, Set<String> referencedNodes) {
+        if (value instanceof String) {
+            ParameterExpression expression = parseExpression((String) value);
+            if (expression.rootNodes == null) {
+                return false;
+            }
+            referencedNodes.addAll(expression.rootNodes);
+        } else if (value instanceof Map) {
+            for (Object entry : ((Map<String, Object>) value).values()) {
+                if (!collectReferencedNodes(entry, referencedNodes)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof List) {
+            for (Object entry : (List<?>) value) {
+                if (!collectReferencedNodes(entry, referencedNodes)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private ParameterExpression parseExpression(String paramString) {
+        if (!paramString.contains("${")) {
+            return ParameterExpression.LITERAL;
+        }
+        return expressionCache.getUnchecked(paramString);
+    }
+
     public Map<String, Object> replace(Map<String, Object> input, Object json) {
         Object doc;
         if (json instanceof String) {
@@ -203,12 +277,16 @@ public class ParametersUtils {
     }
 
     private Object replaceVariables(String paramString, DocumentContext documentContext, String taskId) {
-        String[] values = paramString.split("(?=(?<!\\$)\\$\\{)|(?<=\\})");
+        ParameterExpression expression = parseExpression(paramString);
+        if (expression == ParameterExpression.LITERAL) {
+            return paramString;
+        }
+        String[] values = expression.values;
         Object[] convertedValues = new Object[values.length];
         for (int i = 0; i < values.length; i++) {
             convertedValues[i] = values[i];
-            if (values[i].startsWith("${") && values[i].endsWith("}")) {
-                String paramPath = values[i].substring(2, values[i].length() - 1);
+            String paramPath = expression.paramPaths[i];
+            if (paramPath != null) {
                 if (EnvUtils.isEnvironmentVariable(paramPath)) {
                     String sysValue = EnvUtils.getSystemParametersValue(paramPath, taskId);
                     if (sysValue != null) {
@@ -217,7 +295,9 @@ public class ParametersUtils {
 
                 } else {
                     try {
-                        convertedValues[i] = documentContext.read(paramPath);
+                        JsonPath jsonPath = expression.jsonPaths[i];
+                        convertedValues[i] = jsonPath != null ? documentContext.read(jsonPath)
+                            : documentContext.read(paramPath);
                     }catch (Exception e) {
                         LOGGER.warn("Error reading documentContext for paramPath: {}. Exception: {}", paramPath, e);
                         convertedValues[i] = null;
@@ -288,4 +368,78 @@ public class ParametersUtils {
         }
         return inputParams;
     }
+
+    /**
+     * A parameter string split into literal parts and <code>${...}</code> placeholders, with the JSONPath of each
+     * placeholder compiled once.
+     */
+    private static class ParameterExpression {
+
+        private static final ParameterExpression LITERAL = new ParameterExpression(new String[0], new String[0],
+            new JsonPath[0], Collections.emptySet());
+
+        private final String[] values;
+        private final String[] paramPaths;
+        private final JsonPath[] jsonPaths;
+        private final Set<String> rootNodes;
+
+        private ParameterExpression(String[] values, String[] paramPaths, JsonPath[] jsonPaths,
+            Set<String> rootNodes) {
+            this.values = values;
+            this.paramPaths = paramPaths;
+            this.jsonPaths = jsonPaths;
+            this.rootNodes = rootNodes;
+        }
+
+        private static ParameterExpression parse(String paramString) {
+            String[] values = paramString.split("(?=(?<!\\$)\\$\\{)|(?<=\\})");
+            String[] paramPaths = new String[values.length];
+            JsonPath[] jsonPaths = new JsonPath[values.length];
+            Set<String> rootNodes = new HashSet<>();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].startsWith("${") && values[i].endsWith("}")) {
+                    String paramPath = values[i].substring(2, values[i].length() - 1);
+                    paramPaths[i] = paramPath;
+                    try {
+                        jsonPaths[i] = JsonPath.compile(paramPath);
+                    } catch (Exception e) {
+                        // left to documentContext.read, which reports the error when the expression is evaluated
+                    }
+                    String rootNode = rootNode(paramPath);
+                    if (rootNode == null) {
+                        rootNodes = null;
+                    } else if (rootNodes != null) {
+                        rootNodes.add(rootNode);
+                    }
+                }
+            }
+            return new ParameterExpression(values, paramPaths, jsonPaths, rootNodes);
+        }
+
+        /**
+         * @return the first property of the given path, e.g. <code>workflow</code> for <code>workflow.input.x</code>,
+         * or null if the path does not start with a plain property name
+         */
+        private static String rootNode(String paramPath) {
+            String path = paramPath.trim();
+            if (path.startsWith("$.")) {
+                path = path.substring(2);
+            } else if (path.startsWith("$[")) {
+                path = path.substring(1);
+            }
+            if (path.startsWith("['") || path.startsWith("[\"")) {
+                int end = path.indexOf(path.charAt(1), 2);
+                return end > 2 ? path.substring(2, end) : null;
+            }
+            int end = 0;
+            while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                end++;
+            }
+            String rootNode = path.substring(0, end);
+            if (rootNode.isEmpty() || rootNode.startsWith("$") || rootNode.startsWith("@") || rootNode.equals("*")) {
+                return null;
+            }
+            return rootNode;
+        }
+    }
 }
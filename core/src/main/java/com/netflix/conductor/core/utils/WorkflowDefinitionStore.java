@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores every distinct workflow definition once, under the hash of its content, so that persisted workflows can hold
+ * a reference to their definition instead of a copy of it.
+ * <p>
+ * A dereferenced workflow holds a stub definition with only the name and version, and the hash of the full definition
+ * in {@link Workflow#getWorkflowDefinitionHash()}. Hydrating it restores the definition, from a local cache unless
+ * the definition has not been seen by this instance yet. Workflows that embed their definition, including the ones
+ * persisted before references were enabled and the ones started with an ad-hoc definition while they were disabled, are
+ * left as they are.
+ * <p>
+ * Hydrated definitions are shared by all the workflows that reference them and must not be modified.
+ */
+public class WorkflowDefinitionStore {
+
+    /**
+     * The storage of the definitions, by the hash of their content.
+     */
+    public interface Storage {
+
+        /**
+         * @param hash the hash of the definition
+         * @return the definition document stored under the hash, or null if there is none
+         */
+        String get(String hash);
+
+        /**
+         * Stores the definition document under the hash, unless a document is already stored under it.
+         *
+         * @param hash     the hash of the definition
+         * @param document the definition document
+         */
+        void putIfAbsent(String hash, String document);
+    }
+
+    private static final int MAX_CACHED_DEFINITIONS = 1000;
+
+    private final DocumentCodec documentCodec;
+    private final Storage storage;
+    private final boolean enabled;
+
+    // the definitions known to be in the storage, by hash
+    private final Cache<String, WorkflowDef> definitions = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_DEFINITIONS)
+        .build();
+
+    // the hashes of the definitions this instance has stored or loaded, by identity of the definition
+    private final Cache<WorkflowDef, String> hashes = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+
+    /**
+     * @param documentCodec the codec of the definition documents
+     * @param storage       the storage of the definition documents
+     * @param enabled       whether workflows are dereferenced before they are persisted. Workflows are hydrated either
+     *                      way, so that references remain readable after they are disabled.
+     */
+    public WorkflowDefinitionStore(DocumentCodec documentCodec, Storage storage, boolean enabled) {
+        this.documentCodec = documentCodec;
+        this.storage = storage;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Replaces the definition of the workflow with a reference to it, storing the definition first if needed. Does
+     * nothing if references are disabled.
+     *
+     * @param workflow the workflow about to be persisted
+     * @return the definition of the workflow, to be passed to {@link #restore(Workflow, WorkflowDef)} once the workflow
+     * has been persisted
+     */
+    public WorkflowDef dereference(Workflow workflow) {
+        WorkflowDef definition = workflow.getWorkflowDefinition();
+        if (!enabled || definition == null) {
+            return definition;
+        }
+
+        String hash = hashes.getIfPresent(definition);
+        if (hash == null) {
+            String document = documentCodec.encode(definition);
+            hash = Hashing.sha256().hashString(document, StandardCharsets.UTF_8).toString();
+            if (definitions.getIfPresent(hash) == null) {
+                storage.putIfAbsent(hash, document);
+                definitions.put(hash, definition);
+            }
+            hashes.put(definition, hash);
+        }
+
+        WorkflowDef stub = new WorkflowDef();
+        stub.setName(definition.getName());
+        stub.setVersion(definition.getVersion());
+        workflow.setWorkflowDefinition(stub);
+        workflow.setWorkflowDefinitionHash(hash);
+        return definition;
+    }
+
+    /**
+     * @param workflow   a workflow passed to {@link #dereference(Workflow)}
+     * @param definition the definition returned by {@link #dereference(Workflow)}
+     */
+    public void restore(Workflow workflow, WorkflowDef definition) {
+        workflow.setWorkflowDefinition(definition);
+        workflow.setWorkflowDefinitionHash(null);
+    }
+
+    /**
+     * Replaces the reference to the definition of a workflow that has just been read with the definition.
+     *
+     * @param workflow the workflow, which may or may not reference its definition
+     * @return the workflow
+     * @throws ApplicationException if the referenced definition is not in the storage
+     */
+    public Workflow hydrate(Workflow workflow) {
+        String hash = workflow.getWorkflowDefinitionHash();
+        if (hash == null) {
+            return workflow;
+        }
+
+        WorkflowDef definition = definitions.getIfPresent(hash);
+        if (definition == null) {
+            String document = storage.get(hash);
+            if (document == null) {
+                throw new ApplicationException(Code.INTERNAL_ERROR,
+                    String.format("The definition %s of workflow %s does not exist", hash, workflow.getWorkflowId()));
+            }
+            definition = documentCodec.decode(document, WorkflowDef.class);
+            definitions.put(hash, definition);
+            hashes.put(definition, hash);
+        }
+
+        workflow.setWorkflowDefinition(definition);
+        workflow.setWorkflowDefinitionHash(null);
+        return workflow;
+    }
+}
@@ -55,6 +55,15 @@ public interface ExecutionDAO {
      */
     void updateTask(Task task);
 
+    /**
+     * Updates the given tasks. Implementations that can write several tasks in one round trip should override this.
+     *
+     * @param tasks Tasks to be updated
+     */
+    default void updateTasks(List<Task> tasks) {
+        tasks.forEach(this::updateTask);
+    }
+
     /**
      * Checks if the number of tasks in progress for the given taskDef will exceed the limit if the task is scheduled to
      * be in progress (given to the worker or for system tasks start() method called)
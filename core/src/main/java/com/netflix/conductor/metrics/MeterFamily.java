@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.metrics;
+
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * The meters of a metric, one for each tuple of tag values.
+ * <p>
+ * The meter of a tuple is resolved on its first use and cached, and is then looked up by the tag values alone, without
+ * building the tags of its id. Callers recording with fixed tag values can also hold the meter itself.
+ * <p>
+ * As with the tags of {@link Monitors}, a null tag value is recorded as "null" and a tag with an empty value is left
+ * out of the id.
+ *
+ * @param <M> the type of the meters
+ */
+public final class MeterFamily<M> {
+
+    private final Registry registry;
+    private final String name;
+    private final String className;
+    private final String[] tagKeys;
+    private final BiFunction<Registry, Id, M> meterFactory;
+    private final Node<M> root = new Node<>();
+
+    MeterFamily(Registry registry, String name, String className, String[] tagKeys,
+        BiFunction<Registry, Id, M> meterFactory) {
+        this.registry = registry;
+        this.name = name;
+        this.className = className;
+        this.tagKeys = tagKeys.clone();
+        this.meterFactory = meterFactory;
+    }
+
+    public M get() {
+        M meter = root.meter;
+        return meter != null ? meter : create(root, new String[0]);
+    }
+
+    public M get(String value) {
+        Node<M> node = root.child(value);
+        M meter = node.meter;
+        return meter != null ? meter : create(node, new String[]{value});
+    }
+
+    public M get(String value1, String value2) {
+        Node<M> node = root.child(value1).child(value2);
+        M meter = node.meter;
+        return meter != null ? meter : create(node, new String[]{value1, value2});
+    }
+
+    public M get(String value1, String value2, String value3) {
+        Node<M> node = root.child(value1).child(value2).child(value3);
+        M meter = node.meter;
+        return meter != null ? meter : create(node, new String[]{value1, value2, value3});
+    }
+
+    public M get(String value1, String value2, String value3, String value4) {
+        Node<M> node = root.child(value1).child(value2).child(value3).child(value4);
+        M meter = node.meter;
+        return meter != null ? meter : create(node, new String[]{value1, value2, value3, value4});
+    }
+
+    private synchronized M create(Node<M> node, String[] values) {
+        if (values.length != tagKeys.length) {
+            throw new IllegalArgumentException(String.format("Metric %s has %d tags, got %d values", name,
+                tagKeys.length, values.length));
+        }
+        if (node.meter == null) {
+            Id id = registry.createId(name).withTag("class", className);
+            for (int i = 0; i < tagKeys.length; i++) {
+                String value = String.valueOf(values[i]);
+                if (!value.isEmpty()) {
+                    id = id.withTag(tagKeys[i], value);
+                }
+            }
+            node.meter = meterFactory.apply(registry, id);
+        }
+        return node.meter;
+    }
+
+    private static class Node<M> {
+
+        private static final String NULL_VALUE = "null";
+
+        private final Map<String, Node<M>> children = new ConcurrentHashMap<>();
+        private volatile M meter;
+
+        Node<M> child(String value) {
+            String key = value != null ? value : NULL_VALUE;
+            Node<M> child = children.get(key);
+            return child != null ? child : children.computeIfAbsent(key, k -> new Node<>());
+        }
+    }
+}
@@ -41,11 +41,96 @@ public class Monitors {
 
     private static final Map<String, Map<Map<String, String>, Gauge>> gauges = new ConcurrentHashMap<>();
 
-    private static final Map<String, Map<Map<String, String>, DistributionSummary>> distributionSummaries =
-        new ConcurrentHashMap<>();
-
     public static final String classQualifier = "WorkflowMonitor";
 
+    // the meters recorded by the methods below, looked up without building their tags
+    private static final MeterFamily<Timer> TASK_QUEUE_WAIT = timerFamily("task_queue_wait", "taskType");
+    private static final MeterFamily<Timer> TASK_EXECUTION =
+        timerFamily("task_execution", "taskType", "includeRetries", "status");
+    private static final MeterFamily<Counter> TASK_POLL_ERROR =
+        counterFamily("task_poll_error", "taskType", "domain", "exception");
+    private static final MeterFamily<Counter> TASK_POLL = counterFamily("task_poll", "taskType");
+    private static final MeterFamily<Counter> TASK_POLL_COUNT = counterFamily("task_poll_count", "taskType", "domain");
+    private static final MeterFamily<Gauge> TASK_QUEUE_DEPTH = gaugeFamily("task_queue_depth", "taskType", "ownerApp");
+    private static final MeterFamily<Gauge> TASK_IN_PROGRESS = gaugeFamily("task_in_progress", "taskType", "ownerApp");
+    private static final MeterFamily<Gauge> WORKFLOW_RUNNING =
+        gaugeFamily("workflow_running", "workflowName", "version", "ownerApp");
+    private static final MeterFamily<DistributionSummary> TASKS_IN_WORKFLOW =
+        distributionSummaryFamily("tasks_in_workflow", "workflowName", "version");
+    private static final MeterFamily<Counter> TASK_TIMEOUT = counterFamily("task_timeout", "taskType");
+    private static final MeterFamily<Counter> TASK_RESPONSE_TIMEOUT =
+        counterFamily("task_response_timeout", "taskType");
+    private static final MeterFamily<Gauge> TASK_PENDING_TIME =
+        gaugeFamily("task_pending_time", "workflowName", "taskType");
+    private static final MeterFamily<Counter> WORKFLOW_FAILURE =
+        counterFamily("workflow_failure", "workflowName", "status", "ownerApp");
+    private static final MeterFamily<Counter> WORKFLOW_START_SUCCESS =
+        counterFamily("workflow_start_success", "workflowName", "version", "ownerApp");
+    private static final MeterFamily<Counter> WORKFLOW_START_ERROR =
+        counterFamily("workflow_start_error", "workflowName", "ownerApp");
+    private static final MeterFamily<Counter> TASK_UPDATE_CONFLICT_WORKFLOW_STATUS =
+        counterFamily("task_update_conflict", "workflowName", "taskType", "workflowStatus");
+    private static final MeterFamily<Counter> TASK_UPDATE_CONFLICT_TASK_STATUS =
+        counterFamily("task_update_conflict", "workflowName", "taskType", "taskStatus");
+    private static final MeterFamily<Counter> TASK_UPDATE_ERROR =
+        counterFamily("task_update_error", "workflowName", "taskType");
+    private static final MeterFamily<Counter> TASK_QUEUE_OP_ERROR =
+        counterFamily("task_queue_op_error", "workflowName", "taskType");
+    private static final MeterFamily<Timer> WORKFLOW_EXECUTION =
+        timerFamily("workflow_execution", "workflowName", "ownerApp");
+    private static final MeterFamily<Gauge> TASK_RATE_LIMITED = gaugeFamily("task_rate_limited", "taskType");
+    private static final MeterFamily<Gauge> TASK_CONCURRENT_EXECUTION_LIMITED =
+        gaugeFamily("task_concurrent_execution_limited", "taskType");
+    private static final MeterFamily<Counter> EVENT_QUEUE_MESSAGES_PROCESSED =
+        counterFamily("event_queue_messages_processed", "queueType", "queueName");
+    private static final MeterFamily<Counter> OBSERVABLE_QUEUE_ERROR =
+        counterFamily("observable_queue_error", "queueType");
+    private static final MeterFamily<Counter> EVENT_QUEUE_MESSAGES_HANDLED =
+        counterFamily("event_queue_messages_handled", "queueType", "queueName");
+    private static final MeterFamily<Counter> EVENT_QUEUE_MESSAGES_ERROR =
+        counterFamily("event_queue_messages_error", "queueType", "queueName");
+    private static final MeterFamily<Counter> EVENT_EXECUTION_SUCCESS =
+        counterFamily("event_execution_success", "event", "handler", "action");
+    private static final MeterFamily<Counter> EVENT_EXECUTION_ERROR =
+        counterFamily("event_execution_error", "event", "handler", "action", "exception");
+    private static final MeterFamily<Counter> EVENT_ACTION_ERROR =
+        counterFamily("event_action_error", "action", "entityName", "event");
+    private static final MeterFamily<Counter> DAO_REQUESTS =
+        counterFamily("dao_requests", "dao", "action", "taskType", "workflowType");
+    private static final MeterFamily<Counter> DAO_EVENT_REQUESTS =
+        counterFamily("dao_event_requests", "dao", "action", "event");
+    private static final MeterFamily<Counter> DAO_READS = counterFamily("dao_reads", "dao", "action", "target");
+    private static final MeterFamily<Counter> METADATA_CACHE_HIT = counterFamily("metadata_cache_hit", "cache");
+    private static final MeterFamily<Counter> METADATA_CACHE_MISS = counterFamily("metadata_cache_miss", "cache");
+    private static final MeterFamily<Counter> SCRIPT_CACHE_HIT = counterFamily("script_cache_hit");
+    private static final MeterFamily<Counter> SCRIPT_CACHE_MISS = counterFamily("script_cache_miss");
+    private static final MeterFamily<Timer> WORKFLOW_SWEEP = timerFamily("workflow_sweep");
+    private static final MeterFamily<Gauge> WORKFLOW_SWEEPS_IN_FLIGHT = gaugeFamily("workflow_sweeps_in_flight");
+    private static final MeterFamily<Gauge> DAO_PAYLOAD_SIZE = gaugeFamily("dao_payload_size", "dao", "action");
+    private static final MeterFamily<Gauge> DAO_PAYLOAD_SIZE_BY_TYPE =
+        gaugeFamily("dao_payload_size", "dao", "action", "taskType", "workflowType");
+    private static final MeterFamily<Counter> EXTERNAL_PAYLOAD_STORAGE_USAGE =
+        counterFamily("external_payload_storage_usage", "name", "operation", "payloadType");
+    private static final MeterFamily<Counter> DAO_ERRORS = counterFamily("dao_errors", "dao", "action");
+    private static final MeterFamily<Counter> TASK_ACK_ERROR = counterFamily("task_ack_error", "taskType");
+    private static final MeterFamily<Gauge> INDEXING_WORKER_QUEUE = gaugeFamily("indexing_worker_queue", "queueType");
+    private static final MeterFamily<Counter> DISCARDED_INDEX_COUNT =
+        counterFamily("discarded_index_count", "queueType");
+    private static final MeterFamily<Counter> ACQUIRE_LOCK_UNSUCCESSFUL = counterFamily("acquire_lock_unsuccessful");
+    private static final MeterFamily<Counter> ACQUIRE_LOCK_FAILURE =
+        counterFamily("acquire_lock_failure", "exceptionType");
+    private static final MeterFamily<Counter> WORKFLOW_ARCHIVED =
+        counterFamily("workflow_archived", "workflowName", "workflowStatus");
+    private static final MeterFamily<Gauge> WORKFLOW_ARCHIVAL_DELAY_QUEUE_SIZE =
+        gaugeFamily("workflow_archival_delay_queue_size");
+    private static final MeterFamily<Counter> DISCARDED_ARCHIVAL_COUNT = counterFamily("discarded_archival_count");
+    private static final MeterFamily<Counter> SYSTEM_TASK_WORKER_POLLING_LIMITED =
+        counterFamily("system_task_worker_polling_limited", "queueName");
+    private static final MeterFamily<Gauge> EVENT_QUEUE_POLL = gaugeFamily("event_queue_poll", "queueType");
+    private static final MeterFamily<Counter> QUEUE_MESSAGE_REPUSHED =
+        counterFamily("queue_message_repushed", "queueName");
+    private static final MeterFamily<Timer> EXECUTION_PHASE = timerFamily("execution_phase", "operation", "phase");
+
     private Monitors() {
     }
 
@@ -61,18 +146,6 @@ public class Monitors {
         return start(getTimer(className, name, additionalTags));
     }
 
-    /**
-     * Increment a counter that is used to measure the rate at which some event is occurring. Consider a simple queue,
-     * counters would be used to measure things like the rate at which items are being inserted and removed.
-     *
-     * @param className
-     * @param name
-     * @param additionalTags
-     */
-    private static void counter(String className, String name, String... additionalTags) {
-        getCounter(className, name, additionalTags).increment();
-    }
-
     /**
      * Set a gauge is a handle to get the current value. Typical examples for gauges would be the size of a queue or
      * number of threads in the running state. Since gauges are sampled, there is no information about what might have
@@ -87,18 +160,6 @@ public class Monitors {
         getGauge(className, name, additionalTags).set(measurement);
     }
 
-    /**
-     * Records a value for an event as a distribution summary. Unlike a gauge, this is sampled multiple times during a
-     * minute or everytime a new value is recorded.
-     *
-     * @param className
-     * @param name
-     * @param additionalTags
-     */
-    private static void distributionSummary(String className, String name, long value, String... additionalTags) {
-        getDistributionSummary(className, name, additionalTags).record(value);
-    }
-
     private static Timer getTimer(String className, String name, String... additionalTags) {
         Map<String, String> tags = toMap(className, additionalTags);
         return timers.computeIfAbsent(name, s -> new ConcurrentHashMap<>()).computeIfAbsent(tags, t -> {
@@ -125,13 +186,41 @@ public class Monitors {
         });
     }
 
-    private static DistributionSummary getDistributionSummary(String className, String name, String... additionalTags) {
-        Map<String, String> tags = toMap(className, additionalTags);
+    /**
+     * @param name    the name of the timers
+     * @param tagKeys the keys of the tags of the timers, in the order of the tag values passed to the family
+     * @return the percentile timers of the metric, one for each tuple of tag values
+     */
+    public static MeterFamily<Timer> timerFamily(String name, String... tagKeys) {
+        return new MeterFamily<>(registry, name, classQualifier, tagKeys, PercentileTimer::get);
+    }
 
-        return distributionSummaries.computeIfAbsent(name, s -> new ConcurrentHashMap<>()).computeIfAbsent(tags, t -> {
-            Id id = registry.createId(name, tags);
-            return registry.distributionSummary(id);
-        });
+    /**
+     * @param name    the name of the counters
+     * @param tagKeys the keys of the tags of the counters, in the order of the tag values passed to the family
+     * @return the counters of the metric, one for each tuple of tag values
+     */
+    public static MeterFamily<Counter> counterFamily(String name, String... tagKeys) {
+        return new MeterFamily<>(registry, name, classQualifier, tagKeys, Registry::counter);
+    }
+
+    /**
+     * @param name    the name of the gauges
+     * @param tagKeys the keys of the tags of the gauges, in the order of the tag values passed to the family
+     * @return the gauges of the metric, one for each tuple of tag values
+     */
+    public static MeterFamily<Gauge> gaugeFamily(String name, String... tagKeys) {
+        return new MeterFamily<>(registry, name, classQualifier, tagKeys, Registry::gauge);
+    }
+
+    /**
+     * @param name    the name of the distribution summaries
+     * @param tagKeys the keys of the tags of the distribution summaries, in the order of the tag values passed to the
+     *                family
+     * @return the distribution summaries of the metric, one for each tuple of tag values
+     */
+    public static MeterFamily<DistributionSummary> distributionSummaryFamily(String name, String... tagKeys) {
+        return new MeterFamily<>(registry, name, classQualifier, tagKeys, Registry::distributionSummary);
     }
 
     private static Map<String, String> toMap(String className, String... additionalTags) {
@@ -167,157 +256,178 @@ public class Monitors {
     }
 
     public static void recordQueueWaitTime(String taskType, long queueWaitTime) {
-        getTimer(classQualifier, "task_queue_wait", "taskType", taskType).record(queueWaitTime, TimeUnit.MILLISECONDS);
+        TASK_QUEUE_WAIT.get(taskType).record(queueWaitTime, TimeUnit.MILLISECONDS);
     }
 
     public static void recordTaskExecutionTime(String taskType, long duration, boolean includesRetries,
         Task.Status status) {
-        getTimer(classQualifier, "task_execution", "taskType", taskType, "includeRetries", "" + includesRetries,
-            "status", status.name()).record(duration, TimeUnit.MILLISECONDS);
+        TASK_EXECUTION.get(taskType, String.valueOf(includesRetries), status.name())
+            .record(duration, TimeUnit.MILLISECONDS);
     }
 
     public static void recordTaskPollError(String taskType, String domain, String exception) {
-        counter(classQualifier, "task_poll_error", "taskType", taskType, "domain", domain, "exception", exception);
+        TASK_POLL_ERROR.get(taskType, domain, exception).increment();
     }
 
     public static void recordTaskPoll(String taskType) {
-        counter(classQualifier, "task_poll", "taskType", taskType);
+        TASK_POLL.get(taskType).increment();
     }
 
     public static void recordTaskPollCount(String taskType, String domain, int count) {
-        getCounter(classQualifier, "task_poll_count", "taskType", taskType, "domain", domain).increment(count);
+        TASK_POLL_COUNT.get(taskType, domain).increment(count);
     }
 
     public static void recordQueueDepth(String taskType, long size, String ownerApp) {
-        gauge(classQualifier, "task_queue_depth", size, "taskType", taskType, "ownerApp", StringUtils.defaultIfBlank(ownerApp, "unknown"));
+        TASK_QUEUE_DEPTH.get(taskType, StringUtils.defaultIfBlank(ownerApp, "unknown")).set(size);
     }
 
     public static void recordTaskInProgress(String taskType, long size, String ownerApp) {
-        gauge(classQualifier, "task_in_progress", size, "taskType", taskType, "ownerApp", StringUtils.defaultIfBlank(ownerApp, "unknown"));
+        TASK_IN_PROGRESS.get(taskType, StringUtils.defaultIfBlank(ownerApp, "unknown")).set(size);
     }
 
     public static void recordRunningWorkflows(long count, String name, String version, String ownerApp) {
-        gauge(classQualifier, "workflow_running", count, "workflowName", name, "version", version, "ownerApp", StringUtils.defaultIfBlank(ownerApp, "unknown"));
+        WORKFLOW_RUNNING.get(name, version, StringUtils.defaultIfBlank(ownerApp, "unknown")).set(count);
     }
 
     public static void recordNumTasksInWorkflow(long count, String name, String version) {
-        distributionSummary(classQualifier, "tasks_in_workflow", count, "workflowName", name, "version", version);
+        TASKS_IN_WORKFLOW.get(name, version).record(count);
     }
 
     public static void recordTaskTimeout(String taskType) {
-        counter(classQualifier, "task_timeout", "taskType", taskType);
+        TASK_TIMEOUT.get(taskType).increment();
     }
 
     public static void recordTaskResponseTimeout(String taskType) {
-        counter(classQualifier, "task_response_timeout", "taskType", taskType);
+        TASK_RESPONSE_TIMEOUT.get(taskType).increment();
     }
 
     public static void recordTaskPendingTime(String taskType, String workflowType, long duration) {
-        gauge(classQualifier, "task_pending_time", duration, "workflowName", workflowType, "taskType", taskType);
+        TASK_PENDING_TIME.get(workflowType, taskType).set(duration);
     }
 
     public static void recordWorkflowTermination(String workflowType, WorkflowStatus status, String ownerApp) {
-        counter(classQualifier, "workflow_failure", "workflowName", workflowType, "status", status.name(), "ownerApp", StringUtils.defaultIfBlank(ownerApp, "unknown"));
+        WORKFLOW_FAILURE.get(workflowType, status.name(), StringUtils.defaultIfBlank(ownerApp, "unknown")).increment();
     }
 
     public static void recordWorkflowStartSuccess(String workflowType, String version, String ownerApp) {
-        counter(classQualifier, "workflow_start_success", "workflowName", workflowType, "version", version, "ownerApp", StringUtils.defaultIfBlank(ownerApp, "unknown"));
+        WORKFLOW_START_SUCCESS.get(workflowType, version, StringUtils.defaultIfBlank(ownerApp, "unknown")).increment();
     }
 
     public static void recordWorkflowStartError(String workflowType, String ownerApp) {
-        counter(classQualifier, "workflow_start_error", "workflowName", workflowType, "ownerApp", StringUtils.defaultIfBlank(ownerApp, "unknown"));
+        WORKFLOW_START_ERROR.get(workflowType, StringUtils.defaultIfBlank(ownerApp, "unknown")).increment();
     }
 
     public static void recordUpdateConflict(String taskType, String workflowType, WorkflowStatus status) {
-        counter(classQualifier, "task_update_conflict", "workflowName", workflowType, "taskType", taskType,
-            "workflowStatus", status.name());
+        TASK_UPDATE_CONFLICT_WORKFLOW_STATUS.get(workflowType, taskType, status.name()).increment();
     }
 
     public static void recordUpdateConflict(String taskType, String workflowType, Status status) {
-        counter(classQualifier, "task_update_conflict", "workflowName", workflowType, "taskType", taskType,
-            "taskStatus", status.name());
+        TASK_UPDATE_CONFLICT_TASK_STATUS.get(workflowType, taskType, status.name()).increment();
     }
 
     public static void recordTaskUpdateError(String taskType, String workflowType) {
-        counter(classQualifier, "task_update_error", "workflowName", workflowType, "taskType", taskType);
+        TASK_UPDATE_ERROR.get(workflowType, taskType).increment();
     }
 
     public static void recordTaskQueueOpError(String taskType, String workflowType) {
-        counter(classQualifier, "task_queue_op_error", "workflowName", workflowType, "taskType", taskType);
+        TASK_QUEUE_OP_ERROR.get(workflowType, taskType).increment();
     }
 
     public static void recordWorkflowCompletion(String workflowType, long duration, String ownerApp) {
-        getTimer(classQualifier, "workflow_execution", "workflowName", workflowType, "ownerApp", StringUtils.defaultIfBlank(ownerApp, "unknown"))
+        WORKFLOW_EXECUTION.get(workflowType, StringUtils.defaultIfBlank(ownerApp, "unknown"))
             .record(duration, TimeUnit.MILLISECONDS);
     }
 
     public static void recordTaskRateLimited(String taskDefName, int limit) {
-        gauge(classQualifier, "task_rate_limited", limit, "taskType", taskDefName);
+        TASK_RATE_LIMITED.get(taskDefName).set(limit);
     }
 
     public static void recordTaskConcurrentExecutionLimited(String taskDefName, int limit) {
-        gauge(classQualifier, "task_concurrent_execution_limited", limit, "taskType", taskDefName);
+        TASK_CONCURRENT_EXECUTION_LIMITED.get(taskDefName).set(limit);
     }
 
     public static void recordEventQueueMessagesProcessed(String queueType, String queueName, int count) {
-        getCounter(classQualifier, "event_queue_messages_processed", "queueType", queueType, "queueName", queueName)
-            .increment(count);
+        EVENT_QUEUE_MESSAGES_PROCESSED.get(queueType, queueName).increment(count);
     }
 
     public static void recordObservableQMessageReceivedErrors(String queueType) {
-        counter(classQualifier, "observable_queue_error", "queueType", queueType);
+        OBSERVABLE_QUEUE_ERROR.get(queueType).increment();
     }
 
     public static void recordEventQueueMessagesHandled(String queueType, String queueName) {
-        counter(classQualifier, "event_queue_messages_handled", "queueType", queueType, "queueName", queueName);
+        EVENT_QUEUE_MESSAGES_HANDLED.get(queueType, queueName).increment();
     }
 
     public static void recordEventQueueMessagesError(String queueType, String queueName) {
-        counter(classQualifier, "event_queue_messages_error", "queueType", queueType, "queueName", queueName);
+        EVENT_QUEUE_MESSAGES_ERROR.get(queueType, queueName).increment();
     }
 
     public static void recordEventExecutionSuccess(String event, String handler, String action) {
-        counter(classQualifier, "event_execution_success", "event", event, "handler", handler, "action", action);
+        EVENT_EXECUTION_SUCCESS.get(event, handler, action).increment();
     }
 
     public static void recordEventExecutionError(String event, String handler, String action, String exceptionClazz) {
-        counter(classQualifier, "event_execution_error", "event", event, "handler", handler, "action", action,
-            "exception", exceptionClazz);
+        EVENT_EXECUTION_ERROR.get(event, handler, action, exceptionClazz).increment();
     }
 
     public static void recordEventActionError(String action, String entityName, String event) {
-        counter(classQualifier, "event_action_error", "action", action, "entityName", entityName, "event", event);
+        EVENT_ACTION_ERROR.get(action, entityName, event).increment();
     }
 
     public static void recordDaoRequests(String dao, String action, String taskType, String workflowType) {
-        counter(classQualifier, "dao_requests", "dao", dao, "action", action, "taskType", taskType, "workflowType",
-            workflowType);
+        DAO_REQUESTS.get(dao, action, taskType, workflowType).increment();
     }
 
     public static void recordDaoEventRequests(String dao, String action, String event) {
-        counter(classQualifier, "dao_event_requests", "dao", dao, "action", action, "event", event);
+        DAO_EVENT_REQUESTS.get(dao, action, event).increment();
+    }
+
+    public static void recordDaoRead(String dao, String action, String target) {
+        DAO_READS.get(dao, action, target).increment();
+    }
+
+    public static void recordMetadataCacheHit(String cache) {
+        METADATA_CACHE_HIT.get(cache).increment();
+    }
+
+    public static void recordMetadataCacheMiss(String cache) {
+        METADATA_CACHE_MISS.get(cache).increment();
+    }
+
+    public static void recordScriptCacheHit() {
+        SCRIPT_CACHE_HIT.get().increment();
+    }
+
+    public static void recordScriptCacheMiss() {
+        SCRIPT_CACHE_MISS.get().increment();
+    }
+
+    public static void recordWorkflowSweepTime(long durationMs) {
+        WORKFLOW_SWEEP.get().record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static void recordWorkflowSweepsInFlight(int count) {
+        WORKFLOW_SWEEPS_IN_FLIGHT.get().set(count);
     }
 
     public static void recordDaoPayloadSize(String dao, String action, int size) {
-        gauge(classQualifier, "dao_payload_size", size, "dao", dao, "action", action);
+        DAO_PAYLOAD_SIZE.get(dao, action).set(size);
     }
 
     public static void recordDaoPayloadSize(String dao, String action, String taskType, String workflowType, int size) {
-        gauge(classQualifier, "dao_payload_size", size, "dao", dao, "action", action, "taskType", taskType,
-            "workflowType", workflowType);
+        DAO_PAYLOAD_SIZE_BY_TYPE.get(dao, action, taskType, workflowType).set(size);
     }
 
     public static void recordExternalPayloadStorageUsage(String name, String operation, String payloadType) {
-        counter(classQualifier, "external_payload_storage_usage", "name", name, "operation", operation, "payloadType",
-            payloadType);
+        EXTERNAL_PAYLOAD_STORAGE_USAGE.get(name, operation, payloadType).increment();
     }
 
     public static void recordDaoError(String dao, String action) {
-        counter(classQualifier, "dao_errors", "dao", dao, "action", action);
+        DAO_ERRORS.get(dao, action).increment();
     }
 
     public static void recordAckTaskError(String taskType) {
-        counter(classQualifier, "task_ack_error", "taskType", taskType);
+        TASK_ACK_ERROR.get(taskType).increment();
     }
 
     public static void recordESIndexTime(String action, String docType, long val) {
@@ -325,42 +435,46 @@ public class Monitors {
     }
 
     public static void recordWorkerQueueSize(String queueType, int val) {
-        gauge(Monitors.classQualifier, "indexing_worker_queue", val, "queueType", queueType);
+        INDEXING_WORKER_QUEUE.get(queueType).set(val);
     }
 
     public static void recordDiscardedIndexingCount(String queueType) {
-        counter(Monitors.classQualifier, "discarded_index_count", "queueType", queueType);
+        DISCARDED_INDEX_COUNT.get(queueType).increment();
     }
 
     public static void recordAcquireLockUnsuccessful() {
-        counter(classQualifier, "acquire_lock_unsuccessful");
+        ACQUIRE_LOCK_UNSUCCESSFUL.get().increment();
     }
 
     public static void recordAcquireLockFailure(String exceptionClassName) {
-        counter(classQualifier, "acquire_lock_failure", "exceptionType", exceptionClassName);
+        ACQUIRE_LOCK_FAILURE.get(exceptionClassName).increment();
     }
 
     public static void recordWorkflowArchived(String workflowType, WorkflowStatus status) {
-        counter(classQualifier, "workflow_archived", "workflowName", workflowType, "workflowStatus", status.name());
+        WORKFLOW_ARCHIVED.get(workflowType, status.name()).increment();
     }
 
     public static void recordArchivalDelayQueueSize(int val) {
-        gauge(classQualifier, "workflow_archival_delay_queue_size", val);
+        WORKFLOW_ARCHIVAL_DELAY_QUEUE_SIZE.get().set(val);
     }
 
     public static void recordDiscardedArchivalCount() {
-        counter(classQualifier, "discarded_archival_count");
+        DISCARDED_ARCHIVAL_COUNT.get().increment();
     }
 
     public static void recordSystemTaskWorkerPollingLimited(String queueName) {
-        counter(classQualifier, "system_task_worker_polling_limited", "queueName", queueName);
+        SYSTEM_TASK_WORKER_POLLING_LIMITED.get(queueName).increment();
     }
 
     public static void recordEventQueuePollSize(String queueType, int val) {
-        gauge(Monitors.classQualifier, "event_queue_poll", val, "queueType", queueType);
+        EVENT_QUEUE_POLL.get(queueType).set(val);
     }
 
     public static void recordQueueMessageRepushFromRepairService(String queueName) {
-        counter(classQualifier, "queue_message_repushed", "queueName", queueName);
+        QUEUE_MESSAGE_REPUSHED.get(queueName).increment();
+    }
+
+    public static void recordExecutionPhaseTime(String operation, String phase, long durationNanos) {
+        EXECUTION_PHASE.get(operation, phase).record(durationNanos, TimeUnit.NANOSECONDS);
     }
 }
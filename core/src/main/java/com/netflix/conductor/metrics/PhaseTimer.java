@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.metrics;
+
+/**
+ * Times the consecutive phases of an operation, e.g. a workflow decide or a task poll.
+ * <p>
+ * Each phase is recorded in the <code>execution_phase</code> percentile timer, tagged with the operation and the
+ * phase, and emitted as a JDK Flight Recorder event, which also carries the workflow type and the task count, when a
+ * recording is running.
+ * <p>
+ * A timer is used by the thread running the operation only.
+ */
+public final class PhaseTimer {
+
+    private final String operation;
+    private String workflowType;
+    private int taskCount;
+    private long phaseStartNanos;
+    private ExecutionPhaseEvent event;
+
+    private PhaseTimer(String operation) {
+        this.operation = operation;
+        startPhase();
+    }
+
+    /**
+     * @param operation the name of the operation
+     * @return a timer whose first phase has started
+     */
+    public static PhaseTimer start(String operation) {
+        return new PhaseTimer(operation);
+    }
+
+    public void setWorkflowType(String workflowType) {
+        this.workflowType = workflowType;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Records the running phase under the given name, and starts the next one.
+     *
+     * @param phase the name of the phase that ended
+     */
+    public void endPhase(String phase) {
+        Monitors.recordExecutionPhaseTime(operation, phase, System.nanoTime() - phaseStartNanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.phase = phase;
+            event.workflowType = workflowType;
+            event.taskCount = taskCount;
+            event.commit();
+        }
+        startPhase();
+    }
+
+    private void startPhase() {
+        phaseStartNanos = System.nanoTime();
+        event = new ExecutionPhaseEvent();
+        event.begin();
+    }
+}
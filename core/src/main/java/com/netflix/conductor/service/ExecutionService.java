@@ -38,6 +38,7 @@ import com.netflix.conductor.core.utils.QueueUtils;
 import com.netflix.conductor.core.utils.Utils;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
+import com.netflix.conductor.metrics.PhaseTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -51,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Trace
@@ -108,6 +110,7 @@ public class ExecutionService {
         }
         String queueName = QueueUtils.getQueueName(taskType, domain, null, null);
 
+        PhaseTimer phaseTimer = PhaseTimer.start("poll");
         List<String> taskIds = new LinkedList<>();
         List<Task> tasks = new LinkedList<>();
         try {
@@ -118,10 +121,41 @@ public class ExecutionService {
             Monitors.error(this.getClass().getCanonicalName(), "taskPoll");
             Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
         }
+        phaseTimer.setTaskCount(taskIds.size());
+        phaseTimer.endPhase("queue");
 
+        if (!taskIds.isEmpty()) {
+            tasks = hydrateAndStartTasks(queueName, taskIds, taskType, workerId, domain, phaseTimer);
+        }
+        executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
+        phaseTimer.endPhase("poll_data");
+        Monitors.recordTaskPoll(queueName);
+        return tasks;
+    }
+
+    /**
+     * Reads the popped tasks in one call, checks their limits and moves the tasks that can be given to the worker to
+     * IN_PROGRESS with one batched update.
+     */
+    private List<Task> hydrateAndStartTasks(String queueName, List<String> taskIds, String taskType, String workerId,
+        String domain, PhaseTimer phaseTimer) {
+        Map<String, Task> tasksById;
+        try {
+            tasksById = workflowExecutor.getTasks(taskIds).stream()
+                .collect(Collectors.toMap(Task::getTaskId, Function.identity(), (task1, task2) -> task1));
+            phaseTimer.endPhase("load");
+        } catch (Exception e) {
+            // db operation failed for dequeued messages, re-enqueue with a delay
+            LOGGER.warn("DB operation failed for tasks: {}, postponing tasks in queue", taskIds, e);
+            Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+            taskIds.forEach(taskId -> queueDAO.postpone(queueName, taskId, 0, queueTaskMessagePostponeSecs));
+            return new LinkedList<>();
+        }
+
+        List<Task> tasks = new LinkedList<>();
         for (String taskId : taskIds) {
+            Task task = tasksById.get(taskId);
             try {
-                Task task = getTask(taskId);
                 if (task == null || task.getStatus().isTerminal()) {
                     // Remove taskId(s) without a valid Task/terminal state task from the queue
                     queueDAO.remove(queueName, taskId);
@@ -154,7 +188,6 @@ public class ExecutionService {
                 task.setCallbackAfterSeconds(0);    // reset callbackAfterSeconds when giving the task to the worker
                 task.setWorkerId(workerId);
                 task.incrementPollCount();
-                executionDAOFacade.updateTask(task);
                 tasks.add(task);
             } catch (Exception e) {
                 // db operation failed for dequeued message, re-enqueue with a delay
@@ -163,8 +196,18 @@ public class ExecutionService {
                 queueDAO.postpone(queueName, taskId, 0, queueTaskMessagePostponeSecs);
             }
         }
-        executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
-        Monitors.recordTaskPoll(queueName);
+        phaseTimer.endPhase("limits");
+
+        try {
+            executionDAOFacade.updateTasks(tasks);
+            phaseTimer.endPhase("persist");
+        } catch (Exception e) {
+            // db operation failed for the polled tasks, re-enqueue with a delay
+            LOGGER.warn("DB operation failed for tasks: {}, postponing tasks in queue", tasks, e);
+            Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+            tasks.forEach(task -> queueDAO.postpone(queueName, task.getTaskId(), 0, queueTaskMessagePostponeSecs));
+            return new LinkedList<>();
+        }
         return tasks;
     }
 
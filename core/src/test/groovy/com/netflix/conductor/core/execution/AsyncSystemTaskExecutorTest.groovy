@@ -358,10 +358,11 @@ class AsyncSystemTaskExecutorTest extends Specification {
         then:
         1 * executionDAOFacade.getTaskById(taskId) >> task
         1 * executionDAOFacade.getWorkflowById(workflowId, true) >> workflow
-        1 * executionDAOFacade.updateTask(task) // 1st call for pollCount, 2nd call for status update
+        0 * executionDAOFacade.updateTask(task) // the execution did not change the task
 
         0 * workflowSystemTask.start(workflow, task, workflowExecutor)
-        1 * workflowSystemTask.execute(workflow, task, workflowExecutor)
+        1 * workflowSystemTask.execute(workflow, task, workflowExecutor) >> false
+        1 * queueDAO.postpone(QueueUtils.getQueueName(task), taskId, task.workflowPriority, 1)
 
         task.status == Task.Status.IN_PROGRESS
         task.endTime == 0 // verify that endTime is not set
@@ -382,7 +383,7 @@ class AsyncSystemTaskExecutorTest extends Specification {
         then:
         1 * executionDAOFacade.getTaskById(taskId) >> task
         1 * executionDAOFacade.getWorkflowById(workflowId, true) >> workflow
-        1 * executionDAOFacade.updateTask(task) // only one call since pollCount is not incremented
+        0 * executionDAOFacade.updateTask(task) // the execution did not change the task
 
         1 * workflowSystemTask.isAsyncComplete(task) >> true
         0 * workflowSystemTask.start(workflow, task, workflowExecutor)
@@ -393,4 +394,38 @@ class AsyncSystemTaskExecutorTest extends Specification {
         task.pollCount == 1 // verify that poll count is NOT incremented
     }
 
+    def "Execute with a task id that is in IN_PROGRESS state and whose result is applied during the execution"() {
+        given:
+        String workflowId = "workflowId"
+        String taskId = "taskId"
+        Task task = new Task(taskType: "type1", status: Task.Status.IN_PROGRESS, taskId: taskId, workflowInstanceId: workflowId,
+                taskDefName: "taskDefName", workflowPriority: 10)
+        Task completedTask = new Task(taskType: "type1", status: Task.Status.COMPLETED, taskId: taskId,
+                workflowInstanceId: workflowId, taskDefName: "taskDefName", workflowPriority: 10)
+        Workflow workflow = new Workflow(workflowId: workflowId, status: RUNNING)
+
+        when: "the task is re-polled while the response to its request is applied"
+        executor.execute(workflowSystemTask, taskId)
+
+        then:
+        1 * executionDAOFacade.getTaskById(taskId) >> task
+        1 * executionDAOFacade.getWorkflowById(workflowId, true) >> workflow
+        1 * workflowSystemTask.execute(workflow, task, workflowExecutor) >> false
+        0 * executionDAOFacade.updateTask(_)
+
+        when: "the task is re-polled past its deadline while the response to its request is applied"
+        executor.execute(workflowSystemTask, taskId)
+
+        then:
+        2 * executionDAOFacade.getTaskById(taskId) >>> [task, completedTask]
+        1 * executionDAOFacade.getWorkflowById(workflowId, true) >> workflow
+        1 * workflowSystemTask.execute(workflow, task, workflowExecutor) >> {
+            task.status = Task.Status.FAILED
+            true
+        }
+        0 * executionDAOFacade.updateTask(_)
+        0 * workflowExecutor.decide(workflowId)
+        0 * queueDAO.remove(_, _)
+    }
+
 }
@@ -1157,6 +1157,49 @@ public class TestDeciderService {
         }
     }
 
+    @Test
+    public void testGetDeciderQueueOffsetSeconds() {
+        Duration defaultOffset = Duration.ofSeconds(30);
+        long now = System.currentTimeMillis();
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("test");
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStartTime(now);
+
+        // no deadline
+        assertEquals(30, deciderService.getDeciderQueueOffsetSeconds(workflow, defaultOffset));
+
+        // workflow timeout
+        workflowDef.setTimeoutSeconds(3600);
+        assertEquals(3600, deciderService.getDeciderQueueOffsetSeconds(workflow, defaultOffset));
+
+        // response timeout of an in progress task
+        TaskDef taskDef = new TaskDef("test_task");
+        taskDef.setResponseTimeoutSeconds(600);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("test_task");
+        workflowTask.setTaskDefinition(taskDef);
+        Task task = new Task();
+        task.setTaskType(TaskType.TASK_TYPE_SIMPLE);
+        task.setWorkflowTask(workflowTask);
+        task.setStatus(Status.IN_PROGRESS);
+        task.setStartTime(now);
+        task.setUpdateTime(now);
+        workflow.getTasks().add(task);
+        long offset = deciderService.getDeciderQueueOffsetSeconds(workflow, defaultOffset);
+        assertTrue(offset > 590 && offset <= 600);
+
+        // expired deadlines are ignored
+        task.setUpdateTime(now - 700_000);
+        assertEquals(3600, deciderService.getDeciderQueueOffsetSeconds(workflow, defaultOffset), 1);
+
+        // a scheduled task is checked again after the default offset
+        task.setStatus(Status.SCHEDULED);
+        assertEquals(30, deciderService.getDeciderQueueOffsetSeconds(workflow, defaultOffset));
+    }
+
     @Test
     public void testCheckForWorkflowCompletion() {
         WorkflowDef conditionalWorkflowDef = createConditionalWF();
@@ -19,6 +19,7 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
 import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
@@ -110,6 +111,7 @@ import static com.netflix.conductor.common.run.Workflow.WorkflowStatus.COMPLETED
 import static com.netflix.conductor.common.run.Workflow.WorkflowStatus.PAUSED;
 import static com.netflix.conductor.common.run.Workflow.WorkflowStatus.RUNNING;
 import static com.netflix.conductor.core.exception.ApplicationException.Code.CONFLICT;
+import static com.netflix.conductor.core.execution.WorkflowExecutor.DECIDER_QUEUE;
 import static java.util.Comparator.comparingInt;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
@@ -1652,6 +1654,75 @@ public class TestWorkflowExecutor {
         verify(queueDAO, times(1)).push(anyString(), anyString(), anyInt(), anyLong());
     }
 
+    @Test
+    public void testUpdateTaskExpeditesWorkflowLockedByAnotherDecision() {
+        Workflow workflow = generateSampleWorkflow();
+        workflow.setStatus(RUNNING);
+        workflow.setPriority(5);
+        Task task = new Task();
+        task.setTaskId("taskId");
+        task.setTaskType(SIMPLE.name());
+        task.setTaskDefName("task1");
+        task.setReferenceTaskName("task1_ref");
+        task.setWorkflowInstanceId(workflow.getWorkflowId());
+        task.setStatus(Status.IN_PROGRESS);
+        when(executionDAOFacade.getWorkflowById(workflow.getWorkflowId(), true)).thenReturn(workflow);
+        when(executionDAOFacade.getTaskById("taskId")).thenReturn(task);
+        when(executionLockService.acquireLock(workflow.getWorkflowId())).thenReturn(false);
+
+        TaskResult taskResult = new TaskResult();
+        taskResult.setWorkflowInstanceId(workflow.getWorkflowId());
+        taskResult.setTaskId("taskId");
+        taskResult.setStatus(TaskResult.Status.COMPLETED);
+        workflowExecutor.updateTask(taskResult);
+
+        verify(executionDAOFacade).updateTask(task);
+        verify(queueDAO).push(DECIDER_QUEUE, workflow.getWorkflowId(), 5, 0);
+    }
+
+    @Test
+    public void testDecideRequeuesWorkflowWhenTaskChangedWhileLocked() {
+        TaskDef taskDef = new TaskDef("task1");
+        taskDef.setResponseTimeoutSeconds(3600);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task1");
+        workflowTask.setTaskReferenceName("task1_ref");
+        workflowTask.setType(SIMPLE.name());
+        workflowTask.setTaskDefinition(taskDef);
+        Workflow workflow = generateSampleWorkflow();
+        workflow.getWorkflowDefinition().getTasks().add(workflowTask);
+        workflow.setStatus(RUNNING);
+        workflow.setStartTime(System.currentTimeMillis());
+
+        Task task = new Task();
+        task.setTaskId("taskId");
+        task.setTaskType(SIMPLE.name());
+        task.setTaskDefName("task1");
+        task.setReferenceTaskName("task1_ref");
+        task.setWorkflowInstanceId(workflow.getWorkflowId());
+        task.setStatus(Status.IN_PROGRESS);
+        task.setStartTime(System.currentTimeMillis());
+        task.setUpdateTime(System.currentTimeMillis());
+        workflow.getTasks().add(task);
+
+        // the task is completed by another server while the workflow is decided
+        Task completedTask = task.copy();
+        completedTask.setStatus(Status.COMPLETED);
+        when(executionLockService.acquireLock(workflow.getWorkflowId())).thenReturn(true);
+        when(executionDAOFacade.getWorkflowById(workflow.getWorkflowId(), true)).thenReturn(workflow);
+        when(executionDAOFacade.getTasksForWorkflow(workflow.getWorkflowId()))
+            .thenReturn(Collections.singletonList(completedTask));
+
+        List<Optional<Long>> requeued = new ArrayList<>();
+        Optional<Long> offset = workflowExecutor.decideWithOffset(workflow.getWorkflowId(), requeued::add);
+
+        assertEquals(1, requeued.size());
+        assertTrue(requeued.get(0).orElseThrow() > 30);
+        assertEquals(Optional.of(0L), offset);
+        verify(queueDAO).push(DECIDER_QUEUE, workflow.getWorkflowId(), 0, 0);
+        verify(executionLockService).releaseLock(workflow.getWorkflowId());
+    }
+
     private Workflow generateSampleWorkflow() {
         //setup
         Workflow workflow = new Workflow();
@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution.tasks;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestSystemTaskResultUpdater {
+
+    private WorkflowExecutor workflowExecutor;
+    private SystemTaskResultUpdater taskResultUpdater;
+
+    @Before
+    public void setUp() {
+        workflowExecutor = mock(WorkflowExecutor.class);
+        ConductorProperties properties = new ConductorProperties();
+        properties.setSystemTaskResultUpdateTimeout(Duration.ofSeconds(1));
+        taskResultUpdater = new SystemTaskResultUpdater(properties);
+    }
+
+    @After
+    public void tearDown() {
+        taskResultUpdater.shutdown();
+    }
+
+    @Test
+    public void testUpdateWaitsForTheStartOfTheTask() throws Exception {
+        Task task = newTask(Task.Status.SCHEDULED);
+        Task startedTask = newTask(Task.Status.IN_PROGRESS);
+        when(workflowExecutor.getTask(task.getTaskId())).thenReturn(task, task, startedTask);
+
+        taskResultUpdater.update(workflowExecutor, newTaskResult(task)).get(5, TimeUnit.SECONDS);
+
+        verify(workflowExecutor, times(3)).getTask(task.getTaskId());
+        verify(workflowExecutor).updateTask(any());
+    }
+
+    @Test
+    public void testUpdateIsGivenUpWhileTheTaskIsScheduled() throws Exception {
+        Task task = newTask(Task.Status.SCHEDULED);
+        when(workflowExecutor.getTask(task.getTaskId())).thenReturn(task);
+
+        CompletableFuture<Void> future = taskResultUpdater.update(workflowExecutor, newTaskResult(task));
+
+        assertFailed(future, IllegalStateException.class);
+        verify(workflowExecutor, never()).updateTask(any());
+    }
+
+    @Test
+    public void testFailedUpdateIsRetried() throws Exception {
+        Task task = newTask(Task.Status.IN_PROGRESS);
+        when(workflowExecutor.getTask(task.getTaskId())).thenReturn(task);
+        doThrow(new ApplicationException(ApplicationException.Code.BACKEND_ERROR, "unavailable"))
+            .doNothing()
+            .when(workflowExecutor).updateTask(any());
+
+        taskResultUpdater.update(workflowExecutor, newTaskResult(task)).get(5, TimeUnit.SECONDS);
+
+        verify(workflowExecutor, times(2)).updateTask(any());
+    }
+
+    @Test
+    public void testUpdateFailsOnNonRetryableError() throws Exception {
+        Task task = newTask(Task.Status.IN_PROGRESS);
+        when(workflowExecutor.getTask(task.getTaskId())).thenReturn(task);
+        doThrow(new ApplicationException(ApplicationException.Code.NOT_FOUND, "not found"))
+            .when(workflowExecutor).updateTask(any());
+
+        CompletableFuture<Void> future = taskResultUpdater.update(workflowExecutor, newTaskResult(task));
+
+        assertFailed(future, ApplicationException.class);
+        verify(workflowExecutor, times(1)).updateTask(any());
+    }
+
+    private static void assertFailed(CompletableFuture<Void> future, Class<? extends Exception> cause)
+        throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("the update should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(cause.isInstance(e.getCause()));
+        }
+    }
+
+    private static Task newTask(Task.Status status) {
+        Task task = new Task();
+        task.setTaskId("taskId");
+        task.setWorkflowInstanceId("workflowId");
+        task.setStatus(status);
+        return task;
+    }
+
+    private static TaskResult newTaskResult(Task task) {
+        TaskResult taskResult = new TaskResult(task);
+        taskResult.setStatus(TaskResult.Status.COMPLETED);
+        return taskResult;
+    }
+}
@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -60,6 +62,8 @@ public class TestSystemTaskWorker {
         when(properties.getSystemTaskWorkerCallbackDuration()).thenReturn(Duration.ofSeconds(30));
         when(properties.getSystemTaskMaxPollCount()).thenReturn(1);
         when(properties.getSystemTaskWorkerPollInterval()).thenReturn(Duration.ofSeconds(30));
+        when(properties.getSystemTaskWorkerMaxPollBackoff()).thenReturn(Duration.ofSeconds(30));
+        when(properties.getSystemTaskQueuePollerThreadCount()).thenReturn(1);
 
         systemTaskWorker = new SystemTaskWorker(queueDAO, asyncSystemTaskExecutor, properties, executionService);
         systemTaskWorker.start();
@@ -161,6 +165,23 @@ public class TestSystemTaskWorker {
         verify(asyncSystemTaskExecutor, Mockito.never()).execute(any(), anyString());
     }
 
+    @Test
+    public void testPollEmptyQueueIsBackedOff() {
+        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+
+        assertTrue(systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK));
+
+        verify(queueDAO).pop(TEST_TASK, 1, 0);
+        verify(asyncSystemTaskExecutor, Mockito.never()).execute(any(), anyString());
+    }
+
+    @Test
+    public void testPollNonEmptyQueueIsNotBackedOff() {
+        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenReturn(Collections.singletonList("taskId"));
+
+        assertFalse(systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK));
+    }
+
     static class TestTask extends WorkflowSystemTask {
         public TestTask() {
             super(TEST_TASK);
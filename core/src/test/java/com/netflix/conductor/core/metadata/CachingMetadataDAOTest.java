@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.MetadataDAO;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.netflix.conductor.core.metadata.CachingMetadataDAO.WORKFLOW_DEF_CACHE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class CachingMetadataDAOTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MetadataDAO metadataDAO;
+    private MetadataCacheInvalidationChannel invalidationChannel;
+    private CachingMetadataDAO cachingMetadataDAO;
+
+    @Before
+    public void setUp() {
+        metadataDAO = mock(MetadataDAO.class);
+        invalidationChannel = mock(MetadataCacheInvalidationChannel.class);
+        cachingMetadataDAO = new CachingMetadataDAO(metadataDAO, objectMapper, new ConductorProperties(),
+            MoreExecutors.directExecutor(), invalidationChannel);
+    }
+
+    @Test
+    public void testWorkflowDefIsCached() {
+        WorkflowDef workflowDef = createWorkflowDef("workflow", 2);
+        when(metadataDAO.getLatestWorkflowDef("workflow")).thenReturn(Optional.of(workflowDef));
+        when(metadataDAO.getWorkflowDef("workflow", 2)).thenReturn(Optional.of(workflowDef));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(workflowDef, cachingMetadataDAO.getLatestWorkflowDef("workflow").orElseThrow());
+            assertEquals(workflowDef, cachingMetadataDAO.getWorkflowDef("workflow", 2).orElseThrow());
+        }
+
+        verify(metadataDAO, times(1)).getLatestWorkflowDef("workflow");
+        verify(metadataDAO, times(1)).getWorkflowDef("workflow", 2);
+        assertNotSame(workflowDef, cachingMetadataDAO.getLatestWorkflowDef("workflow").orElseThrow());
+    }
+
+    @Test
+    public void testWorkflowDefWriteInvalidatesCache() {
+        WorkflowDef version1 = createWorkflowDef("workflow", 1);
+        WorkflowDef version2 = createWorkflowDef("workflow", 2);
+        when(metadataDAO.getLatestWorkflowDef("workflow")).thenReturn(Optional.of(version1), Optional.of(version2));
+        when(metadataDAO.getWorkflowDef("workflow", 1)).thenReturn(Optional.of(version1));
+
+        assertEquals(1, cachingMetadataDAO.getLatestWorkflowDef("workflow").orElseThrow().getVersion());
+        cachingMetadataDAO.getWorkflowDef("workflow", 1);
+
+        cachingMetadataDAO.createWorkflowDef(version2);
+
+        verify(metadataDAO).createWorkflowDef(version2);
+        verify(invalidationChannel).publish(WORKFLOW_DEF_CACHE, "workflow");
+        assertEquals(2, cachingMetadataDAO.getLatestWorkflowDef("workflow").orElseThrow().getVersion());
+        cachingMetadataDAO.getWorkflowDef("workflow", 1);
+        verify(metadataDAO, times(2)).getWorkflowDef("workflow", 1);
+    }
+
+    @Test
+    public void testRemoteInvalidation() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationChannel).subscribe(eq(WORKFLOW_DEF_CACHE), listener.capture());
+        when(metadataDAO.getLatestWorkflowDef("workflow")).thenReturn(Optional.of(createWorkflowDef("workflow", 1)));
+
+        cachingMetadataDAO.getLatestWorkflowDef("workflow");
+        cachingMetadataDAO.getLatestWorkflowDef("workflow");
+        listener.getValue().accept("workflow");
+        cachingMetadataDAO.getLatestWorkflowDef("workflow");
+
+        verify(metadataDAO, times(2)).getLatestWorkflowDef("workflow");
+    }
+
+    @Test
+    public void testMissingWorkflowDefIsNotCached() {
+        WorkflowDef workflowDef = createWorkflowDef("workflow", 1);
+        when(metadataDAO.getLatestWorkflowDef("workflow")).thenReturn(Optional.empty(), Optional.of(workflowDef));
+        when(metadataDAO.getWorkflowDef("workflow", 1)).thenReturn(Optional.empty(), Optional.of(workflowDef));
+
+        assertFalse(cachingMetadataDAO.getLatestWorkflowDef("workflow").isPresent());
+        assertFalse(cachingMetadataDAO.getWorkflowDef("workflow", 1).isPresent());
+        assertEquals(workflowDef, cachingMetadataDAO.getLatestWorkflowDef("workflow").orElseThrow());
+        assertEquals(workflowDef, cachingMetadataDAO.getWorkflowDef("workflow", 1).orElseThrow());
+        cachingMetadataDAO.getLatestWorkflowDef("workflow");
+        cachingMetadataDAO.getWorkflowDef("workflow", 1);
+
+        verify(metadataDAO, times(2)).getLatestWorkflowDef("workflow");
+        verify(metadataDAO, times(2)).getWorkflowDef("workflow", 1);
+    }
+
+    private WorkflowDef createWorkflowDef(String name, int version) {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName(name);
+        workflowDef.setVersion(version);
+        return workflowDef;
+    }
+}
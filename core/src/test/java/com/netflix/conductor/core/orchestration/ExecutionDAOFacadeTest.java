@@ -15,6 +15,7 @@ package com.netflix.conductor.core.orchestration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
@@ -34,6 +35,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -58,6 +60,7 @@ public class ExecutionDAOFacadeTest {
 
     private ExecutionDAO executionDAO;
     private IndexDAO indexDAO;
+    private PollDataDAO pollDataDAO;
     private ExecutionDAOFacade executionDAOFacade;
 
     @Autowired
@@ -69,10 +72,11 @@ public class ExecutionDAOFacadeTest {
         QueueDAO queueDAO = mock(QueueDAO.class);
         indexDAO = mock(IndexDAO.class);
         RateLimitingDAO rateLimitingDao = mock(RateLimitingDAO.class);
-        PollDataDAO pollDataDAO = mock(PollDataDAO.class);
+        pollDataDAO = mock(PollDataDAO.class);
         ConductorProperties properties = mock(ConductorProperties.class);
         when(properties.isEventExecutionIndexingEnabled()).thenReturn(true);
         when(properties.isAsyncIndexingEnabled()).thenReturn(true);
+        when(properties.getPollDataFlushInterval()).thenReturn(Duration.ofHours(1));
         executionDAOFacade = new ExecutionDAOFacade(executionDAO, queueDAO, indexDAO, rateLimitingDao, pollDataDAO,
             objectMapper, properties);
     }
@@ -150,4 +154,24 @@ public class ExecutionDAOFacadeTest {
         assertTrue(added);
         verify(indexDAO, times(1)).asyncAddEventExecution(any());
     }
+
+    @Test
+    public void testUpdateTaskLastPoll() {
+        executionDAOFacade.updateTaskLastPoll("task1", "domain1", "worker1");
+        executionDAOFacade.updateTaskLastPoll("task1", "domain1", "worker2");
+        verify(pollDataDAO, never()).updateLastPollData(any(), any(), any());
+
+        PollData pollData = executionDAOFacade.getTaskPollDataByDomain("task1", "domain1");
+        assertNotNull(pollData);
+        assertEquals("worker2", pollData.getWorkerId());
+
+        PollData storedPollData = new PollData("task1", "domain2", "worker3", 1);
+        when(pollDataDAO.getPollData("task1")).thenReturn(Collections.singletonList(storedPollData));
+        assertEquals(2, executionDAOFacade.getTaskPollData("task1").size());
+
+        executionDAOFacade.flushPollData();
+        verify(pollDataDAO, times(1)).updateLastPollData("task1", "domain1", "worker2");
+        executionDAOFacade.flushPollData();
+        verify(pollDataDAO, times(1)).updateLastPollData(any(), any(), any());
+    }
 }
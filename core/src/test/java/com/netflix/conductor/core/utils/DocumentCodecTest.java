@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.utils.DocumentCodec.Format;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class DocumentCodecTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Task task;
+
+    @Before
+    public void setUp() {
+        Map<String, Object> outputData = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            outputData.put("key_" + i, "a repetitive value of the output data of the task");
+        }
+        task = new Task();
+        task.setTaskId("task-1");
+        task.setTaskType("SIMPLE");
+        task.setStatus(Task.Status.COMPLETED);
+        task.setOutputData(outputData);
+    }
+
+    @Test
+    public void testJsonIsWrittenAsBefore() throws Exception {
+        String document = new DocumentCodec(objectMapper).encode(task);
+
+        assertFalse(DocumentCodec.isEncoded(document));
+        assertEquals(objectMapper.writeValueAsString(task), document);
+    }
+
+    @Test
+    public void testSmile() {
+        DocumentCodec codec = new DocumentCodec(objectMapper, Format.SMILE, -1);
+        String document = codec.encode(task);
+
+        assertTrue(DocumentCodec.isEncoded(document));
+        assertEquals(task, codec.decode(document, Task.class));
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        String json = objectMapper.writeValueAsString(task);
+        for (Format format : Format.values()) {
+            DocumentCodec codec = new DocumentCodec(objectMapper, format, 1024);
+            String document = codec.encode(task);
+
+            assertTrue(DocumentCodec.isEncoded(document));
+            assertTrue(document.length() < json.length() / 4);
+            assertEquals(task, codec.decode(document, Task.class));
+        }
+    }
+
+    @Test
+    public void testSmallDocumentsAreNotCompressed() {
+        DocumentCodec codec = new DocumentCodec(objectMapper, Format.JSON, 1024);
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("workflow");
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflow-1");
+        workflow.setWorkflowDefinition(workflowDef);
+
+        String document = codec.encode(workflow);
+
+        assertFalse(DocumentCodec.isEncoded(document));
+        assertEquals(workflow, codec.decode(document, Workflow.class));
+    }
+
+    @Test
+    public void testDocumentsOfAnyCodecAreRead() {
+        DocumentCodec jsonCodec = new DocumentCodec(objectMapper);
+        DocumentCodec compressingSmileCodec = new DocumentCodec(objectMapper, Format.SMILE, 0);
+
+        assertEquals(task, compressingSmileCodec.decode(jsonCodec.encode(task), Task.class));
+        assertEquals(task, jsonCodec.decode(compressingSmileCodec.encode(task), Task.class));
+    }
+}
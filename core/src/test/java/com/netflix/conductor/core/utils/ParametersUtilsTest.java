@@ -15,7 +15,9 @@ package com.netflix.conductor.core.utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.Workflow;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -310,4 +312,44 @@ public class ParametersUtilsTest {
         Map<String, Object> workflowInput = parametersUtils.getWorkflowInput(workflowDef, inputParams);
         assertEquals("supplied_value", workflowInput.get(keyName));
     }
+
+    @Test
+    public void testGetTaskInputV2ResolvesReferencedTasks() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setSchemaVersion(2);
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setInput(Map.of("requestId", "r1"));
+
+        Task task1 = new Task();
+        task1.setReferenceTaskName("task_1");
+        task1.setOutputData(Map.of("value", "first"));
+        Task retriedTask1 = new Task();
+        retriedTask1.setReferenceTaskName("task_1");
+        retriedTask1.setOutputData(Map.of("value", "second"));
+        Task task2 = new Task();
+        task2.setReferenceTaskName("task-2");
+        task2.setOutputData(Map.of("value", "third"));
+        workflow.getTasks().addAll(List.of(task1, retriedTask1, task2));
+
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("list", new ArrayList<>(List.of("${workflow.workflowId}", 1)));
+        Map<String, Object> input = new HashMap<>();
+        input.put("k1", "${task_1.output.value}");
+        input.put("k2", "${['task-2'].output.value}");
+        input.put("k3", "${workflow.input.requestId}-${task_1.output.value}");
+        input.put("k4", nested);
+        input.put("k5", "${unknown.output.value}");
+
+        Map<String, Object> taskInput = parametersUtils.getTaskInputV2(input, workflow, "taskId", null);
+        assertEquals("second", taskInput.get("k1"));
+        assertEquals("third", taskInput.get("k2"));
+        assertEquals("r1-second", taskInput.get("k3"));
+        assertEquals(List.of("workflowId", 1), ((Map) taskInput.get("k4")).get("list"));
+        assertNull(taskInput.get("k5"));
+
+        // the input itself is left untouched
+        assertEquals("${workflow.workflowId}", ((List) nested.get("list")).get(0));
+    }
 }
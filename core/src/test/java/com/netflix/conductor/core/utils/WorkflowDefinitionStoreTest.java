@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.exception.ApplicationException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class WorkflowDefinitionStoreTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private DocumentCodec documentCodec;
+    private InMemoryStorage storage;
+    private WorkflowDef workflowDef;
+
+    @Before
+    public void setUp() {
+        documentCodec = new DocumentCodec(objectMapper);
+        storage = new InMemoryStorage();
+
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task_1");
+        workflowTask.setTaskReferenceName("task_1_ref");
+        workflowDef = new WorkflowDef();
+        workflowDef.setName("workflow");
+        workflowDef.setVersion(2);
+        workflowDef.getTasks().add(workflowTask);
+    }
+
+    @Test
+    public void testDereferenceAndHydrate() {
+        WorkflowDefinitionStore store = new WorkflowDefinitionStore(documentCodec, storage, true);
+        Workflow workflow = newWorkflow("workflow-1");
+
+        WorkflowDef definition = store.dereference(workflow);
+        assertSame(workflowDef, definition);
+        assertNotNull(workflow.getWorkflowDefinitionHash());
+        assertEquals("workflow", workflow.getWorkflowName());
+        assertEquals(2, workflow.getWorkflowVersion());
+        assertTrue(workflow.getWorkflowDefinition().getTasks().isEmpty());
+
+        Workflow persisted = documentCodec.decode(documentCodec.encode(workflow), Workflow.class);
+        store.restore(workflow, definition);
+        assertSame(workflowDef, workflow.getWorkflowDefinition());
+        assertNull(workflow.getWorkflowDefinitionHash());
+
+        // a fresh store has to load the definition from the storage
+        Workflow hydrated = new WorkflowDefinitionStore(documentCodec, storage, true).hydrate(persisted);
+        assertNull(hydrated.getWorkflowDefinitionHash());
+        assertEquals(workflowDef, hydrated.getWorkflowDefinition());
+    }
+
+    @Test
+    public void testDefinitionIsStoredOnce() {
+        WorkflowDefinitionStore store = new WorkflowDefinitionStore(documentCodec, storage, true);
+        Workflow workflow1 = newWorkflow("workflow-1");
+        Workflow workflow2 = newWorkflow("workflow-2");
+
+        store.dereference(workflow1);
+        store.dereference(workflow2);
+        assertEquals(workflow1.getWorkflowDefinitionHash(), workflow2.getWorkflowDefinitionHash());
+        assertEquals(1, storage.documents.size());
+        assertEquals(1, storage.puts);
+
+        WorkflowDef changedDef = new WorkflowDef();
+        changedDef.setName("workflow");
+        changedDef.setVersion(3);
+        Workflow workflow3 = newWorkflow("workflow-3");
+        workflow3.setWorkflowDefinition(changedDef);
+        store.dereference(workflow3);
+        assertEquals(2, storage.documents.size());
+    }
+
+    @Test
+    public void testDisabled() {
+        WorkflowDefinitionStore store = new WorkflowDefinitionStore(documentCodec, storage, false);
+        Workflow workflow = newWorkflow("workflow-1");
+
+        assertSame(workflowDef, store.dereference(workflow));
+        assertSame(workflowDef, workflow.getWorkflowDefinition());
+        assertNull(workflow.getWorkflowDefinitionHash());
+        assertTrue(storage.documents.isEmpty());
+    }
+
+    @Test
+    public void testEmbeddedDefinitionIsNotHydrated() {
+        WorkflowDefinitionStore store = new WorkflowDefinitionStore(documentCodec, storage, true);
+        Workflow workflow = newWorkflow("workflow-1");
+
+        assertSame(workflow, store.hydrate(workflow));
+        assertSame(workflowDef, workflow.getWorkflowDefinition());
+        assertEquals(0, storage.gets);
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void testMissingDefinition() {
+        WorkflowDefinitionStore store = new WorkflowDefinitionStore(documentCodec, storage, true);
+        Workflow workflow = newWorkflow("workflow-1");
+        workflow.setWorkflowDefinitionHash("unknown");
+
+        store.hydrate(workflow);
+    }
+
+    private Workflow newWorkflow(String workflowId) {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId(workflowId);
+        workflow.setWorkflowDefinition(workflowDef);
+        return workflow;
+    }
+
+    private static class InMemoryStorage implements WorkflowDefinitionStore.Storage {
+
+        private final Map<String, String> documents = new HashMap<>();
+        private int gets;
+        private int puts;
+
+        @Override
+        public String get(String hash) {
+            gets++;
+            return documents.get(hash);
+        }
+
+        @Override
+        public void putIfAbsent(String hash, String document) {
+            puts++;
+            documents.putIfAbsent(hash, document);
+        }
+    }
+}
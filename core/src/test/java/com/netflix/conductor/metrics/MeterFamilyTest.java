@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.metrics;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class MeterFamilyTest {
+
+    private Registry registry;
+    private MeterFamily<Counter> family;
+
+    @Before
+    public void setUp() {
+        registry = new DefaultRegistry();
+        family = new MeterFamily<>(registry, "dao_requests", "WorkflowMonitor",
+            new String[]{"dao", "action"}, Registry::counter);
+    }
+
+    @Test
+    public void testMeterIsCachedByTagValues() {
+        Counter counter = family.get("redis", "getTask");
+
+        assertSame(counter, family.get("redis", "getTask"));
+        assertNotSame(counter, family.get("redis", "updateTask"));
+        assertEquals(registry.createId("dao_requests", "class", "WorkflowMonitor", "dao", "redis", "action",
+            "getTask"), counter.id());
+    }
+
+    @Test
+    public void testEmptyAndNullTagValues() {
+        assertEquals(registry.createId("dao_requests", "class", "WorkflowMonitor", "action", "getTask"),
+            family.get("", "getTask").id());
+        assertEquals(registry.createId("dao_requests", "class", "WorkflowMonitor", "dao", "null", "action",
+            "getTask"), family.get(null, "getTask").id());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTagValueCountMismatch() {
+        family.get("redis");
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class PhaseTimerTest {
+
+    @Test
+    public void testPhasesAreRecordedAsFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("phase-timer", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.netflix.conductor.ExecutionPhase");
+            recording.start();
+
+            PhaseTimer phaseTimer = PhaseTimer.start("decide");
+            phaseTimer.endPhase("lock");
+            phaseTimer.setWorkflowType("workflow");
+            phaseTimer.setTaskCount(3);
+            phaseTimer.endPhase("load");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals("com.netflix.conductor.ExecutionPhase"))
+            .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+            .collect(Collectors.toList());
+        Files.delete(file);
+
+        assertEquals(2, events.size());
+        assertEquals("decide", events.get(0).getString("operation"));
+        assertEquals("lock", events.get(0).getString("phase"));
+        assertEquals("load", events.get(1).getString("phase"));
+        assertEquals("workflow", events.get(1).getString("workflowType"));
+        assertEquals(3, events.get(1).getInt("taskCount"));
+    }
+}
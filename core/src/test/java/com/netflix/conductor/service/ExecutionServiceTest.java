@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static junit.framework.TestCase.assertEquals;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -83,6 +84,23 @@ public class ExecutionServiceTest {
     }
 
 
+    @Test
+    public void pollTest() {
+        taskWorkflow1.setStatus(Task.Status.SCHEDULED);
+        taskWorkflow2.setStatus(Task.Status.COMPLETED);
+        List<String> taskIds = Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId(), "task3");
+        when(queueDAO.pop("taskType", 3, 100)).thenReturn(taskIds);
+        when(workflowExecutor.getTasks(taskIds)).thenReturn(Arrays.asList(taskWorkflow1, taskWorkflow2));
+
+        List<Task> tasks = executionService.poll("taskType", "worker", 3, 100);
+        assertEquals(Collections.singletonList(taskWorkflow1), tasks);
+        assertEquals(Task.Status.IN_PROGRESS, taskWorkflow1.getStatus());
+        assertEquals("worker", taskWorkflow1.getWorkerId());
+        verify(executionDAOFacade).updateTasks(Collections.singletonList(taskWorkflow1));
+        verify(queueDAO).remove("taskType", taskWorkflow2.getTaskId());
+        verify(queueDAO).remove("taskType", "task3");
+    }
+
     @Test
     public void workflowSearchTest() {
         when(executionDAOFacade.searchWorkflows("query", "*", 0, 2, sort))
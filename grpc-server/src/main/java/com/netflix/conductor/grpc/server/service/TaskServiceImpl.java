@@ -89,7 +89,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
         try {
             List<Task> polledTasks = taskService.batchPoll(req.getTaskType(), req.getWorkerId(),
                 GRPC_HELPER.optional(req.getDomain()), count, timeout);
-            LOGGER.info("polled tasks: " + polledTasks);
+            LOGGER.debug("polled tasks: {}", polledTasks);
             polledTasks.stream().map(PROTO_MAPPER::toProto).forEach(response::onNext);
             response.onCompleted();
         } catch (Exception e) {
@@ -13,12 +13,19 @@
 package com.netflix.conductor.mysql.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.core.utils.DocumentCodec;
 import com.netflix.conductor.mysql.dao.MySQLExecutionDAO;
 import com.netflix.conductor.mysql.dao.MySQLMetadataDAO;
 import com.netflix.conductor.mysql.dao.MySQLQueueDAO;
+import com.netflix.conductor.mysql.util.ReadRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Properties;
 import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,21 +41,81 @@ import org.springframework.context.annotation.Import;
 @Import(DataSourceAutoConfiguration.class)
 public class MySQLConfiguration {
 
+    /**
+     * Configures the prepared statement cache of the driver on the Hikari pool of the primary data source, before the
+     * pool opens its first connection.
+     */
+    @Bean
+    public static BeanPostProcessor mySqlStatementCacheConfigurer(ObjectProvider<MySQLProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    configureStatementCache((HikariDataSource) bean, properties.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * The data source properties set explicitly on the pool take precedence.
+     */
+    private static void configureStatementCache(HikariDataSource dataSource, MySQLProperties properties) {
+        Properties driverProperties = dataSource.getDataSourceProperties();
+        // cache the statements closed by the DAOs and prepare them on the server, once per connection
+        driverProperties.putIfAbsent("cachePrepStmts", "true");
+        driverProperties.putIfAbsent("useServerPrepStmts", "true");
+        driverProperties.putIfAbsent("prepStmtCacheSize", String.valueOf(properties.getPreparedStatementCacheSize()));
+        driverProperties.putIfAbsent("prepStmtCacheSqlLimit",
+            String.valueOf(properties.getPreparedStatementCacheSqlLimit()));
+    }
+
+    /**
+     * The read replica is not exposed as a {@link DataSource} bean, which would replace the auto-configured primary.
+     */
+    @Bean
+    public ReadRouting mySqlReadRouting(DataSource dataSource, DataSourceProperties dataSourceProperties,
+        MySQLProperties properties) {
+        if (properties.getReadReplicaUrl() == null) {
+            return new ReadRouting(dataSource);
+        }
+        // the driver and the credentials default to the ones of the primary
+        HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(properties.getReadReplicaUrl())
+            .build();
+        if (properties.getReadReplicaUsername() != null) {
+            replica.setUsername(properties.getReadReplicaUsername());
+        }
+        if (properties.getReadReplicaPassword() != null) {
+            replica.setPassword(properties.getReadReplicaPassword());
+        }
+        replica.setPoolName("conductor-mysql-read-replica");
+        replica.setMaximumPoolSize(properties.getReadReplicaMaxPoolSize());
+        replica.setReadOnly(true);
+        configureStatementCache(replica, properties);
+        return new ReadRouting(dataSource, replica, properties.getReadConsistency());
+    }
+
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public MySQLMetadataDAO mySqlMetadataDAO(ObjectMapper objectMapper, DataSource dataSource, MySQLProperties properties) {
-        return new MySQLMetadataDAO(objectMapper, dataSource, properties);
+    public MySQLMetadataDAO mySqlMetadataDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting,
+        MySQLProperties properties) {
+        return new MySQLMetadataDAO(objectMapper, dataSource, readRouting, properties);
     }
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public MySQLExecutionDAO mySqlExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new MySQLExecutionDAO(objectMapper, dataSource);
+    public MySQLExecutionDAO mySqlExecutionDAO(ObjectMapper objectMapper, DataSource dataSource,
+        ReadRouting readRouting, ObjectProvider<DocumentCodec> documentCodec, MySQLProperties properties) {
+        return new MySQLExecutionDAO(objectMapper, dataSource, readRouting,
+            documentCodec.getIfAvailable(() -> new DocumentCodec(objectMapper)), properties);
     }
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public MySQLQueueDAO mySqlQueueDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new MySQLQueueDAO(objectMapper, dataSource);
+    public MySQLQueueDAO mySqlQueueDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting) {
+        return new MySQLQueueDAO(objectMapper, dataSource, readRouting);
     }
 }
@@ -12,12 +12,15 @@
  */
 package com.netflix.conductor.mysql.config;
 
+import com.netflix.conductor.mysql.util.ReadRouting.ReadConsistency;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 
 import java.sql.Connection;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
 
 @ConfigurationProperties("conductor.mysql")
 public class MySQLProperties {
@@ -28,6 +31,50 @@ public class MySQLProperties {
      */
     private Duration taskDefCacheRefreshInterval = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable storing each distinct workflow definition once and persisting workflows with a reference to their
+     * definition instead of a copy of it
+     */
+    private boolean workflowDefinitionReferencesEnabled = false;
+
+    /**
+     * The JDBC URL of a read-only replica of the database. When set, the reads of the DAO methods that tolerate stale
+     * results, such as the workflow searches and the queue details shown by the UI, are routed to it
+     */
+    private String readReplicaUrl;
+
+    /**
+     * The username of the read replica, defaulting to the one of the primary data source
+     */
+    private String readReplicaUsername;
+
+    /**
+     * The password of the read replica, defaulting to the one of the primary data source
+     */
+    private String readReplicaPassword;
+
+    /**
+     * The maximum number of connections to the read replica
+     */
+    private int readReplicaMaxPoolSize = 10;
+
+    /**
+     * The read consistency of the DAO methods that may read from the read replica, by method name. These methods read
+     * from the replica unless they are set to {@code primary} here
+     */
+    private Map<String, ReadConsistency> readConsistency = new HashMap<>();
+
+    /**
+     * The number of prepared statements that the driver caches per connection, which are then prepared on the server
+     * once per connection. Passed to the driver unless set in the data source properties of the Hikari pool
+     */
+    private int preparedStatementCacheSize = 250;
+
+    /**
+     * The maximum length of the statements cached by the driver. Passed to the driver unless set in the data source
+     * properties of the Hikari pool
+     */
+    private int preparedStatementCacheSqlLimit = 2048;
 
     public Duration getTaskDefCacheRefreshInterval() {
         return taskDefCacheRefreshInterval;
@@ -36,4 +83,68 @@ public class MySQLProperties {
     public void setTaskDefCacheRefreshInterval(Duration taskDefCacheRefreshInterval) {
         this.taskDefCacheRefreshInterval = taskDefCacheRefreshInterval;
     }
+
+    public boolean isWorkflowDefinitionReferencesEnabled() {
+        return workflowDefinitionReferencesEnabled;
+    }
+
+    public void setWorkflowDefinitionReferencesEnabled(boolean workflowDefinitionReferencesEnabled) {
+        this.workflowDefinitionReferencesEnabled = workflowDefinitionReferencesEnabled;
+    }
+
+    public String getReadReplicaUrl() {
+        return readReplicaUrl;
+    }
+
+    public void setReadReplicaUrl(String readReplicaUrl) {
+        this.readReplicaUrl = readReplicaUrl;
+    }
+
+    public String getReadReplicaUsername() {
+        return readReplicaUsername;
+    }
+
+    public void setReadReplicaUsername(String readReplicaUsername) {
+        this.readReplicaUsername = readReplicaUsername;
+    }
+
+    public String getReadReplicaPassword() {
+        return readReplicaPassword;
+    }
+
+    public void setReadReplicaPassword(String readReplicaPassword) {
+        this.readReplicaPassword = readReplicaPassword;
+    }
+
+    public int getReadReplicaMaxPoolSize() {
+        return readReplicaMaxPoolSize;
+    }
+
+    public void setReadReplicaMaxPoolSize(int readReplicaMaxPoolSize) {
+        this.readReplicaMaxPoolSize = readReplicaMaxPoolSize;
+    }
+
+    public Map<String, ReadConsistency> getReadConsistency() {
+        return readConsistency;
+    }
+
+    public void setReadConsistency(Map<String, ReadConsistency> readConsistency) {
+        this.readConsistency = readConsistency;
+    }
+
+    public int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+    }
+
+    public int getPreparedStatementCacheSqlLimit() {
+        return preparedStatementCacheSqlLimit;
+    }
+
+    public void setPreparedStatementCacheSqlLimit(int preparedStatementCacheSqlLimit) {
+        this.preparedStatementCacheSqlLimit = preparedStatementCacheSqlLimit;
+    }
 }
@@ -13,31 +13,41 @@
 package com.netflix.conductor.mysql.dao;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.utils.DocumentCodec;
+import com.netflix.conductor.core.utils.WorkflowDefinitionStore;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.PollDataDAO;
 import com.netflix.conductor.dao.RateLimitingDAO;
 import com.netflix.conductor.metrics.Monitors;
+import com.netflix.conductor.mysql.config.MySQLProperties;
 import com.netflix.conductor.mysql.util.Query;
+import com.netflix.conductor.mysql.util.ReadRouting;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.netflix.conductor.core.exception.ApplicationException.Code.BACKEND_ERROR;
@@ -47,8 +57,15 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
     private static final String ARCHIVED_FIELD = "archived";
     private static final String RAW_JSON_FIELD = "rawJSON";
 
-    public MySQLExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        super(objectMapper, dataSource);
+    private final DocumentCodec documentCodec;
+    private final WorkflowDefinitionStore workflowDefinitionStore;
+
+    public MySQLExecutionDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting,
+        DocumentCodec documentCodec, MySQLProperties properties) {
+        super(objectMapper, dataSource, readRouting);
+        this.documentCodec = documentCodec;
+        this.workflowDefinitionStore = new WorkflowDefinitionStore(documentCodec, new WorkflowDefinitionStorage(),
+            properties.isWorkflowDefinitionReferencesEnabled());
     }
 
     private static String dateStr(Long timeInMs) {
@@ -61,6 +78,16 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         return format.format(date);
     }
 
+    private <T> T decode(String document, Class<T> type) {
+        return document == null ? null : documentCodec.decode(document, type);
+    }
+
+    private <T> List<T> decode(List<String> documents, Class<T> type) {
+        return documents.stream()
+            .map(document -> documentCodec.decode(document, type))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public List<Task> getPendingTasksByWorkflow(String taskDefName, String workflowId) {
         // @formatter:off
@@ -69,7 +96,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         // @formatter:on
 
         return queryWithTransaction(GET_IN_PROGRESS_TASKS_FOR_WORKFLOW,
-            q -> q.addParameter(taskDefName).addParameter(workflowId).executeAndFetch(Task.class));
+            q -> decode(q.addParameter(taskDefName).addParameter(workflowId).executeAndFetch(String.class),
+                Task.class));
     }
 
     @Override
@@ -104,39 +132,36 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
 
     @Override
     public List<Task> createTasks(List<Task> tasks) {
-        List<Task> created = Lists.newArrayListWithCapacity(tasks.size());
+        if (tasks.isEmpty()) {
+            return Lists.newArrayList();
+        }
 
-        withTransaction(connection -> {
+        return getWithRetriedTransactions(connection -> {
             for (Task task : tasks) {
                 validate(task);
-
                 task.setScheduledTime(System.currentTimeMillis());
+            }
 
-                final String taskKey = taskKey(task);
-
-                boolean scheduledTaskAdded = addScheduledTask(connection, task, taskKey);
-
-                if (!scheduledTaskAdded) {
-                    logger.trace("Task already scheduled, skipping the run " + task.getTaskId() + ", ref="
-                        + task.getReferenceTaskName() + ", key=" + taskKey);
-                    continue;
-                }
-
-                insertOrUpdateTaskData(connection, task);
-                addWorkflowToTaskMapping(connection, task);
-                addTaskInProgress(connection, task);
-                updateTask(connection, task);
-
-                created.add(task);
+            List<Task> created = addScheduledTasks(connection, tasks);
+            if (!created.isEmpty()) {
+                insertTaskData(connection, created);
+                addWorkflowToTaskMappings(connection, created);
+                addTasksInProgress(connection, created);
             }
+            return created;
         });
-
-        return created;
     }
 
     @Override
     public void updateTask(Task task) {
-        withTransaction(connection -> updateTask(connection, task));
+        withTransaction(connection -> updateTasks(connection, Collections.singletonList(task)));
+    }
+
+    @Override
+    public void updateTasks(List<Task> tasks) {
+        if (!tasks.isEmpty()) {
+            withTransaction(connection -> updateTasks(connection, tasks));
+        }
     }
 
     /**
@@ -203,7 +228,7 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         withTransaction(connection -> {
             removeScheduledTask(connection, task, taskKey);
             removeWorkflowToTaskMapping(connection, task);
-            removeTaskInProgress(connection, task);
+            removeTasksInProgress(connection, Collections.singletonList(task));
             removeTaskData(connection, task);
         });
         return true;
@@ -212,7 +237,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
     @Override
     public Task getTask(String taskId) {
         String GET_TASK = "SELECT json_data FROM task WHERE task_id = ?";
-        return queryWithTransaction(GET_TASK, q -> q.addParameter(taskId).executeAndFetchFirst(Task.class));
+        return queryWithTransaction(GET_TASK, q -> decode(q.addParameter(taskId).executeAndFetchFirst(String.class),
+                Task.class));
     }
 
     @Override
@@ -232,7 +258,7 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         // @formatter:on
 
         return queryWithTransaction(GET_IN_PROGRESS_TASKS_FOR_TYPE,
-            q -> q.addParameter(taskName).executeAndFetch(Task.class));
+            q -> decode(q.addParameter(taskName).executeAndFetch(String.class), Task.class));
     }
 
     @Override
@@ -299,6 +325,7 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         Workflow workflow = getWithRetriedTransactions(tx -> readWorkflow(tx, workflowId));
 
         if (workflow != null) {
+            workflowDefinitionStore.hydrate(workflow);
             if (includeTasks) {
                 List<Task> tasks = getTasksForWorkflow(workflowId);
                 tasks.sort(Comparator.comparingLong(Task::getScheduledTime).thenComparingInt(Task::getSeq));
@@ -360,7 +387,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
 
         List<Workflow> workflows = new LinkedList<>();
 
-        withTransaction(tx -> {
+        // the whole read may go to the read replica
+        getForRead("getWorkflowsByType", tx -> {
             // @formatter:off
             String GET_ALL_WORKFLOWS_FOR_WORKFLOW_DEF = "SELECT workflow_id FROM workflow_def_to_workflow "
                 + "WHERE workflow_def = ? AND date_str BETWEEN ? AND ?";
@@ -370,7 +398,7 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
                 .addParameter(dateStr(startTime)).addParameter(dateStr(endTime)).executeScalarList(String.class));
             workflowIds.forEach(workflowId -> {
                 try {
-                    Workflow wf = getWorkflow(workflowId);
+                    Workflow wf = readWorkflowWithTasks(tx, workflowId);
                     if (wf.getCreateTime() >= startTime && wf.getCreateTime() <= endTime) {
                         workflows.add(wf);
                     }
@@ -378,6 +406,7 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
                     logger.error("Unable to load workflow id {} with name {}", workflowId, workflowName, e);
                 }
             });
+            return null;
         });
 
         return workflows;
@@ -388,8 +417,11 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         Preconditions.checkNotNull(correlationId, "correlationId cannot be null");
         String GET_WORKFLOWS_BY_CORRELATION_ID = "SELECT w.json_data FROM workflow w left join workflow_def_to_workflow wd on w.workflow_id = wd.workflow_id  WHERE w.correlation_id = ? and wd.workflow_def = ?";
 
-        return queryWithTransaction(GET_WORKFLOWS_BY_CORRELATION_ID,
-            q -> q.addParameter(correlationId).addParameter(workflowName).executeAndFetch(Workflow.class));
+        List<Workflow> workflows = queryForRead("getWorkflowsByCorrelationId", GET_WORKFLOWS_BY_CORRELATION_ID,
+            q -> decode(q.addParameter(correlationId).addParameter(workflowName).executeAndFetch(String.class),
+                Workflow.class));
+        workflows.forEach(workflowDefinitionStore::hydrate);
+        return workflows;
     }
 
     @Override
@@ -474,7 +506,7 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
 
     @Override
     public List<PollData> getAllPollData() {
-        try (Connection tx = dataSource.getConnection()) {
+        try (Connection tx = readDataSource("getAllPollData").getConnection()) {
             boolean previousAutoCommitMode = tx.getAutoCommit();
             tx.setAutoCommit(true);
             try {
@@ -495,13 +527,14 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
             return Lists.newArrayList();
         }
 
-        // Generate a formatted query string with a variable number of bind params based
-        // on taskIds.size()
+        // Generate a formatted query string with a number of bind params based on taskIds.size(), padded so that the
+        // statement is shared with the lists of similar sizes
         final String GET_TASKS_FOR_IDS = String.format(
             "SELECT json_data FROM task WHERE task_id IN (%s) AND json_data IS NOT NULL",
-            Query.generateInBindings(taskIds.size()));
+            Query.generatePaddedInBindings(taskIds.size()));
 
-        return query(connection, GET_TASKS_FOR_IDS, q -> q.addParameters(taskIds).executeAndFetch(Task.class));
+        return query(connection, GET_TASKS_FOR_IDS,
+            q -> decode(q.addPaddedParameters(taskIds).executeAndFetch(String.class), Task.class));
     }
 
     private String insertOrUpdateWorkflow(Workflow workflow, boolean update) {
@@ -511,61 +544,88 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
 
         List<Task> tasks = workflow.getTasks();
         workflow.setTasks(Lists.newLinkedList());
+        WorkflowDef workflowDefinition = workflowDefinitionStore.dereference(workflow);
 
-        withTransaction(tx -> {
-            if (!update) {
-                addWorkflow(tx, workflow);
-                addWorkflowDefToWorkflowMapping(tx, workflow);
-            } else {
-                updateWorkflow(tx, workflow);
-            }
+        try {
+            withTransaction(tx -> {
+                if (!update) {
+                    addWorkflow(tx, workflow);
+                    addWorkflowDefToWorkflowMapping(tx, workflow);
+                } else {
+                    updateWorkflow(tx, workflow);
+                }
 
-            if (terminal) {
-                removePendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
-            } else {
-                addPendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
-            }
-        });
+                if (terminal) {
+                    removePendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+                } else {
+                    addPendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+                }
+            });
+        } finally {
+            workflowDefinitionStore.restore(workflow, workflowDefinition);
+        }
 
         workflow.setTasks(tasks);
         return workflow.getWorkflowId();
     }
 
-    private void updateTask(Connection connection, Task task) {
-        Optional<TaskDef> taskDefinition = task.getTaskDefinition();
-
-        if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
-            boolean inProgress = task.getStatus() != null && task.getStatus().equals(Task.Status.IN_PROGRESS);
-            updateInProgressStatus(connection, task, inProgress);
+    private void updateTasks(Connection connection, List<Task> tasks) {
+        List<Task> concurrencyLimitedTasks = tasks.stream()
+            .filter(task -> task.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0) > 0)
+            .collect(Collectors.toList());
+        if (!concurrencyLimitedTasks.isEmpty()) {
+            updateInProgressStatus(connection, concurrencyLimitedTasks);
         }
 
-        insertOrUpdateTaskData(connection, task);
+        insertOrUpdateTaskData(connection, tasks);
 
-        if (task.getStatus() != null && task.getStatus().isTerminal()) {
-            removeTaskInProgress(connection, task);
+        List<Task> terminalTasks = tasks.stream()
+            .filter(task -> task.getStatus() != null && task.getStatus().isTerminal())
+            .collect(Collectors.toList());
+        if (!terminalTasks.isEmpty()) {
+            removeTasksInProgress(connection, terminalTasks);
         }
 
-        addWorkflowToTaskMapping(connection, task);
+        addWorkflowToTaskMappings(connection, tasks);
     }
 
     private Workflow readWorkflow(Connection connection, String workflowId) {
         String GET_WORKFLOW = "SELECT json_data FROM workflow WHERE workflow_id = ?";
 
-        return query(connection, GET_WORKFLOW, q -> q.addParameter(workflowId).executeAndFetchFirst(Workflow.class));
+        return query(connection, GET_WORKFLOW, q -> decode(q.addParameter(workflowId).executeAndFetchFirst(String.class),
+                Workflow.class));
+    }
+
+    /**
+     * Reads a workflow and its tasks within a single transaction, so that it can be read from the read replica.
+     */
+    private Workflow readWorkflowWithTasks(Connection connection, String workflowId) {
+        String GET_TASK_IDS_FOR_WORKFLOW = "SELECT task_id FROM workflow_to_task WHERE workflow_id = ?";
+
+        Workflow workflow = readWorkflow(connection, workflowId);
+        if (workflow != null) {
+            workflowDefinitionStore.hydrate(workflow);
+            List<String> taskIds = query(connection, GET_TASK_IDS_FOR_WORKFLOW,
+                q -> q.addParameter(workflowId).executeScalarList(String.class));
+            List<Task> tasks = getTasks(connection, taskIds);
+            tasks.sort(Comparator.comparingLong(Task::getScheduledTime).thenComparingInt(Task::getSeq));
+            workflow.setTasks(tasks);
+        }
+        return workflow;
     }
 
     private void addWorkflow(Connection connection, Workflow workflow) {
         String INSERT_WORKFLOW = "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
 
         execute(connection, INSERT_WORKFLOW, q -> q.addParameter(workflow.getWorkflowId())
-            .addParameter(workflow.getCorrelationId()).addJsonParameter(workflow).executeUpdate());
+            .addParameter(workflow.getCorrelationId()).addParameter(documentCodec.encode(workflow)).executeUpdate());
     }
 
     private void updateWorkflow(Connection connection, Workflow workflow) {
         String UPDATE_WORKFLOW = "UPDATE workflow SET json_data = ?, modified_on = CURRENT_TIMESTAMP WHERE workflow_id = ?";
 
         execute(connection, UPDATE_WORKFLOW,
-            q -> q.addJsonParameter(workflow).addParameter(workflow.getWorkflowId()).executeUpdate());
+            q -> q.addParameter(documentCodec.encode(workflow)).addParameter(workflow.getWorkflowId()).executeUpdate());
     }
 
     private void removeWorkflow(Connection connection, String workflowId) {
@@ -595,40 +655,54 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
             q -> q.addParameter(workflowType).addParameter(workflowId).executeDelete());
     }
 
-    private void insertOrUpdateTaskData(Connection connection, Task task) {
+    private void insertOrUpdateTaskData(Connection connection, List<Task> tasks) {
         /*
          * Most times the row will be updated so let's try the update first. This used to be an 'INSERT/ON DUPLICATE KEY update' sql statement. The problem with that
          * is that if we try the INSERT first, the sequence will be increased even if the ON DUPLICATE KEY happens.
          */
         String UPDATE_TASK = "UPDATE task SET json_data=?, modified_on=CURRENT_TIMESTAMP WHERE task_id=?";
-        int rowsUpdated = query(connection, UPDATE_TASK,
-            q -> q.addJsonParameter(task).addParameter(task.getTaskId()).executeUpdate());
+        int[] rowsUpdated = query(connection, UPDATE_TASK, q -> {
+            for (Task task : tasks) {
+                q.addParameter(documentCodec.encode(task)).addParameter(task.getTaskId()).addBatch();
+            }
+            return q.executeBatch();
+        });
 
-        if (rowsUpdated == 0) {
-            String INSERT_TASK = "INSERT INTO task (task_id, json_data, modified_on) VALUES (?, ?, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE json_data=VALUES(json_data), modified_on=VALUES(modified_on)";
-            execute(connection, INSERT_TASK,
-                q -> q.addParameter(task.getTaskId()).addJsonParameter(task).executeUpdate());
+        List<Task> missingTasks = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (rowsUpdated[i] == 0) {
+                missingTasks.add(tasks.get(i));
+            }
+        }
+        if (!missingTasks.isEmpty()) {
+            insertTaskData(connection, missingTasks);
         }
     }
 
+    private void insertTaskData(Connection connection, List<Task> tasks) {
+        String INSERT_TASK = "INSERT INTO task (task_id, json_data, modified_on) VALUES (?, ?, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE json_data=VALUES(json_data), modified_on=VALUES(modified_on)";
+        execute(connection, INSERT_TASK, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getTaskId()).addParameter(documentCodec.encode(task)).addBatch();
+            }
+            q.executeBatch();
+        });
+    }
+
     private void removeTaskData(Connection connection, Task task) {
         String REMOVE_TASK = "DELETE FROM task WHERE task_id = ?";
         execute(connection, REMOVE_TASK, q -> q.addParameter(task.getTaskId()).executeDelete());
     }
 
-    private void addWorkflowToTaskMapping(Connection connection, Task task) {
-
-        String EXISTS_WORKFLOW_TO_TASK = "SELECT EXISTS(SELECT 1 FROM workflow_to_task WHERE workflow_id = ? AND task_id = ?)";
+    private void addWorkflowToTaskMappings(Connection connection, List<Task> tasks) {
+        String INSERT_WORKFLOW_TO_TASK = "INSERT IGNORE INTO workflow_to_task (workflow_id, task_id) VALUES (?, ?)";
 
-        boolean exists = query(connection, EXISTS_WORKFLOW_TO_TASK,
-            q -> q.addParameter(task.getWorkflowInstanceId()).addParameter(task.getTaskId()).exists());
-
-        if (!exists) {
-            String INSERT_WORKFLOW_TO_TASK = "INSERT IGNORE INTO workflow_to_task (workflow_id, task_id) VALUES (?, ?)";
-
-            execute(connection, INSERT_WORKFLOW_TO_TASK,
-                q -> q.addParameter(task.getWorkflowInstanceId()).addParameter(task.getTaskId()).executeUpdate());
-        }
+        execute(connection, INSERT_WORKFLOW_TO_TASK, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getWorkflowInstanceId()).addParameter(task.getTaskId()).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
     private void removeWorkflowToTaskMapping(Connection connection, Task task) {
@@ -654,25 +728,62 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
                 .addParameter(workflow.getWorkflowId()).executeUpdate());
     }
 
-    @VisibleForTesting
-    boolean addScheduledTask(Connection connection, Task task, String taskKey) {
-
-        final String EXISTS_SCHEDULED_TASK = "SELECT EXISTS(SELECT 1 FROM task_scheduled where workflow_id = ? AND task_key = ?)";
-
-        boolean exists = query(connection, EXISTS_SCHEDULED_TASK, q -> q.addParameter(task.getWorkflowInstanceId())
-            .addParameter(taskKey).exists());
+    /**
+     * @return the tasks that were not already scheduled, in order
+     */
+    private List<Task> addScheduledTasks(Connection connection, List<Task> tasks) {
+        final String INSERT_IGNORE_SCHEDULED_TASK = "INSERT IGNORE INTO task_scheduled (workflow_id, task_key, task_id) VALUES (?, ?, ?)";
 
-        if (!exists) {
-            final String INSERT_IGNORE_SCHEDULED_TASK = "INSERT IGNORE INTO task_scheduled (workflow_id, task_key, task_id) VALUES (?, ?, ?)";
+        int[] counts = query(connection, INSERT_IGNORE_SCHEDULED_TASK, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getWorkflowInstanceId()).addParameter(taskKey(task))
+                    .addParameter(task.getTaskId()).addBatch();
+            }
+            return q.executeBatch();
+        });
 
-            int count = query(connection, INSERT_IGNORE_SCHEDULED_TASK,
-                q -> q.addParameter(task.getWorkflowInstanceId())
-                    .addParameter(taskKey).addParameter(task.getTaskId()).executeUpdate());
-            return count > 0;
-        } else {
-            return false;
+        // a batch rewritten into a multi-row insert (rewriteBatchedStatements) reports SUCCESS_NO_INFO for every row,
+        // which leaves reading back the task each key was scheduled for
+        Map<String, String> scheduledTaskIds = Arrays.stream(counts).allMatch(count -> count >= 0)
+            ? Collections.emptyMap() : getScheduledTaskIds(connection, tasks);
+
+        List<Task> scheduled = Lists.newArrayListWithCapacity(tasks.size());
+        Set<String> scheduledKeys = new HashSet<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            String scheduledKey = task.getWorkflowInstanceId() + "/" + taskKey(task);
+            boolean inserted = counts[i] >= 0 ? counts[i] != 0
+                : task.getTaskId().equals(scheduledTaskIds.get(scheduledKey)) && scheduledKeys.add(scheduledKey);
+            if (!inserted) {
+                logger.trace("Task already scheduled, skipping the run " + task.getTaskId() + ", ref="
+                    + task.getReferenceTaskName() + ", key=" + taskKey(task));
+            } else {
+                scheduled.add(task);
+            }
         }
+        return scheduled;
+    }
 
+    /**
+     * @return the id of the task each key of the given tasks is scheduled for, by workflow id and task key
+     */
+    private Map<String, String> getScheduledTaskIds(Connection connection, List<Task> tasks) {
+        Map<String, List<String>> taskKeysByWorkflow = tasks.stream().collect(Collectors.groupingBy(
+            Task::getWorkflowInstanceId, Collectors.mapping(MySQLExecutionDAO::taskKey, Collectors.toList())));
+
+        Map<String, String> scheduledTaskIds = new HashMap<>();
+        taskKeysByWorkflow.forEach((workflowId, taskKeys) -> {
+            String GET_SCHEDULED_TASK_IDS = "SELECT task_key, task_id FROM task_scheduled WHERE workflow_id = ? "
+                + "AND task_key IN (" + Query.generatePaddedInBindings(taskKeys.size()) + ")";
+            query(connection, GET_SCHEDULED_TASK_IDS,
+                q -> q.addParameter(workflowId).addPaddedParameters(taskKeys).executeAndFetch(rs -> {
+                    while (rs.next()) {
+                        scheduledTaskIds.put(workflowId + "/" + rs.getString(1), rs.getString(2));
+                    }
+                    return null;
+                }));
+        });
+        return scheduledTaskIds;
     }
 
     private void removeScheduledTask(Connection connection, Task task, String taskKey) {
@@ -681,34 +792,50 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
             q -> q.addParameter(task.getWorkflowInstanceId()).addParameter(taskKey).executeDelete());
     }
 
-    private void addTaskInProgress(Connection connection, Task task) {
-        String EXISTS_IN_PROGRESS_TASK = "SELECT EXISTS(SELECT 1 FROM task_in_progress WHERE task_def_name = ? AND task_id = ?)";
-
-        boolean exists = query(connection, EXISTS_IN_PROGRESS_TASK,
-            q -> q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).exists());
+    private void addTasksInProgress(Connection connection, List<Task> tasks) {
+        List<Task> tasksInProgress = tasks.stream()
+            .filter(task -> task.getStatus() == null || !task.getStatus().isTerminal())
+            .collect(Collectors.toList());
+        if (tasksInProgress.isEmpty()) {
+            return;
+        }
 
-        if (!exists) {
-            String INSERT_IN_PROGRESS_TASK = "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id) VALUES (?, ?, ?)";
+        String INSERT_IN_PROGRESS_TASK = "INSERT IGNORE INTO task_in_progress (task_def_name, task_id, workflow_id, in_progress_status) VALUES (?, ?, ?, ?)";
 
-            execute(connection, INSERT_IN_PROGRESS_TASK, q -> q.addParameter(task.getTaskDefName())
-                .addParameter(task.getTaskId()).addParameter(task.getWorkflowInstanceId()).executeUpdate());
-        }
+        execute(connection, INSERT_IN_PROGRESS_TASK, q -> {
+            for (Task task : tasksInProgress) {
+                boolean concurrencyLimited = task.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0) > 0;
+                q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId())
+                    .addParameter(task.getWorkflowInstanceId())
+                    .addParameter(concurrencyLimited && task.getStatus() == Task.Status.IN_PROGRESS).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
-    private void removeTaskInProgress(Connection connection, Task task) {
+    private void removeTasksInProgress(Connection connection, List<Task> tasks) {
         String REMOVE_IN_PROGRESS_TASK = "DELETE FROM task_in_progress WHERE task_def_name = ? AND task_id = ?";
 
-        execute(connection, REMOVE_IN_PROGRESS_TASK,
-            q -> q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).executeUpdate());
+        execute(connection, REMOVE_IN_PROGRESS_TASK, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
-    private void updateInProgressStatus(Connection connection, Task task, boolean inProgress) {
+    private void updateInProgressStatus(Connection connection, List<Task> tasks) {
         String UPDATE_IN_PROGRESS_TASK_STATUS =
             "UPDATE task_in_progress SET in_progress_status = ?, modified_on = CURRENT_TIMESTAMP "
                 + "WHERE task_def_name = ? AND task_id = ?";
 
-        execute(connection, UPDATE_IN_PROGRESS_TASK_STATUS, q -> q.addParameter(inProgress)
-            .addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).executeUpdate());
+        execute(connection, UPDATE_IN_PROGRESS_TASK_STATUS, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getStatus() == Task.Status.IN_PROGRESS).addParameter(task.getTaskDefName())
+                    .addParameter(task.getTaskId()).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
     private boolean insertEventExecution(Connection connection, EventExecution eventExecution) {
@@ -783,7 +910,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
 
     private List<PollData> readAllPollData(String queueName) {
         String GET_ALL_POLL_DATA = "SELECT json_data FROM poll_data WHERE queue_name = ?";
-        return queryWithTransaction(GET_ALL_POLL_DATA, q -> q.addParameter(queueName).executeAndFetch(PollData.class));
+        return queryForRead("getPollData", GET_ALL_POLL_DATA,
+            q -> q.addParameter(queueName).executeAndFetch(PollData.class));
     }
 
     private List<String> findAllTasksInProgressInOrderOfArrival(Task task, int limit) {
@@ -799,4 +927,19 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         Preconditions.checkNotNull(task.getWorkflowInstanceId(), "Workflow instance id cannot be null");
         Preconditions.checkNotNull(task.getReferenceTaskName(), "Task reference name cannot be null");
     }
+
+    private class WorkflowDefinitionStorage implements WorkflowDefinitionStore.Storage {
+
+        @Override
+        public String get(String hash) {
+            String GET_WORKFLOW_DEF = "SELECT json_data FROM workflow_def_by_hash WHERE hash = ?";
+            return queryWithTransaction(GET_WORKFLOW_DEF, q -> q.addParameter(hash).executeAndFetchFirst(String.class));
+        }
+
+        @Override
+        public void putIfAbsent(String hash, String document) {
+            String INSERT_WORKFLOW_DEF = "INSERT IGNORE INTO workflow_def_by_hash (hash, json_data) VALUES (?, ?)";
+            executeWithTransaction(INSERT_WORKFLOW_DEF, q -> q.addParameter(hash).addParameter(document).executeUpdate());
+        }
+    }
 }
@@ -22,6 +22,7 @@ import com.netflix.conductor.dao.EventHandlerDAO;
 import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.mysql.config.MySQLProperties;
+import com.netflix.conductor.mysql.util.ReadRouting;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -39,8 +40,9 @@ public class MySQLMetadataDAO extends MySQLBaseDAO implements MetadataDAO, Event
     private final ConcurrentHashMap<String, TaskDef> taskDefCache = new ConcurrentHashMap<>();
     private static final String CLASS_NAME = MySQLMetadataDAO.class.getSimpleName();
 
-    public MySQLMetadataDAO(ObjectMapper objectMapper, DataSource dataSource, MySQLProperties properties) {
-        super(objectMapper, dataSource);
+    public MySQLMetadataDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting,
+        MySQLProperties properties) {
+        super(objectMapper, dataSource, readRouting);
 
         long cacheRefreshTime = properties.getTaskDefCacheRefreshInterval().getSeconds();
         Executors.newSingleThreadScheduledExecutor()
@@ -161,7 +163,8 @@ public class MySQLMetadataDAO extends MySQLBaseDAO implements MetadataDAO, Event
     public List<WorkflowDef> getAllWorkflowDefs() {
         final String GET_ALL_WORKFLOW_DEF_QUERY = "SELECT json_data FROM meta_workflow_def ORDER BY name, version";
 
-        return queryWithTransaction(GET_ALL_WORKFLOW_DEF_QUERY, q -> q.executeAndFetch(WorkflowDef.class));
+        return queryForRead("getAllWorkflowDefs", GET_ALL_WORKFLOW_DEF_QUERY,
+            q -> q.executeAndFetch(WorkflowDef.class));
     }
 
     public List<WorkflowDef> getAllLatest() {
@@ -175,7 +178,7 @@ public class MySQLMetadataDAO extends MySQLBaseDAO implements MetadataDAO, Event
         final String GET_ALL_VERSIONS_WORKFLOW_DEF_QUERY = "SELECT json_data FROM meta_workflow_def WHERE name = ? " +
             "ORDER BY version";
 
-        return queryWithTransaction(GET_ALL_VERSIONS_WORKFLOW_DEF_QUERY,
+        return queryForRead("getAllVersions", GET_ALL_VERSIONS_WORKFLOW_DEF_QUERY,
             q -> q.addParameter(name).executeAndFetch(WorkflowDef.class));
     }
 
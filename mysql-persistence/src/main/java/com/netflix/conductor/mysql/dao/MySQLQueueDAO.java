@@ -19,6 +19,7 @@ import com.google.common.util.concurrent.Uninterruptibles;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.mysql.util.Query;
+import com.netflix.conductor.mysql.util.ReadRouting;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -34,8 +35,8 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
 
     private static final Long UNACK_SCHEDULE_MS = 60_000L;
 
-    public MySQLQueueDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        super(objectMapper, dataSource);
+    public MySQLQueueDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting) {
+        super(objectMapper, dataSource, readRouting);
 
         Executors.newSingleThreadScheduledExecutor()
             .scheduleAtFixedRate(this::processAllUnacks,
@@ -103,7 +104,8 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
 
     @Override
     public int getSize(String queueName) {
-        final String GET_QUEUE_SIZE = "SELECT COUNT(*) FROM queue_message WHERE queue_name = ?";
+        // the counts are kept by triggers on queue_message, see the queue_message_count migration
+        final String GET_QUEUE_SIZE = "SELECT COALESCE(SUM(size), 0) FROM queue_message_count WHERE queue_name = ?";
         return queryWithTransaction(GET_QUEUE_SIZE, q -> ((Long) q.addParameter(queueName).executeCount()).intValue());
     }
 
@@ -131,8 +133,9 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
 
     @Override
     public Map<String, Long> queuesDetail() {
-        final String GET_QUEUES_DETAIL = "SELECT queue_name, (SELECT count(*) FROM queue_message WHERE popped = false AND queue_name = q.queue_name) AS size FROM queue q";
-        return queryWithTransaction(GET_QUEUES_DETAIL, q -> q.executeAndFetch(rs -> {
+        final String GET_QUEUES_DETAIL = "SELECT q.queue_name, COALESCE(SUM(c.size - c.unacked), 0) AS size FROM queue q "
+            + "LEFT JOIN queue_message_count c ON c.queue_name = q.queue_name GROUP BY q.queue_name";
+        return queryForRead("queuesDetail", GET_QUEUES_DETAIL, q -> q.executeAndFetch(rs -> {
             Map<String, Long> detail = Maps.newHashMap();
             while (rs.next()) {
                 String queueName = rs.getString("queue_name");
@@ -146,13 +149,13 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
     @Override
     public Map<String, Map<String, Map<String, Long>>> queuesDetailVerbose() {
         // @formatter:off
-        final String GET_QUEUES_DETAIL_VERBOSE = "SELECT queue_name, \n"
-            + "       (SELECT count(*) FROM queue_message WHERE popped = false AND queue_name = q.queue_name) AS size,\n"
-            + "       (SELECT count(*) FROM queue_message WHERE popped = true AND queue_name = q.queue_name) AS uacked \n"
-            + "FROM queue q";
+        final String GET_QUEUES_DETAIL_VERBOSE = "SELECT q.queue_name, \n"
+            + "       COALESCE(SUM(c.size - c.unacked), 0) AS size,\n"
+            + "       COALESCE(SUM(c.unacked), 0) AS uacked \n"
+            + "FROM queue q LEFT JOIN queue_message_count c ON c.queue_name = q.queue_name GROUP BY q.queue_name";
         // @formatter:on
 
-        return queryWithTransaction(GET_QUEUES_DETAIL_VERBOSE, q -> q.executeAndFetch(rs -> {
+        return queryForRead("queuesDetailVerbose", GET_QUEUES_DETAIL_VERBOSE, q -> q.executeAndFetch(rs -> {
             Map<String, Map<String, Map<String, Long>>> result = Maps.newHashMap();
             while (rs.next()) {
                 String queueName = rs.getString("queue_name");
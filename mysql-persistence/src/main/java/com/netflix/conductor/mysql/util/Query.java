@@ -37,6 +37,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>
  * This class simulates a parameter building pattern and all {@literal addParameter(*)} methods must be called in the
  * proper order of their expected binding sequence.
+ * <p>
+ * The statement is prepared again for each query, the driver reusing the statement it cached for the same SQL on the
+ * connection, so the SQL of a query should depend as little as possible on the values bound to it: see {@link
+ * #generatePaddedInBindings(int)}.
  *
  * @author mustafa
  */
@@ -91,6 +95,22 @@ public class Query implements AutoCloseable {
         return String.join(", ", questions);
     }
 
+    /**
+     * Generate the '?' placeholders of an {@literal IN} list of {@literal count} values, padded to the next power of
+     * two so that the lists of similar sizes share their statement, and with it the prepared statement cache of the
+     * driver. The values are bound with {@link #addPaddedParameters(List)}.
+     *
+     * @param count The number of values of the list.
+     * @return a comma delimited string of the padded number of '?' binding placeholders.
+     */
+    public static String generatePaddedInBindings(int count) {
+        return generateInBindings(paddedSize(count));
+    }
+
+    private static int paddedSize(int count) {
+        return count <= 1 ? count : Integer.highestOneBit(count - 1) << 1;
+    }
+
     public Query addParameter(final String value) {
         return addParameterInternal((ps, idx) -> ps.setString(idx, value));
     }
@@ -169,6 +189,23 @@ public class Query implements AutoCloseable {
         return addParameters(values.toArray());
     }
 
+    /**
+     * Add the values of an {@literal IN} list whose placeholders were generated by {@link
+     * #generatePaddedInBindings(int)}, repeating the last value over the padding, which leaves the list matching the
+     * same rows.
+     *
+     * @param values The values to bind to the prepared statement.
+     * @return {@literal this}
+     * @throws IllegalArgumentException If a non-primitive/unsupported type is encountered in the list.
+     */
+    public Query addPaddedParameters(List<?> values) {
+        addParameters(values);
+        for (int i = values.size(); i < paddedSize(values.size()); i++) {
+            addParameters(values.get(values.size() - 1));
+        }
+        return this;
+    }
+
     /**
      * Add many primitive values at once.
      *
@@ -285,6 +322,50 @@ public class Query implements AutoCloseable {
         }
     }
 
+    /**
+     * Adds the parameters bound so far to the batch of the statement, so that the parameters of the next set can be
+     * bound in the same order.
+     *
+     * @return {@literal this}
+     */
+    public Query addBatch() {
+        try {
+            this.statement.addBatch();
+            index.set(1);
+            return this;
+        } catch (SQLException ex) {
+            throw new ApplicationException(Code.BACKEND_ERROR, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Executes every set of parameters added with {@link #addBatch()} in a single round trip.
+     *
+     * @return The result of {@link PreparedStatement#executeBatch()}, the update count of each set of parameters in
+     * the order they were added. Drivers that rewrite batches into multi-row statements report {@link
+     * java.sql.Statement#SUCCESS_NO_INFO} instead.
+     */
+    public int[] executeBatch() {
+        try {
+
+            Long start = null;
+            if (logger.isTraceEnabled()) {
+                start = System.currentTimeMillis();
+            }
+
+            final int[] counts = this.statement.executeBatch();
+
+            if (null != start && logger.isTraceEnabled()) {
+                long end = System.currentTimeMillis();
+                logger.trace("[{}ms] {} batched: {}", (end - start), counts.length, rawQuery);
+            }
+
+            return counts;
+        } catch (SQLException ex) {
+            throw new ApplicationException(Code.BACKEND_ERROR, ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Execute a query from the PreparedStatement and return the ResultSet.
      * <p>
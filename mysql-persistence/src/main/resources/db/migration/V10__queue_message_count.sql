@@ -0,0 +1,59 @@
+-- The number of messages and of popped (unacknowledged) messages of each queue, kept up to date by triggers so that
+-- the queue sizes are read without counting the messages. The counts of a queue are spread over 16 shards, picked by
+-- the connection of the writing transaction, so that concurrent writers to a queue do not wait on a single row. The
+-- counts of a queue are the sums over its shards.
+--
+-- With binary logging enabled, creating the triggers requires the SUPER privilege or log_bin_trust_function_creators.
+-- Messages written by other servers while this migration runs may be miscounted.
+
+CREATE TABLE queue_message_count (
+  queue_name varchar(255) NOT NULL,
+  shard int NOT NULL,
+  size bigint NOT NULL DEFAULT 0,
+  unacked bigint NOT NULL DEFAULT 0,
+  PRIMARY KEY (queue_name, shard)
+);
+
+CREATE TABLE queue_message_count_shard (
+  shard int NOT NULL,
+  PRIMARY KEY (shard)
+);
+
+INSERT INTO queue_message_count_shard (shard)
+VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12), (13), (14), (15);
+
+CREATE TRIGGER create_queue_message_count AFTER INSERT ON queue
+FOR EACH ROW
+INSERT IGNORE INTO queue_message_count (queue_name, shard)
+SELECT NEW.queue_name, shard FROM queue_message_count_shard;
+
+CREATE TRIGGER count_inserted_queue_message AFTER INSERT ON queue_message
+FOR EACH ROW
+UPDATE queue_message_count
+SET size = size + 1, unacked = unacked + IF(NEW.popped, 1, 0)
+WHERE queue_name = NEW.queue_name AND shard = CONNECTION_ID() % 16;
+
+CREATE TRIGGER count_deleted_queue_message AFTER DELETE ON queue_message
+FOR EACH ROW
+UPDATE queue_message_count
+SET size = size - 1, unacked = unacked - IF(OLD.popped, 1, 0)
+WHERE queue_name = OLD.queue_name AND shard = CONNECTION_ID() % 16;
+
+-- the upserts of the messages and their unack timeouts leave the counts unchanged, and match no row here
+CREATE TRIGGER count_popped_queue_message AFTER UPDATE ON queue_message
+FOR EACH ROW
+UPDATE queue_message_count
+SET unacked = unacked + IF(NEW.popped, 1, 0) - IF(OLD.popped, 1, 0)
+WHERE queue_name = NEW.queue_name AND shard = CONNECTION_ID() % 16 AND NOT (NEW.popped <=> OLD.popped);
+
+INSERT IGNORE INTO queue_message_count (queue_name, shard)
+SELECT q.queue_name, s.shard
+FROM (SELECT queue_name FROM queue UNION SELECT queue_name FROM queue_message) q
+CROSS JOIN queue_message_count_shard s;
+
+UPDATE queue_message_count c
+JOIN (
+  SELECT queue_name, COUNT(*) AS size, SUM(IF(popped, 1, 0)) AS unacked FROM queue_message GROUP BY queue_name
+) m ON c.queue_name = m.queue_name
+SET c.size = m.size, c.unacked = m.unacked
+WHERE c.shard = 0;
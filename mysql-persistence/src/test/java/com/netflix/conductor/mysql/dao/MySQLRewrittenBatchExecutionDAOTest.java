@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.mysql.dao;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.mysql.config.MySQLConfiguration;
+import org.flywaydb.core.Flyway;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class, MySQLConfiguration.class, FlywayAutoConfiguration.class})
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {
+        // the driver rewrites the batches into multi-row inserts, whose update counts are SUCCESS_NO_INFO
+        "spring.datasource.url=jdbc:tc:mysql:///conductor?rewriteBatchedStatements=true"})
+public class MySQLRewrittenBatchExecutionDAOTest extends ExecutionDAOTest {
+
+    @Autowired
+    private MySQLExecutionDAO executionDAO;
+
+    @Autowired
+    Flyway flyway;
+
+    // clean the database between tests.
+    @Before
+    public void before() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Override
+    public ExecutionDAO getExecutionDAO() {
+        return executionDAO;
+    }
+}
@@ -13,13 +13,21 @@
 package com.netflix.conductor.postgres.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.core.utils.DocumentCodec;
 import com.netflix.conductor.postgres.dao.PostgresExecutionDAO;
 import com.netflix.conductor.postgres.dao.PostgresMetadataDAO;
+import com.netflix.conductor.postgres.dao.PostgresPartitionManager;
 import com.netflix.conductor.postgres.dao.PostgresQueueDAO;
+import com.netflix.conductor.postgres.util.ReadRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Properties;
 import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,27 +44,103 @@ import org.springframework.context.annotation.Import;
 public class PostgresConfiguration {
 
     @Bean
-    public FlywayConfigurationCustomizer flywayConfigurationCustomizer() {
+    public FlywayConfigurationCustomizer flywayConfigurationCustomizer(PostgresProperties properties) {
         // override the default location.
+        if (properties.isPartitioningEnabled()) {
+            // the partitioning migration may be enabled after later migrations have been applied
+            return configuration -> configuration
+                .locations("classpath:db/migration_postgres", "classpath:db/migration_postgres_partitioned")
+                .outOfOrder(true);
+        }
         return configuration -> configuration.locations("classpath:db/migration_postgres");
     }
 
+    /**
+     * Configures the prepared statement cache of the driver on the Hikari pool of the primary data source, before the
+     * pool opens its first connection.
+     */
+    @Bean
+    public static BeanPostProcessor postgresStatementCacheConfigurer(ObjectProvider<PostgresProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    configureStatementCache((HikariDataSource) bean, properties.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * The data source properties set explicitly on the pool take precedence.
+     */
+    private static void configureStatementCache(HikariDataSource dataSource, PostgresProperties properties) {
+        Properties driverProperties = dataSource.getDataSourceProperties();
+        // parse and plan each statement once per connection
+        driverProperties.putIfAbsent("prepareThreshold", String.valueOf(properties.getPrepareThreshold()));
+        driverProperties.putIfAbsent("preparedStatementCacheQueries",
+            String.valueOf(properties.getPreparedStatementCacheQueries()));
+    }
+
+    /**
+     * The read replica is not exposed as a {@link DataSource} bean, which would replace the auto-configured primary.
+     */
+    @Bean
+    public ReadRouting postgresReadRouting(DataSource dataSource, DataSourceProperties dataSourceProperties,
+        PostgresProperties properties) {
+        if (properties.getReadReplicaUrl() == null) {
+            return new ReadRouting(dataSource);
+        }
+        // the driver and the credentials default to the ones of the primary
+        HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(properties.getReadReplicaUrl())
+            .build();
+        if (properties.getReadReplicaUsername() != null) {
+            replica.setUsername(properties.getReadReplicaUsername());
+        }
+        if (properties.getReadReplicaPassword() != null) {
+            replica.setPassword(properties.getReadReplicaPassword());
+        }
+        replica.setPoolName("conductor-postgres-read-replica");
+        replica.setMaximumPoolSize(properties.getReadReplicaMaxPoolSize());
+        replica.setReadOnly(true);
+        configureStatementCache(replica, properties);
+        return new ReadRouting(dataSource, replica, properties.getReadConsistency());
+    }
+
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
     public PostgresMetadataDAO postgresMetadataDAO(ObjectMapper objectMapper, DataSource dataSource,
-        PostgresProperties properties) {
-        return new PostgresMetadataDAO(objectMapper, dataSource, properties);
+        ReadRouting readRouting, PostgresProperties properties) {
+        return new PostgresMetadataDAO(objectMapper, dataSource, readRouting, properties);
     }
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public PostgresExecutionDAO postgresExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new PostgresExecutionDAO(objectMapper, dataSource);
+    public PostgresExecutionDAO postgresExecutionDAO(ObjectMapper objectMapper, DataSource dataSource,
+        ReadRouting readRouting, ObjectProvider<DocumentCodec> documentCodec, PostgresProperties properties) {
+        return new PostgresExecutionDAO(objectMapper, dataSource, readRouting,
+            documentCodec.getIfAvailable(() -> new DocumentCodec(objectMapper)), properties);
+    }
+
+    /**
+     * Maintains the partitions of the workflow and task tables from its start, before anything is written, until the
+     * context is closed.
+     */
+    @Bean
+    @DependsOn({"flyway", "flywayInitializer"})
+    @ConditionalOnProperty(name = "conductor.postgres.partitioning-enabled", havingValue = "true")
+    public PostgresPartitionManager postgresPartitionManager(ObjectMapper objectMapper, DataSource dataSource,
+        PostgresProperties properties) {
+        return new PostgresPartitionManager(objectMapper, dataSource, properties);
     }
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public PostgresQueueDAO postgresQueueDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new PostgresQueueDAO(objectMapper, dataSource);
+    public PostgresQueueDAO postgresQueueDAO(ObjectMapper objectMapper, DataSource dataSource,
+        ReadRouting readRouting, PostgresProperties properties) {
+        return new PostgresQueueDAO(objectMapper, dataSource, readRouting, properties);
     }
 }
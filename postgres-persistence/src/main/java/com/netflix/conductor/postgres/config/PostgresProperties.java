@@ -12,12 +12,15 @@
  */
 package com.netflix.conductor.postgres.config;
 
+import com.netflix.conductor.postgres.util.ReadRouting.ReadConsistency;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 
 import java.sql.Connection;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
 
 @ConfigurationProperties("conductor.postgres")
 public class PostgresProperties {
@@ -29,6 +32,82 @@ public class PostgresProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration taskDefCacheRefreshInterval = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable long polling of the queues. Pushes notify the pollers of the queue through LISTEN/NOTIFY instead
+     * of the pollers checking the queue every 100 milliseconds.
+     */
+    private boolean queueLongPollEnabled = false;
+
+    /**
+     * The maximum time a long poller waits for a notification before checking the queue again, which bounds the delay
+     * of the messages pushed with an offset.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration queueLongPollRecheckInterval = Duration.ofMillis(1000);
+
+    /**
+     * Used to enable storing each distinct workflow definition once and persisting workflows with a reference to their
+     * definition instead of a copy of it
+     */
+    private boolean workflowDefinitionReferencesEnabled = false;
+
+    /**
+     * Used to enable the partitioning of the workflow and task tables by day of creation. The tables are converted by a
+     * migration the first time it is enabled, which can not be reverted and requires PostgreSQL 11 or later
+     */
+    private boolean partitioningEnabled = false;
+
+    /**
+     * The time in days after which the partitions of the workflow and task tables are dropped, along with the workflows
+     * and tasks created in them. Partitions holding a running workflow are kept until it completes
+     */
+    @DurationUnit(ChronoUnit.DAYS)
+    private Duration partitionRetention = Duration.ofDays(30);
+
+    /**
+     * The number of daily partitions of the workflow and task tables created ahead of the current day
+     */
+    private int partitionsCreatedAhead = 7;
+
+    /**
+     * The JDBC URL of a read-only replica of the database. When set, the reads of the DAO methods that tolerate stale
+     * results, such as the workflow searches and the queue details shown by the UI, are routed to it
+     */
+    private String readReplicaUrl;
+
+    /**
+     * The username of the read replica, defaulting to the one of the primary data source
+     */
+    private String readReplicaUsername;
+
+    /**
+     * The password of the read replica, defaulting to the one of the primary data source
+     */
+    private String readReplicaPassword;
+
+    /**
+     * The maximum number of connections to the read replica
+     */
+    private int readReplicaMaxPoolSize = 10;
+
+    /**
+     * The read consistency of the DAO methods that may read from the read replica, by method name. These methods read
+     * from the replica unless they are set to {@code primary} here
+     */
+    private Map<String, ReadConsistency> readConsistency = new HashMap<>();
+
+    /**
+     * The number of executions of a statement on a connection after which the driver prepares it on the server, so
+     * that it is parsed and planned once per connection. Passed to the driver unless set in the data source properties
+     * of the Hikari pool
+     */
+    private int prepareThreshold = 1;
+
+    /**
+     * The number of statements prepared on the server that the driver caches per connection. Passed to the driver
+     * unless set in the data source properties of the Hikari pool
+     */
+    private int preparedStatementCacheQueries = 256;
 
     public Duration getTaskDefCacheRefreshInterval() {
         return taskDefCacheRefreshInterval;
@@ -37,4 +116,108 @@ public class PostgresProperties {
     public void setTaskDefCacheRefreshInterval(Duration taskDefCacheRefreshInterval) {
         this.taskDefCacheRefreshInterval = taskDefCacheRefreshInterval;
     }
+
+    public boolean isQueueLongPollEnabled() {
+        return queueLongPollEnabled;
+    }
+
+    public void setQueueLongPollEnabled(boolean queueLongPollEnabled) {
+        this.queueLongPollEnabled = queueLongPollEnabled;
+    }
+
+    public Duration getQueueLongPollRecheckInterval() {
+        return queueLongPollRecheckInterval;
+    }
+
+    public void setQueueLongPollRecheckInterval(Duration queueLongPollRecheckInterval) {
+        this.queueLongPollRecheckInterval = queueLongPollRecheckInterval;
+    }
+
+    public boolean isWorkflowDefinitionReferencesEnabled() {
+        return workflowDefinitionReferencesEnabled;
+    }
+
+    public void setWorkflowDefinitionReferencesEnabled(boolean workflowDefinitionReferencesEnabled) {
+        this.workflowDefinitionReferencesEnabled = workflowDefinitionReferencesEnabled;
+    }
+
+    public boolean isPartitioningEnabled() {
+        return partitioningEnabled;
+    }
+
+    public void setPartitioningEnabled(boolean partitioningEnabled) {
+        this.partitioningEnabled = partitioningEnabled;
+    }
+
+    public Duration getPartitionRetention() {
+        return partitionRetention;
+    }
+
+    public void setPartitionRetention(Duration partitionRetention) {
+        this.partitionRetention = partitionRetention;
+    }
+
+    public int getPartitionsCreatedAhead() {
+        return partitionsCreatedAhead;
+    }
+
+    public void setPartitionsCreatedAhead(int partitionsCreatedAhead) {
+        this.partitionsCreatedAhead = partitionsCreatedAhead;
+    }
+
+    public String getReadReplicaUrl() {
+        return readReplicaUrl;
+    }
+
+    public void setReadReplicaUrl(String readReplicaUrl) {
+        this.readReplicaUrl = readReplicaUrl;
+    }
+
+    public String getReadReplicaUsername() {
+        return readReplicaUsername;
+    }
+
+    public void setReadReplicaUsername(String readReplicaUsername) {
+        this.readReplicaUsername = readReplicaUsername;
+    }
+
+    public String getReadReplicaPassword() {
+        return readReplicaPassword;
+    }
+
+    public void setReadReplicaPassword(String readReplicaPassword) {
+        this.readReplicaPassword = readReplicaPassword;
+    }
+
+    public int getReadReplicaMaxPoolSize() {
+        return readReplicaMaxPoolSize;
+    }
+
+    public void setReadReplicaMaxPoolSize(int readReplicaMaxPoolSize) {
+        this.readReplicaMaxPoolSize = readReplicaMaxPoolSize;
+    }
+
+    public Map<String, ReadConsistency> getReadConsistency() {
+        return readConsistency;
+    }
+
+    public void setReadConsistency(Map<String, ReadConsistency> readConsistency) {
+        this.readConsistency = readConsistency;
+    }
+
+    public int getPrepareThreshold() {
+        return prepareThreshold;
+    }
+
+    public void setPrepareThreshold(int prepareThreshold) {
+        this.prepareThreshold = prepareThreshold;
+    }
+
+    public int getPreparedStatementCacheQueries() {
+        return preparedStatementCacheQueries;
+    }
+
+    public void setPreparedStatementCacheQueries(int preparedStatementCacheQueries) {
+        this.preparedStatementCacheQueries = preparedStatementCacheQueries;
+    }
 }
@@ -28,6 +28,7 @@ import com.netflix.conductor.postgres.util.ExecuteFunction;
 import com.netflix.conductor.postgres.util.LazyToString;
 import com.netflix.conductor.postgres.util.Query;
 import com.netflix.conductor.postgres.util.QueryFunction;
+import com.netflix.conductor.postgres.util.ReadRouting;
 import com.netflix.conductor.postgres.util.TransactionalFunction;
 import java.io.IOException;
 import java.sql.Connection;
@@ -56,10 +57,16 @@ public abstract class PostgresBaseDAO {
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     protected final ObjectMapper objectMapper;
     protected final DataSource dataSource;
+    private final ReadRouting readRouting;
 
     protected PostgresBaseDAO(ObjectMapper objectMapper, DataSource dataSource) {
+        this(objectMapper, dataSource, new ReadRouting(dataSource));
+    }
+
+    protected PostgresBaseDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting) {
         this.objectMapper = objectMapper;
         this.dataSource = dataSource;
+        this.readRouting = readRouting;
     }
 
     protected final LazyToString getCallingMethod() {
@@ -95,7 +102,7 @@ public abstract class PostgresBaseDAO {
     }
 
     /**
-     * Initialize a new transactional {@link Connection} from {@link #dataSource} and pass it to {@literal function}.
+     * Initialize a new transactional {@link Connection} from {@literal dataSource} and pass it to {@literal function}.
      * <p>
      * Successful executions of {@literal function} will result in a commit and return of {@link
      * TransactionalFunction#apply(Connection)}.
@@ -106,12 +113,13 @@ public abstract class PostgresBaseDAO {
      * Generally this is used to wrap multiple {@link #execute(Connection, String, ExecuteFunction)} or {@link
      * #query(Connection, String, QueryFunction)} invocations that produce some expected return value.
      *
-     * @param function The function to apply with a new transactional {@link Connection}
-     * @param <R>      The return type.
+     * @param dataSource The data source to get the {@link Connection} from.
+     * @param function   The function to apply with a new transactional {@link Connection}
+     * @param <R>        The return type.
      * @return The result of {@code TransactionalFunction#apply(Connection)}
      * @throws ApplicationException If any errors occur.
      */
-    private <R> R getWithTransaction(final TransactionalFunction<R> function) {
+    private <R> R getWithTransaction(final DataSource dataSource, final TransactionalFunction<R> function) {
         final Instant start = Instant.now();
         LazyToString callingMethod = getCallingMethod();
         logger.trace("{} : starting transaction", callingMethod);
@@ -140,9 +148,13 @@ public abstract class PostgresBaseDAO {
     }
 
     <R> R getWithRetriedTransactions(final TransactionalFunction<R> function) {
+        return getWithRetriedTransactions(dataSource, function);
+    }
+
+    private <R> R getWithRetriedTransactions(final DataSource dataSource, final TransactionalFunction<R> function) {
         try {
             return new RetryUtil<R>().retryOnException(
-                () -> getWithTransaction(function),
+                () -> getWithTransaction(dataSource, function),
                 this::isDeadLockError,
                 null,
                 MAX_RETRY_ON_DEADLOCK,
@@ -211,6 +223,46 @@ public abstract class PostgresBaseDAO {
         return getWithRetriedTransactions(tx -> query(tx, query, function));
     }
 
+    /**
+     * The data source that the reads of {@literal method} are routed to, which is the read replica when one is
+     * configured, unless the read consistency of the method is set to the primary.
+     *
+     * @param method The name of the DAO method reading, whose results must tolerate being stale.
+     * @return The data source to read from.
+     */
+    protected DataSource readDataSource(String method) {
+        return readRouting.dataSourceFor(getClass().getSimpleName(), method);
+    }
+
+    /**
+     * Like {@link #getWithRetriedTransactions(TransactionalFunction)}, on the data source that the reads of {@literal
+     * method} are routed to. A read replica rejects writes and row locks, so {@literal function} must only read.
+     *
+     * @param method   The name of the DAO method reading, whose results must tolerate being stale.
+     * @param function The function to apply with a new transactional {@link Connection}
+     * @param <R>      The return type.
+     * @return The result of {@code TransactionalFunction#apply(Connection)}
+     * @see #readDataSource(String)
+     */
+    protected <R> R getForRead(String method, TransactionalFunction<R> function) {
+        return getWithRetriedTransactions(readDataSource(method), function);
+    }
+
+    /**
+     * Like {@link #queryWithTransaction(String, QueryFunction)}, on the data source that the reads of {@literal method}
+     * are routed to.
+     *
+     * @param method   The name of the DAO method reading, whose results must tolerate being stale.
+     * @param query    The query string to prepare.
+     * @param function The functional callback to pass a {@link Query} to.
+     * @param <R>      The expected return type of {@literal function}.
+     * @return The results of applying {@literal function}.
+     * @see #getForRead(String, TransactionalFunction)
+     */
+    protected <R> R queryForRead(String method, String query, QueryFunction<R> function) {
+        return getForRead(method, tx -> query(tx, query, function));
+    }
+
     /**
      * Execute a {@link Query} within the context of a given transaction and return the results of {@literal function}.
      *
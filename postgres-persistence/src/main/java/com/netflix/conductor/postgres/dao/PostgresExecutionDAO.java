@@ -15,29 +15,41 @@ package com.netflix.conductor.postgres.dao;
 import static com.netflix.conductor.core.exception.ApplicationException.Code.BACKEND_ERROR;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.utils.DocumentCodec;
+import com.netflix.conductor.core.utils.WorkflowDefinitionStore;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.PollDataDAO;
 import com.netflix.conductor.dao.RateLimitingDAO;
 import com.netflix.conductor.metrics.Monitors;
-import com.netflix.conductor.postgres.util.Query;
+import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.util.ReadRouting;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 
@@ -45,9 +57,27 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
 
     private static final String ARCHIVED_FIELD = "archived";
     private static final String RAW_JSON_FIELD = "rawJSON";
+    private static final long CREATED_ON_MARGIN_MS = TimeUnit.DAYS.toMillis(1);
+    private static final int CREATED_ON_CACHE_SIZE = 100_000;
+
+    private final DocumentCodec documentCodec;
+    private final WorkflowDefinitionStore workflowDefinitionStore;
+    private final boolean partitioningEnabled;
+    /*
+     * The created_on of the workflows and tasks last read or written, by id, so that the lookups by id on partitioned
+     * tables only scan the partition of the row. The tasks of a workflow are created on the created_on of the workflow,
+     * so that they are dropped with it, and are looked up from it.
+     */
+    private final Cache<String, Timestamp> createdOn =
+        CacheBuilder.newBuilder().maximumSize(CREATED_ON_CACHE_SIZE).build();
 
-    public PostgresExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        super(objectMapper, dataSource);
+    public PostgresExecutionDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting,
+        DocumentCodec documentCodec, PostgresProperties properties) {
+        super(objectMapper, dataSource, readRouting);
+        this.documentCodec = documentCodec;
+        this.workflowDefinitionStore = new WorkflowDefinitionStore(documentCodec, new WorkflowDefinitionStorage(),
+            properties.isWorkflowDefinitionReferencesEnabled());
+        this.partitioningEnabled = properties.isPartitioningEnabled();
     }
 
     private static String dateStr(Long timeInMs) {
@@ -60,6 +90,16 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         return format.format(date);
     }
 
+    private <T> T decode(String document, Class<T> type) {
+        return document == null ? null : documentCodec.decode(document, type);
+    }
+
+    private <T> List<T> decode(List<String> documents, Class<T> type) {
+        return documents.stream()
+            .map(document -> documentCodec.decode(document, type))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public List<Task> getPendingTasksByWorkflow(String taskDefName, String workflowId) {
         // @formatter:off
@@ -68,7 +108,8 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         // @formatter:on
 
         return queryWithTransaction(GET_IN_PROGRESS_TASKS_FOR_WORKFLOW,
-            q -> q.addParameter(taskDefName).addParameter(workflowId).executeAndFetch(Task.class));
+            q -> decode(q.addParameter(taskDefName).addParameter(workflowId).executeAndFetch(String.class),
+                Task.class));
     }
 
     @Override
@@ -103,39 +144,36 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
 
     @Override
     public List<Task> createTasks(List<Task> tasks) {
-        List<Task> created = Lists.newArrayListWithCapacity(tasks.size());
+        if (tasks.isEmpty()) {
+            return Lists.newArrayList();
+        }
 
-        for (Task task : tasks) {
-            withTransaction(connection -> {
+        return getWithRetriedTransactions(connection -> {
+            for (Task task : tasks) {
                 validate(task);
-
                 task.setScheduledTime(System.currentTimeMillis());
+            }
 
-                final String taskKey = taskKey(task);
-
-                boolean scheduledTaskAdded = addScheduledTask(connection, task, taskKey);
-
-                if (!scheduledTaskAdded) {
-                    logger.trace("Task already scheduled, skipping the run " + task.getTaskId() + ", ref="
-                        + task.getReferenceTaskName() + ", key=" + taskKey);
-                    return;
-                }
-
-                insertOrUpdateTaskData(connection, task);
-                addWorkflowToTaskMapping(connection, task);
-                addTaskInProgress(connection, task);
-                updateTask(connection, task);
-
-                created.add(task);
-            });
-        }
-
-        return created;
+            List<Task> created = addScheduledTasks(connection, tasks);
+            if (!created.isEmpty()) {
+                insertTaskData(connection, created);
+                addWorkflowToTaskMappings(connection, created);
+                addTasksInProgress(connection, created);
+            }
+            return created;
+        });
     }
 
     @Override
     public void updateTask(Task task) {
-        withTransaction(connection -> updateTask(connection, task));
+        withTransaction(connection -> updateTasks(connection, Collections.singletonList(task)));
+    }
+
+    @Override
+    public void updateTasks(List<Task> tasks) {
+        if (!tasks.isEmpty()) {
+            withTransaction(connection -> updateTasks(connection, tasks));
+        }
     }
 
     /**
@@ -202,16 +240,16 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         withTransaction(connection -> {
             removeScheduledTask(connection, task, taskKey);
             removeWorkflowToTaskMapping(connection, task);
-            removeTaskInProgress(connection, task);
+            removeTasksInProgress(connection, Collections.singletonList(task));
             removeTaskData(connection, task);
         });
+        createdOn.invalidate(taskId);
         return true;
     }
 
     @Override
     public Task getTask(String taskId) {
-        String GET_TASK = "SELECT json_data FROM task WHERE task_id = ?";
-        return queryWithTransaction(GET_TASK, q -> q.addParameter(taskId).executeAndFetchFirst(Task.class));
+        return getWithRetriedTransactions(tx -> decode(readDocument(tx, "task", "task_id", taskId), Task.class));
     }
 
     @Override
@@ -219,7 +257,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         if (taskIds.isEmpty()) {
             return Lists.newArrayList();
         }
-        return getWithRetriedTransactions(c -> getTasks(c, taskIds));
+        return getWithRetriedTransactions(c -> getTasks(c, taskIds, null));
     }
 
     @Override
@@ -231,16 +269,13 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         // @formatter:on
 
         return queryWithTransaction(GET_IN_PROGRESS_TASKS_FOR_TYPE,
-            q -> q.addParameter(taskName).executeAndFetch(Task.class));
+            q -> decode(q.addParameter(taskName).executeAndFetch(String.class), Task.class));
     }
 
     @Override
     public List<Task> getTasksForWorkflow(String workflowId) {
-        String GET_TASKS_FOR_WORKFLOW = "SELECT task_id FROM workflow_to_task WHERE workflow_id = ? FOR SHARE";
-        return getWithRetriedTransactions(tx -> query(tx, GET_TASKS_FOR_WORKFLOW, q -> {
-            List<String> taskIds = q.addParameter(workflowId).executeScalarList(String.class);
-            return getTasks(tx, taskIds);
-        }));
+        return getWithRetriedTransactions(tx -> getTasks(tx, getTaskIdsForWorkflow(tx, workflowId, " FOR SHARE"),
+            createdOn.getIfPresent(workflowId)));
     }
 
     @Override
@@ -263,6 +298,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
                 removeWorkflow(connection, workflowId);
                 removePendingWorkflow(connection, workflow.getWorkflowName(), workflowId);
             });
+            createdOn.invalidate(workflowId);
             removed = true;
 
             for (Task task : workflow.getTasks()) {
@@ -275,12 +311,28 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
     }
 
     /**
-     * This is a dummy implementation and this feature is not supported for Postgres backed Conductor
+     * Supported only when the workflow and task tables are partitioned. The workflow is removed from the pending
+     * workflows and scheduled tasks, and its rows are left to be dropped with their partitions once the partition
+     * retention, rather than the given time to live, elapses.
      */
     @Override
     public boolean removeWorkflowWithExpiry(String workflowId, int ttlSeconds) {
-        throw new UnsupportedOperationException(
-            "This method is not implemented in MySQLExecutionDAO. Please use RedisDAO mode instead for using TTLs.");
+        if (!partitioningEnabled) {
+            throw new UnsupportedOperationException(
+                "This method is not implemented in MySQLExecutionDAO. Please use RedisDAO mode instead for using TTLs.");
+        }
+
+        Workflow workflow = getWorkflow(workflowId, false);
+        if (workflow == null) {
+            return false;
+        }
+        withTransaction(connection -> {
+            removePendingWorkflow(connection, workflow.getWorkflowName(), workflowId);
+
+            String REMOVE_SCHEDULED_TASKS = "DELETE FROM task_scheduled WHERE workflow_id = ?";
+            execute(connection, REMOVE_SCHEDULED_TASKS, q -> q.addParameter(workflowId).executeDelete());
+        });
+        return true;
     }
 
     @Override
@@ -298,6 +350,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         Workflow workflow = getWithRetriedTransactions(tx -> readWorkflow(tx, workflowId));
 
         if (workflow != null) {
+            workflowDefinitionStore.hydrate(workflow);
             if (includeTasks) {
                 List<Task> tasks = getTasksForWorkflow(workflowId);
                 tasks.sort(Comparator.comparingLong(Task::getScheduledTime).thenComparingInt(Task::getSeq));
@@ -359,17 +412,22 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
 
         List<Workflow> workflows = new LinkedList<>();
 
-        withTransaction(tx -> {
+        // the whole read may go to the read replica, which rejects row locks
+        getForRead("getWorkflowsByType", tx -> {
             // @formatter:off
             String GET_ALL_WORKFLOWS_FOR_WORKFLOW_DEF = "SELECT workflow_id FROM workflow_def_to_workflow "
-                + "WHERE workflow_def = ? AND date_str BETWEEN ? AND ? FOR SHARE SKIP LOCKED";
+                + "WHERE workflow_def = ? AND date_str BETWEEN ? AND ? AND created_on BETWEEN ? AND ?";
             // @formatter:on
 
+            // created_on bounds the partitions scanned, with a day of margin for the time zone of the database
             List<String> workflowIds = query(tx, GET_ALL_WORKFLOWS_FOR_WORKFLOW_DEF, q -> q.addParameter(workflowName)
-                .addParameter(dateStr(startTime)).addParameter(dateStr(endTime)).executeScalarList(String.class));
+                .addParameter(dateStr(startTime)).addParameter(dateStr(endTime))
+                .addTimestampParameter(startTime - CREATED_ON_MARGIN_MS)
+                .addTimestampParameter(endTime + CREATED_ON_MARGIN_MS)
+                .executeScalarList(String.class));
             workflowIds.forEach(workflowId -> {
                 try {
-                    Workflow wf = getWorkflow(workflowId);
+                    Workflow wf = readWorkflowWithTasks(tx, workflowId);
                     if (wf.getCreateTime() >= startTime && wf.getCreateTime() <= endTime) {
                         workflows.add(wf);
                     }
@@ -377,6 +435,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
                     logger.error("Unable to load workflow id {} with name {}", workflowId, workflowName, e);
                 }
             });
+            return null;
         });
 
         return workflows;
@@ -385,10 +444,13 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
     @Override
     public List<Workflow> getWorkflowsByCorrelationId(String workflowName, String correlationId, boolean includeTasks) {
         Preconditions.checkNotNull(correlationId, "correlationId cannot be null");
-        String GET_WORKFLOWS_BY_CORRELATION_ID = "SELECT w.json_data FROM workflow w left join workflow_def_to_workflow wd on w.workflow_id = wd.workflow_id  WHERE w.correlation_id = ? and wd.workflow_def = ? FOR SHARE SKIP LOCKED";
+        String GET_WORKFLOWS_BY_CORRELATION_ID = "SELECT w.json_data FROM workflow w left join workflow_def_to_workflow wd on w.workflow_id = wd.workflow_id  WHERE w.correlation_id = ? and wd.workflow_def = ?";
 
-        return queryWithTransaction(GET_WORKFLOWS_BY_CORRELATION_ID,
-            q -> q.addParameter(correlationId).addParameter(workflowName).executeAndFetch(Workflow.class));
+        List<Workflow> workflows = queryForRead("getWorkflowsByCorrelationId", GET_WORKFLOWS_BY_CORRELATION_ID,
+            q -> decode(q.addParameter(correlationId).addParameter(workflowName).executeAndFetch(String.class),
+                Workflow.class));
+        workflows.forEach(workflowDefinitionStore::hydrate);
+        return workflows;
     }
 
     @Override
@@ -473,7 +535,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
 
     @Override
     public List<PollData> getAllPollData() {
-        try (Connection tx = dataSource.getConnection()) {
+        try (Connection tx = readDataSource("getAllPollData").getConnection()) {
             boolean previousAutoCommitMode = tx.getAutoCommit();
             tx.setAutoCommit(true);
             try {
@@ -489,18 +551,39 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         }
     }
 
-    private List<Task> getTasks(Connection connection, List<String> taskIds) {
+    /**
+     * @param createdSince the created_on of the workflow of the tasks, which none of them was created before, if known
+     */
+    private List<Task> getTasks(Connection connection, List<String> taskIds, Timestamp createdSince) {
         if (taskIds.isEmpty()) {
             return Lists.newArrayList();
         }
 
-        // Generate a formatted query string with a variable number of bind params based
-        // on taskIds.size()
-        final String GET_TASKS_FOR_IDS = String.format(
-            "SELECT json_data FROM task WHERE task_id IN (%s) AND json_data IS NOT NULL",
-            Query.generateInBindings(taskIds.size()));
+        // A single array parameter keeps the statement the same whatever the number of ids
+        final String GET_TASKS_FOR_IDS = "SELECT json_data FROM task WHERE task_id = ANY(?) AND json_data IS NOT NULL";
+        if (!partitioningEnabled) {
+            return query(connection, GET_TASKS_FOR_IDS,
+                q -> decode(q.addArrayParameter("varchar", taskIds).executeAndFetch(String.class), Task.class));
+        }
 
-        return query(connection, GET_TASKS_FOR_IDS, q -> q.addParameters(taskIds).executeAndFetch(Task.class));
+        // the tasks of a workflow are not created before it, which leaves out the partitions of the days before
+        String GET_PARTITIONED_TASKS_FOR_IDS = "SELECT task_id, json_data, created_on FROM task "
+            + "WHERE task_id = ANY(?) AND json_data IS NOT NULL" + (createdSince != null ? " AND created_on >= ?" : "");
+        List<String> documents = query(connection, GET_PARTITIONED_TASKS_FOR_IDS, q -> {
+            q.addArrayParameter("varchar", taskIds);
+            if (createdSince != null) {
+                q.addParameter(createdSince);
+            }
+            return q.executeAndFetch(rs -> {
+                List<String> result = new ArrayList<>(taskIds.size());
+                while (rs.next()) {
+                    createdOn.put(rs.getString(1), rs.getTimestamp(3));
+                    result.add(rs.getString(2));
+                }
+                return result;
+            });
+        });
+        return decode(documents, Task.class);
     }
 
     private String insertOrUpdateWorkflow(Workflow workflow, boolean update) {
@@ -510,61 +593,185 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
 
         List<Task> tasks = workflow.getTasks();
         workflow.setTasks(Lists.newLinkedList());
+        WorkflowDef workflowDefinition = workflowDefinitionStore.dereference(workflow);
 
-        withTransaction(tx -> {
-            if (!update) {
-                addWorkflow(tx, workflow);
-                addWorkflowDefToWorkflowMapping(tx, workflow);
-            } else {
-                updateWorkflow(tx, workflow);
-            }
+        try {
+            withTransaction(tx -> {
+                if (!update) {
+                    addWorkflow(tx, workflow);
+                    addWorkflowDefToWorkflowMapping(tx, workflow);
+                } else {
+                    updateWorkflow(tx, workflow);
+                }
 
-            if (terminal) {
-                removePendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
-            } else {
-                addPendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
-            }
-        });
+                if (terminal) {
+                    removePendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+                } else {
+                    addPendingWorkflow(tx, workflow.getWorkflowName(), workflow.getWorkflowId());
+                }
+            });
+        } finally {
+            workflowDefinitionStore.restore(workflow, workflowDefinition);
+        }
 
         workflow.setTasks(tasks);
         return workflow.getWorkflowId();
     }
 
-    private void updateTask(Connection connection, Task task) {
-        Optional<TaskDef> taskDefinition = task.getTaskDefinition();
-
-        if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
-            boolean inProgress = task.getStatus() != null && task.getStatus().equals(Task.Status.IN_PROGRESS);
-            updateInProgressStatus(connection, task, inProgress);
+    private void updateTasks(Connection connection, List<Task> tasks) {
+        List<Task> concurrencyLimitedTasks = tasks.stream()
+            .filter(task -> task.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0) > 0)
+            .collect(Collectors.toList());
+        if (!concurrencyLimitedTasks.isEmpty()) {
+            updateInProgressStatus(connection, concurrencyLimitedTasks);
         }
 
-        insertOrUpdateTaskData(connection, task);
+        insertOrUpdateTaskData(connection, tasks);
 
-        if (task.getStatus() != null && task.getStatus().isTerminal()) {
-            removeTaskInProgress(connection, task);
+        List<Task> terminalTasks = tasks.stream()
+            .filter(task -> task.getStatus() != null && task.getStatus().isTerminal())
+            .collect(Collectors.toList());
+        if (!terminalTasks.isEmpty()) {
+            removeTasksInProgress(connection, terminalTasks);
         }
 
-        addWorkflowToTaskMapping(connection, task);
+        addWorkflowToTaskMappings(connection, tasks);
     }
 
     private Workflow readWorkflow(Connection connection, String workflowId) {
-        String GET_WORKFLOW = "SELECT json_data FROM workflow WHERE workflow_id = ?";
+        return decode(readDocument(connection, "workflow", "workflow_id", workflowId), Workflow.class);
+    }
 
-        return query(connection, GET_WORKFLOW, q -> q.addParameter(workflowId).executeAndFetchFirst(Workflow.class));
+    /**
+     * Reads the document of a workflow or a task by id. On partitioned tables, only the partition of the row is scanned
+     * once its created_on is known, which is remembered otherwise.
+     */
+    private String readDocument(Connection connection, String table, String idColumn, String id) {
+        if (!partitioningEnabled) {
+            String GET_DOCUMENT = String.format("SELECT json_data FROM %s WHERE %s = ?", table, idColumn);
+            return query(connection, GET_DOCUMENT, q -> q.addParameter(id).executeAndFetchFirst(String.class));
+        }
+
+        Timestamp created = createdOn.getIfPresent(id);
+        if (created != null) {
+            String GET_DOCUMENT_IN_PARTITION = String.format(
+                "SELECT json_data FROM %s WHERE %s = ? AND created_on = ?", table, idColumn);
+            String document = query(connection, GET_DOCUMENT_IN_PARTITION,
+                q -> q.addParameter(id).addParameter(created).executeAndFetchFirst(String.class));
+            if (document != null) {
+                return document;
+            }
+            // removed, possibly by another server
+            createdOn.invalidate(id);
+        }
+
+        String GET_DOCUMENT_AND_CREATED_ON = String.format(
+            "SELECT json_data, created_on FROM %s WHERE %s = ?", table, idColumn);
+        return query(connection, GET_DOCUMENT_AND_CREATED_ON, q -> q.addParameter(id).executeAndFetch(rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            createdOn.put(id, rs.getTimestamp(2));
+            return rs.getString(1);
+        }));
+    }
+
+    /**
+     * @param lockClause the row lock taken on the mappings, if any
+     */
+    private List<String> getTaskIdsForWorkflow(Connection connection, String workflowId, String lockClause) {
+        String GET_TASK_IDS_FOR_WORKFLOW = "SELECT task_id FROM workflow_to_task WHERE workflow_id = ?";
+        Timestamp workflowCreatedOn = partitioningEnabled ? createdOn.getIfPresent(workflowId) : null;
+        if (workflowCreatedOn == null) {
+            return query(connection, GET_TASK_IDS_FOR_WORKFLOW + lockClause,
+                q -> q.addParameter(workflowId).executeScalarList(String.class));
+        }
+        // the tasks of a workflow are not created before it, which leaves out the partitions of the days before
+        return query(connection, GET_TASK_IDS_FOR_WORKFLOW + " AND created_on >= ?" + lockClause,
+            q -> q.addParameter(workflowId).addParameter(workflowCreatedOn).executeScalarList(String.class));
+    }
+
+    /**
+     * The created_on of a workflow, which its tasks are written with so that they are kept in the partition of the
+     * workflow and dropped with it. Read from the workflow when it is not known yet.
+     *
+     * @return the created_on of the workflow, or the current time when there is no such workflow
+     */
+    private Timestamp getWorkflowCreatedOn(Connection connection, String workflowId) {
+        Timestamp created = createdOn.getIfPresent(workflowId);
+        if (created == null) {
+            String GET_WORKFLOW_CREATED_ON = "SELECT created_on FROM workflow WHERE workflow_id = ?";
+            created = query(connection, GET_WORKFLOW_CREATED_ON,
+                q -> q.addParameter(workflowId).executeScalar(Timestamp.class));
+            if (created == null) {
+                return new Timestamp(System.currentTimeMillis());
+            }
+            createdOn.put(workflowId, created);
+        }
+        return created;
+    }
+
+    /**
+     * @return the created_on of the workflows of the tasks, by workflow id
+     */
+    private Map<String, Timestamp> getWorkflowsCreatedOn(Connection connection, List<Task> tasks) {
+        Map<String, Timestamp> workflowsCreatedOn = new HashMap<>();
+        for (Task task : tasks) {
+            workflowsCreatedOn.computeIfAbsent(task.getWorkflowInstanceId(),
+                workflowId -> getWorkflowCreatedOn(connection, workflowId));
+        }
+        return workflowsCreatedOn;
+    }
+
+    /**
+     * Reads a workflow and its tasks without locking any row, so that it can be read from the read replica.
+     */
+    private Workflow readWorkflowWithTasks(Connection connection, String workflowId) {
+        Workflow workflow = readWorkflow(connection, workflowId);
+        if (workflow != null) {
+            workflowDefinitionStore.hydrate(workflow);
+            List<String> taskIds = getTaskIdsForWorkflow(connection, workflowId, "");
+            List<Task> tasks = getTasks(connection, taskIds, createdOn.getIfPresent(workflowId));
+            tasks.sort(Comparator.comparingLong(Task::getScheduledTime).thenComparingInt(Task::getSeq));
+            workflow.setTasks(tasks);
+        }
+        return workflow;
     }
 
     private void addWorkflow(Connection connection, Workflow workflow) {
-        String INSERT_WORKFLOW = "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
+        if (!partitioningEnabled) {
+            String INSERT_WORKFLOW = "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
+
+            execute(connection, INSERT_WORKFLOW, q -> q.addParameter(workflow.getWorkflowId())
+                .addParameter(workflow.getCorrelationId()).addParameter(documentCodec.encode(workflow)).executeUpdate());
+            return;
+        }
+
+        Long createTime = workflow.getCreateTime();
+        Timestamp created = new Timestamp(
+            createTime != null && createTime > 0 ? createTime : System.currentTimeMillis());
+        String INSERT_WORKFLOW = "INSERT INTO workflow (workflow_id, correlation_id, json_data, created_on) VALUES (?, ?, ?, ?)";
 
         execute(connection, INSERT_WORKFLOW, q -> q.addParameter(workflow.getWorkflowId())
-            .addParameter(workflow.getCorrelationId()).addJsonParameter(workflow).executeUpdate());
+            .addParameter(workflow.getCorrelationId()).addParameter(documentCodec.encode(workflow))
+            .addParameter(created).executeUpdate());
+        createdOn.put(workflow.getWorkflowId(), created);
     }
 
     private void updateWorkflow(Connection connection, Workflow workflow) {
         String UPDATE_WORKFLOW = "UPDATE workflow SET json_data = ?, modified_on = CURRENT_TIMESTAMP WHERE workflow_id = ?";
 
+        Timestamp created = partitioningEnabled ? createdOn.getIfPresent(workflow.getWorkflowId()) : null;
+        if (created != null) {
+            int updated = query(connection, UPDATE_WORKFLOW + " AND created_on = ?",
+                q -> q.addParameter(documentCodec.encode(workflow)).addParameter(workflow.getWorkflowId())
+                    .addParameter(created).executeUpdate());
+            if (updated > 0) {
+                return;
+            }
+        }
         execute(connection, UPDATE_WORKFLOW,
-            q -> q.addJsonParameter(workflow).addParameter(workflow.getWorkflowId()).executeUpdate());
+            q -> q.addParameter(documentCodec.encode(workflow)).addParameter(workflow.getWorkflowId()).executeUpdate());
     }
 
     private void removeWorkflow(Connection connection, String workflowId) {
@@ -594,17 +801,92 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
             q -> q.addParameter(workflowType).addParameter(workflowId).executeDelete());
     }
 
-    private void insertOrUpdateTaskData(Connection connection, Task task) {
+    private void insertOrUpdateTaskData(Connection connection, List<Task> tasks) {
         /*
          * Most times the row will be updated so let's try the update first. This used to be an 'INSERT/ON CONFLICT do update' sql statement. The problem with that
          * is that if we try the INSERT first, the sequence will be increased even if the ON CONFLICT happens.
          */
         String UPDATE_TASK = "UPDATE task SET json_data=?, modified_on=CURRENT_TIMESTAMP WHERE task_id=?";
-        int rowsUpdated = query(connection, UPDATE_TASK, q -> q.addJsonParameter(task).addParameter(task.getTaskId()).executeUpdate());
 
-        if (rowsUpdated == 0) {
+        List<Task> unlocatedTasks = tasks;
+        if (partitioningEnabled) {
+            // the tasks whose created_on is known are only looked for in their partition
+            List<Task> locatedTasks = new ArrayList<>();
+            List<Timestamp> locations = new ArrayList<>();
+            unlocatedTasks = new ArrayList<>();
+            for (Task task : tasks) {
+                Timestamp created = createdOn.getIfPresent(task.getTaskId());
+                if (created != null) {
+                    locatedTasks.add(task);
+                    locations.add(created);
+                } else {
+                    unlocatedTasks.add(task);
+                }
+            }
+            if (!locatedTasks.isEmpty()) {
+                int[] rowsUpdated = query(connection, UPDATE_TASK + " AND created_on=?", q -> {
+                    for (int i = 0; i < locatedTasks.size(); i++) {
+                        Task task = locatedTasks.get(i);
+                        q.addParameter(documentCodec.encode(task)).addParameter(task.getTaskId())
+                            .addParameter(locations.get(i)).addBatch();
+                    }
+                    return q.executeBatch();
+                });
+                for (int i = 0; i < locatedTasks.size(); i++) {
+                    if (rowsUpdated[i] == 0) {
+                        unlocatedTasks.add(locatedTasks.get(i));
+                    }
+                }
+            }
+        }
+        if (unlocatedTasks.isEmpty()) {
+            return;
+        }
+
+        List<Task> updatedTasks = unlocatedTasks;
+        int[] rowsUpdated = query(connection, UPDATE_TASK, q -> {
+            for (Task task : updatedTasks) {
+                q.addParameter(documentCodec.encode(task)).addParameter(task.getTaskId()).addBatch();
+            }
+            return q.executeBatch();
+        });
+
+        List<Task> missingTasks = new ArrayList<>();
+        for (int i = 0; i < updatedTasks.size(); i++) {
+            if (rowsUpdated[i] == 0) {
+                missingTasks.add(updatedTasks.get(i));
+            }
+        }
+        if (!missingTasks.isEmpty()) {
+            insertTaskData(connection, missingTasks);
+        }
+    }
+
+    private void insertTaskData(Connection connection, List<Task> tasks) {
+        if (!partitioningEnabled) {
             String INSERT_TASK = "INSERT INTO task (task_id, json_data, modified_on) VALUES (?, ?, CURRENT_TIMESTAMP) ON CONFLICT (task_id) DO UPDATE SET json_data=excluded.json_data, modified_on=excluded.modified_on";
-            execute(connection, INSERT_TASK, q -> q.addParameter(task.getTaskId()).addJsonParameter(task).executeUpdate());
+            execute(connection, INSERT_TASK, q -> {
+                for (Task task : tasks) {
+                    q.addParameter(task.getTaskId()).addParameter(documentCodec.encode(task)).addBatch();
+                }
+                q.executeBatch();
+            });
+            return;
+        }
+
+        // the primary key of the partitioned table includes the partition key
+        String INSERT_TASK = "INSERT INTO task (task_id, json_data, modified_on, created_on) VALUES (?, ?, CURRENT_TIMESTAMP, ?) ON CONFLICT (task_id, created_on) DO UPDATE SET json_data=excluded.json_data, modified_on=excluded.modified_on";
+        Map<String, Timestamp> workflowsCreatedOn = getWorkflowsCreatedOn(connection, tasks);
+        execute(connection, INSERT_TASK, q -> {
+            for (Task task : tasks) {
+                Timestamp created = workflowsCreatedOn.get(task.getWorkflowInstanceId());
+                q.addParameter(task.getTaskId()).addParameter(documentCodec.encode(task)).addParameter(created)
+                    .addBatch();
+            }
+            q.executeBatch();
+        });
+        for (Task task : tasks) {
+            createdOn.put(task.getTaskId(), workflowsCreatedOn.get(task.getWorkflowInstanceId()));
         }
     }
 
@@ -614,19 +896,30 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         execute(connection, REMOVE_TASK, q -> q.addParameter(task.getTaskId()).executeDelete());
     }
 
-    private void addWorkflowToTaskMapping(Connection connection, Task task) {
-
-        String EXISTS_WORKFLOW_TO_TASK = "SELECT EXISTS(SELECT 1 FROM workflow_to_task WHERE workflow_id = ? AND task_id = ?)";
-
-        boolean exists = query(connection, EXISTS_WORKFLOW_TO_TASK,
-            q -> q.addParameter(task.getWorkflowInstanceId()).addParameter(task.getTaskId()).exists());
-
-        if (!exists) {
+    private void addWorkflowToTaskMappings(Connection connection, List<Task> tasks) {
+        if (!partitioningEnabled) {
             String INSERT_WORKFLOW_TO_TASK = "INSERT INTO workflow_to_task (workflow_id, task_id) VALUES (?, ?) ON CONFLICT (workflow_id,task_id) DO NOTHING";
 
-            execute(connection, INSERT_WORKFLOW_TO_TASK,
-                q -> q.addParameter(task.getWorkflowInstanceId()).addParameter(task.getTaskId()).executeUpdate());
+            execute(connection, INSERT_WORKFLOW_TO_TASK, q -> {
+                for (Task task : tasks) {
+                    q.addParameter(task.getWorkflowInstanceId()).addParameter(task.getTaskId()).addBatch();
+                }
+                q.executeBatch();
+            });
+            return;
         }
+
+        // the primary key of the partitioned table includes the created_on, which is the one of the workflow
+        String INSERT_WORKFLOW_TO_TASK = "INSERT INTO workflow_to_task (workflow_id, task_id, created_on) VALUES (?, ?, ?) ON CONFLICT (workflow_id,task_id,created_on) DO NOTHING";
+
+        Map<String, Timestamp> workflowsCreatedOn = getWorkflowsCreatedOn(connection, tasks);
+        execute(connection, INSERT_WORKFLOW_TO_TASK, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getWorkflowInstanceId()).addParameter(task.getTaskId())
+                    .addParameter(workflowsCreatedOn.get(task.getWorkflowInstanceId())).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
     private void removeWorkflowToTaskMapping(Connection connection, Task task) {
@@ -652,25 +945,38 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
                 .addParameter(workflow.getWorkflowId()).executeUpdate());
     }
 
-    @VisibleForTesting
-    boolean addScheduledTask(Connection connection, Task task, String taskKey) {
-
-        final String EXISTS_SCHEDULED_TASK = "SELECT EXISTS(SELECT 1 FROM task_scheduled where workflow_id = ? AND task_key = ?)";
-
-        boolean exists = query(connection, EXISTS_SCHEDULED_TASK, q -> q.addParameter(task.getWorkflowInstanceId())
-            .addParameter(taskKey).exists());
-
-        if (!exists) {
-            final String INSERT_IGNORE_SCHEDULED_TASK = "INSERT INTO task_scheduled (workflow_id, task_key, task_id) VALUES (?, ?, ?) ON CONFLICT (workflow_id,task_key) DO NOTHING";
-
-            int count = query(connection, INSERT_IGNORE_SCHEDULED_TASK,
-                q -> q.addParameter(task.getWorkflowInstanceId())
-                    .addParameter(taskKey).addParameter(task.getTaskId()).executeUpdate());
-            return count > 0;
-        } else {
-            return false;
+    /**
+     * @return the tasks that were not already scheduled, in order
+     */
+    private List<Task> addScheduledTasks(Connection connection, List<Task> tasks) {
+        // a single statement returning the rows it inserted, rather than a batch whose update counts are lost to
+        // SUCCESS_NO_INFO when the driver rewrites it (reWriteBatchedInserts)
+        final String INSERT_IGNORE_SCHEDULED_TASKS = "INSERT INTO task_scheduled (workflow_id, task_key, task_id) "
+            + "SELECT * FROM unnest(?, ?, ?) ON CONFLICT (workflow_id,task_key) DO NOTHING RETURNING task_id";
+
+        List<String> workflowIds = new ArrayList<>(tasks.size());
+        List<String> taskKeys = new ArrayList<>(tasks.size());
+        List<String> taskIds = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            workflowIds.add(task.getWorkflowInstanceId());
+            taskKeys.add(taskKey(task));
+            taskIds.add(task.getTaskId());
         }
+        Set<String> inserted = new HashSet<>(query(connection, INSERT_IGNORE_SCHEDULED_TASKS,
+            q -> q.addArrayParameter("varchar", workflowIds).addArrayParameter("varchar", taskKeys)
+                .addArrayParameter("varchar", taskIds).executeScalarList(String.class)));
 
+        List<Task> scheduled = Lists.newArrayListWithCapacity(tasks.size());
+        for (Task task : tasks) {
+            // the first of the tasks sharing an id is the one its row was inserted for
+            if (inserted.remove(task.getTaskId())) {
+                scheduled.add(task);
+            } else {
+                logger.trace("Task already scheduled, skipping the run " + task.getTaskId() + ", ref="
+                    + task.getReferenceTaskName() + ", key=" + taskKey(task));
+            }
+        }
+        return scheduled;
     }
 
     private void removeScheduledTask(Connection connection, Task task, String taskKey) {
@@ -679,34 +985,50 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
             q -> q.addParameter(task.getWorkflowInstanceId()).addParameter(taskKey).executeDelete());
     }
 
-    private void addTaskInProgress(Connection connection, Task task) {
-        String EXISTS_IN_PROGRESS_TASK = "SELECT EXISTS(SELECT 1 FROM task_in_progress WHERE task_def_name = ? AND task_id = ?)";
-
-        boolean exists = query(connection, EXISTS_IN_PROGRESS_TASK,
-            q -> q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).exists());
+    private void addTasksInProgress(Connection connection, List<Task> tasks) {
+        List<Task> tasksInProgress = tasks.stream()
+            .filter(task -> task.getStatus() == null || !task.getStatus().isTerminal())
+            .collect(Collectors.toList());
+        if (tasksInProgress.isEmpty()) {
+            return;
+        }
 
-        if (!exists) {
-            String INSERT_IN_PROGRESS_TASK = "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id) VALUES (?, ?, ?)";
+        String INSERT_IN_PROGRESS_TASK = "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id, in_progress_status) VALUES (?, ?, ?, ?) ON CONFLICT (task_def_name,task_id) DO NOTHING";
 
-            execute(connection, INSERT_IN_PROGRESS_TASK, q -> q.addParameter(task.getTaskDefName())
-                .addParameter(task.getTaskId()).addParameter(task.getWorkflowInstanceId()).executeUpdate());
-        }
+        execute(connection, INSERT_IN_PROGRESS_TASK, q -> {
+            for (Task task : tasksInProgress) {
+                boolean concurrencyLimited = task.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0) > 0;
+                q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId())
+                    .addParameter(task.getWorkflowInstanceId())
+                    .addParameter(concurrencyLimited && task.getStatus() == Task.Status.IN_PROGRESS).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
-    private void removeTaskInProgress(Connection connection, Task task) {
+    private void removeTasksInProgress(Connection connection, List<Task> tasks) {
         String REMOVE_IN_PROGRESS_TASK = "DELETE FROM task_in_progress WHERE task_def_name = ? AND task_id = ?";
 
-        execute(connection, REMOVE_IN_PROGRESS_TASK,
-            q -> q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).executeUpdate());
+        execute(connection, REMOVE_IN_PROGRESS_TASK, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
-    private void updateInProgressStatus(Connection connection, Task task, boolean inProgress) {
+    private void updateInProgressStatus(Connection connection, List<Task> tasks) {
         String UPDATE_IN_PROGRESS_TASK_STATUS =
             "UPDATE task_in_progress SET in_progress_status = ?, modified_on = CURRENT_TIMESTAMP "
                 + "WHERE task_def_name = ? AND task_id = ?";
 
-        execute(connection, UPDATE_IN_PROGRESS_TASK_STATUS, q -> q.addParameter(inProgress)
-            .addParameter(task.getTaskDefName()).addParameter(task.getTaskId()).executeUpdate());
+        execute(connection, UPDATE_IN_PROGRESS_TASK_STATUS, q -> {
+            for (Task task : tasks) {
+                q.addParameter(task.getStatus() == Task.Status.IN_PROGRESS).addParameter(task.getTaskDefName())
+                    .addParameter(task.getTaskId()).addBatch();
+            }
+            q.executeBatch();
+        });
     }
 
     private boolean insertEventExecution(Connection connection, EventExecution eventExecution) {
@@ -778,7 +1100,8 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
 
     private List<PollData> readAllPollData(String queueName) {
         String GET_ALL_POLL_DATA = "SELECT json_data FROM poll_data WHERE queue_name = ?";
-        return queryWithTransaction(GET_ALL_POLL_DATA, q -> q.addParameter(queueName).executeAndFetch(PollData.class));
+        return queryForRead("getPollData", GET_ALL_POLL_DATA,
+            q -> q.addParameter(queueName).executeAndFetch(PollData.class));
     }
 
     private List<String> findAllTasksInProgressInOrderOfArrival(Task task, int limit) {
@@ -794,4 +1117,19 @@ public class PostgresExecutionDAO extends PostgresBaseDAO implements ExecutionDA
         Preconditions.checkNotNull(task.getWorkflowInstanceId(), "Workflow instance id cannot be null");
         Preconditions.checkNotNull(task.getReferenceTaskName(), "Task reference name cannot be null");
     }
+
+    private class WorkflowDefinitionStorage implements WorkflowDefinitionStore.Storage {
+
+        @Override
+        public String get(String hash) {
+            String GET_WORKFLOW_DEF = "SELECT json_data FROM workflow_def_by_hash WHERE hash = ?";
+            return queryWithTransaction(GET_WORKFLOW_DEF, q -> q.addParameter(hash).executeAndFetchFirst(String.class));
+        }
+
+        @Override
+        public void putIfAbsent(String hash, String document) {
+            String INSERT_WORKFLOW_DEF = "INSERT INTO workflow_def_by_hash (hash, json_data) VALUES (?, ?) ON CONFLICT (hash) DO NOTHING";
+            executeWithTransaction(INSERT_WORKFLOW_DEF, q -> q.addParameter(hash).addParameter(document).executeUpdate());
+        }
+    }
 }
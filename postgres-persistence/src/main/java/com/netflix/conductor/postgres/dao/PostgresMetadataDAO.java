@@ -22,6 +22,7 @@ import com.netflix.conductor.dao.EventHandlerDAO;
 import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.util.ReadRouting;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -39,8 +40,9 @@ public class PostgresMetadataDAO extends PostgresBaseDAO implements MetadataDAO,
     private final ConcurrentHashMap<String, TaskDef> taskDefCache = new ConcurrentHashMap<>();
     private static final String CLASS_NAME = PostgresMetadataDAO.class.getSimpleName();
 
-    public PostgresMetadataDAO(ObjectMapper objectMapper, DataSource dataSource, PostgresProperties properties) {
-        super(objectMapper, dataSource);
+    public PostgresMetadataDAO(ObjectMapper objectMapper, DataSource dataSource, ReadRouting readRouting,
+        PostgresProperties properties) {
+        super(objectMapper, dataSource, readRouting);
 
         long cacheRefreshTime = properties.getTaskDefCacheRefreshInterval().getSeconds();
         Executors.newSingleThreadScheduledExecutor()
@@ -161,7 +163,8 @@ public class PostgresMetadataDAO extends PostgresBaseDAO implements MetadataDAO,
     public List<WorkflowDef> getAllWorkflowDefs() {
         final String GET_ALL_WORKFLOW_DEF_QUERY = "SELECT json_data FROM meta_workflow_def ORDER BY name, version";
 
-        return queryWithTransaction(GET_ALL_WORKFLOW_DEF_QUERY, q -> q.executeAndFetch(WorkflowDef.class));
+        return queryForRead("getAllWorkflowDefs", GET_ALL_WORKFLOW_DEF_QUERY,
+            q -> q.executeAndFetch(WorkflowDef.class));
     }
 
     public List<WorkflowDef> getAllLatest() {
@@ -175,7 +178,7 @@ public class PostgresMetadataDAO extends PostgresBaseDAO implements MetadataDAO,
         final String GET_ALL_VERSIONS_WORKFLOW_DEF_QUERY = "SELECT json_data FROM meta_workflow_def WHERE name = ? " +
             "ORDER BY version";
 
-        return queryWithTransaction(GET_ALL_VERSIONS_WORKFLOW_DEF_QUERY,
+        return queryForRead("getAllVersions", GET_ALL_VERSIONS_WORKFLOW_DEF_QUERY,
             q -> q.addParameter(name).executeAndFetch(WorkflowDef.class));
     }
 
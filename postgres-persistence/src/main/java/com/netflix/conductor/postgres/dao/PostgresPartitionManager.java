@@ -0,0 +1,159 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.dao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.util.Query;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the daily partitions of the workflow and task tables created by the partitioning migration. Creates the
+ * partitions of the coming days, and drops the partitions older than the retention unless they still hold a running
+ * workflow or the tasks of one.
+ * <p>
+ * The partition of a day is named after the table and the day, e.g. {@literal task_p20210131}. Instances serialize on a
+ * transaction-level advisory lock so that any number of them can maintain the same database.
+ * <p>
+ * Only created when <code>conductor.postgres.partitioning-enabled</code> is set.
+ */
+public class PostgresPartitionManager extends PostgresBaseDAO {
+
+    static final List<String> PARTITIONED_TABLES =
+        ImmutableList.of("workflow", "task", "workflow_to_task", "workflow_def_to_workflow");
+
+    // identifies the lock among the advisory locks taken on the database
+    private static final long MAINTENANCE_LOCK_ID = 0x636F6E6475637472L;
+    private static final long MAINTENANCE_INTERVAL_MINUTES = 60;
+    private static final DateTimeFormatter PARTITION_DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final long retentionDays;
+    private final int partitionsCreatedAhead;
+    private ScheduledExecutorService executorService;
+
+    public PostgresPartitionManager(ObjectMapper objectMapper, DataSource dataSource, PostgresProperties properties) {
+        super(objectMapper, dataSource);
+        this.retentionDays = properties.getPartitionRetention().toDays();
+        this.partitionsCreatedAhead = properties.getPartitionsCreatedAhead();
+    }
+
+    /**
+     * Maintains the partitions once, so that the partition of the current day exists before anything is written, and
+     * then every hour.
+     */
+    @PostConstruct
+    public void start() {
+        maintainPartitions();
+        executorService = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("postgres-partition-manager").setDaemon(true).build());
+        executorService.scheduleWithFixedDelay(() -> {
+                try {
+                    maintainPartitions();
+                } catch (Exception e) {
+                    logger.error("Failed to maintain the partitions of the workflow and task tables", e);
+                }
+            }, MAINTENANCE_INTERVAL_MINUTES, MAINTENANCE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    void maintainPartitions() {
+        // the day of the database, whose time zone the created_on defaults are in
+        LocalDate today = queryWithTransaction("SELECT CURRENT_DATE", q -> q.executeScalar(Date.class)).toLocalDate();
+        maintainPartitions(today);
+    }
+
+    void maintainPartitions(LocalDate today) {
+        withTransaction(tx -> {
+            query(tx, "SELECT pg_advisory_xact_lock(?)", q -> q.addParameter(MAINTENANCE_LOCK_ID).executeScalar());
+
+            for (int i = 0; i <= partitionsCreatedAhead; i++) {
+                LocalDate day = today.plusDays(i);
+                for (String table : PARTITIONED_TABLES) {
+                    String CREATE_PARTITION = String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                        partitionName(table, day), table, day, day.plusDays(1));
+                    execute(tx, CREATE_PARTITION, Query::executeUpdate);
+                }
+            }
+
+            LocalDate oldestRetainedDay = today.minusDays(retentionDays);
+            for (LocalDate day : getPartitionDays(tx)) {
+                if (!day.isBefore(oldestRetainedDay)) {
+                    break;
+                }
+                if (holdsRunningWorkflows(tx, day)) {
+                    logger.info("Keeping the expired partitions of {}, which hold running workflows", day);
+                    continue;
+                }
+                for (String table : PARTITIONED_TABLES) {
+                    execute(tx, "DROP TABLE IF EXISTS " + partitionName(table, day), Query::executeUpdate);
+                }
+                logger.info("Dropped the expired partitions of {}", day);
+            }
+        });
+    }
+
+    /**
+     * @return the days of the existing partitions, in order
+     */
+    private Set<LocalDate> getPartitionDays(Connection tx) {
+        String GET_PARTITIONS = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'workflow'";
+
+        Set<LocalDate> days = new TreeSet<>();
+        for (String partition : query(tx, GET_PARTITIONS, q -> q.executeScalarList(String.class))) {
+            try {
+                days.add(LocalDate.parse(partition.substring("workflow_p".length()), PARTITION_DAY_FORMAT));
+            } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+                logger.warn("Ignoring the partition {}, which is not named after a day", partition);
+            }
+        }
+        return days;
+    }
+
+    private boolean holdsRunningWorkflows(Connection tx, LocalDate day) {
+        // tasks are created on the day they are scheduled, possibly long after their workflow
+        String HOLDS_RUNNING_WORKFLOWS = String.format("SELECT EXISTS(SELECT 1 FROM workflow_pending wp "
+                + "WHERE EXISTS(SELECT 1 FROM %s w WHERE w.workflow_id = wp.workflow_id) "
+                + "OR EXISTS(SELECT 1 FROM %s wt WHERE wt.workflow_id = wp.workflow_id))",
+            partitionName("workflow", day), partitionName("workflow_to_task", day));
+
+        return query(tx, HOLDS_RUNNING_WORKFLOWS, Query::exists);
+    }
+
+    private static String partitionName(String table, LocalDate day) {
+        return table + "_p" + PARTITION_DAY_FORMAT.format(day);
+    }
+}
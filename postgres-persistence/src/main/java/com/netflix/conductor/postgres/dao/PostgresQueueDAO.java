@@ -18,24 +18,34 @@ import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.postgres.config.PostgresProperties;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
-import com.netflix.conductor.postgres.util.Query;
+import com.netflix.conductor.postgres.util.ReadRouting;
 
 public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
 
     private static final Long UNACK_SCHEDULE_MS = 60_000L;
 
-    public PostgresQueueDAO(ObjectMapper om, DataSource ds) {
-        super(om, ds);
+    private final PostgresQueueListener queueListener;
+    private final long longPollRecheckIntervalMs;
+
+    public PostgresQueueDAO(ObjectMapper om, DataSource ds, ReadRouting readRouting, PostgresProperties properties) {
+        super(om, ds, readRouting);
+
+        this.queueListener = properties.isQueueLongPollEnabled() ? new PostgresQueueListener(ds) : null;
+        this.longPollRecheckIntervalMs = properties.getQueueLongPollRecheckInterval().toMillis();
 
         Executors.newSingleThreadScheduledExecutor()
             .scheduleAtFixedRate(this::processAllUnacks,
@@ -43,6 +53,13 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         logger.debug(PostgresQueueDAO.class.getName() + " is ready to serve");
     }
 
+    @PreDestroy
+    public void stop() {
+        if (queueListener != null) {
+            queueListener.close();
+        }
+    }
+
     @Override
     public void push(String queueName, String messageId, long offsetTimeInSecond) {
         push(queueName, messageId, 0, offsetTimeInSecond);
@@ -96,6 +113,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         final List<Message> messages = new ArrayList<>();
 
         while (true) {
+            long version = queueListener == null ? 0 : queueListener.getVersion(queueName);
             List<Message> messagesSlice = getWithTransactionWithOutErrorPropagation(
                 tx -> popMessages(tx, queueName, count - messages.size(), timeout));
             if (messagesSlice == null) {
@@ -106,10 +124,16 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             }
 
             messages.addAll(messagesSlice);
-            if (messages.size() >= count || ((System.currentTimeMillis() - start) > timeout)) {
+            long elapsed = System.currentTimeMillis() - start;
+            if (messages.size() >= count || elapsed > timeout) {
                 return messages;
             }
-            Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+            if (queueListener != null) {
+                // wait for a push to the queue, rechecking periodically for messages whose delivery time has come
+                queueListener.await(queueName, version, Math.min(timeout - elapsed, longPollRecheckIntervalMs));
+            } else {
+                Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
@@ -120,7 +144,8 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
 
     @Override
     public int getSize(String queueName) {
-        final String GET_QUEUE_SIZE = "SELECT COUNT(*) FROM queue_message WHERE queue_name = ?";
+        // the counts are kept by triggers on queue_message, see the queue_message_count migration
+        final String GET_QUEUE_SIZE = "SELECT COALESCE(SUM(size), 0) FROM queue_message_count WHERE queue_name = ?";
         return queryWithTransaction(GET_QUEUE_SIZE, q -> ((Long) q.addParameter(queueName).executeCount()).intValue());
     }
 
@@ -148,8 +173,9 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
 
     @Override
     public Map<String, Long> queuesDetail() {
-        final String GET_QUEUES_DETAIL = "SELECT queue_name, (SELECT count(*) FROM queue_message WHERE popped = false AND queue_name = q.queue_name) AS size FROM queue q FOR SHARE SKIP LOCKED";
-        return queryWithTransaction(GET_QUEUES_DETAIL, q -> q.executeAndFetch(rs -> {
+        final String GET_QUEUES_DETAIL = "SELECT q.queue_name, COALESCE(SUM(c.size - c.unacked), 0) AS size FROM queue q "
+            + "LEFT JOIN queue_message_count c ON c.queue_name = q.queue_name GROUP BY q.queue_name";
+        return queryForRead("queuesDetail", GET_QUEUES_DETAIL, q -> q.executeAndFetch(rs -> {
             Map<String, Long> detail = Maps.newHashMap();
             while (rs.next()) {
                 String queueName = rs.getString("queue_name");
@@ -163,13 +189,13 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
     @Override
     public Map<String, Map<String, Map<String, Long>>> queuesDetailVerbose() {
         // @formatter:off
-        final String GET_QUEUES_DETAIL_VERBOSE = "SELECT queue_name, \n"
-            + "       (SELECT count(*) FROM queue_message WHERE popped = false AND queue_name = q.queue_name) AS size,\n"
-            + "       (SELECT count(*) FROM queue_message WHERE popped = true AND queue_name = q.queue_name) AS uacked \n"
-            + "FROM queue q FOR SHARE SKIP LOCKED";
+        final String GET_QUEUES_DETAIL_VERBOSE = "SELECT q.queue_name, \n"
+            + "       COALESCE(SUM(c.size - c.unacked), 0) AS size,\n"
+            + "       COALESCE(SUM(c.unacked), 0) AS uacked \n"
+            + "FROM queue q LEFT JOIN queue_message_count c ON c.queue_name = q.queue_name GROUP BY q.queue_name";
         // @formatter:on
 
-        return queryWithTransaction(GET_QUEUES_DETAIL_VERBOSE, q -> q.executeAndFetch(rs -> {
+        return queryForRead("queuesDetailVerbose", GET_QUEUES_DETAIL_VERBOSE, q -> q.executeAndFetch(rs -> {
             Map<String, Map<String, Map<String, Long>>> result = Maps.newHashMap();
             while (rs.next()) {
                 String queueName = rs.getString("queue_name");
@@ -222,12 +248,12 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
     			Integer unacked = 0;;
     			try {
                 	final List<String> msgIds = queueMessageMap.get(queueName);
-    		        final String UPDATE_POPPED = String.format(
-    		        		"UPDATE queue_message SET popped = false WHERE queue_name = ? and message_id IN (%s)",
-    		                Query.generateInBindings(msgIds.size()));
+    		        final String UPDATE_POPPED =
+    		        		"UPDATE queue_message SET popped = false WHERE queue_name = ? and message_id = ANY(?)";
 
     				unacked = query(tx, UPDATE_POPPED, q -> q.addParameter(queueName)
-        					.addParameters(msgIds).executeUpdate());
+        					.addArrayParameter("varchar", msgIds).executeUpdate());
+    				notifyQueue(tx, queueName);
     			} catch(Exception e) {
     				e.printStackTrace();
     			}            
@@ -255,8 +281,14 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             "UPDATE queue_message SET offset_time_seconds = ?, deliver_on = (current_timestamp + (? ||' seconds')::interval) \n"
                 + "WHERE queue_name = ? AND message_id = ?";
 
-        return queryWithTransaction(SET_OFFSET_TIME, q -> q.addParameter(offsetTimeInSecond)
-            .addParameter(offsetTimeInSecond).addParameter(queueName).addParameter(messageId).executeUpdate() == 1);
+        return getWithRetriedTransactions(tx -> {
+            boolean reset = query(tx, SET_OFFSET_TIME, q -> q.addParameter(offsetTimeInSecond)
+                .addParameter(offsetTimeInSecond).addParameter(queueName).addParameter(messageId).executeUpdate() == 1);
+            if (reset) {
+                notifyQueue(tx, queueName);
+            }
+            return reset;
+        });
     }
 
     private boolean existsMessage(Connection connection, String queueName, String messageId) {
@@ -281,6 +313,23 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                 .addParameter(messageId).addParameter(priority).addParameter(offsetTimeInSecond)
                 .addParameter(payload).executeUpdate());
         }
+
+        if (offsetTimeInSecond <= 0) {
+            notifyQueue(connection, queueName);
+        }
+    }
+
+    /**
+     * Wakes up the long pollers of the given queue once the current transaction commits. Postgres delivers identical
+     * notifications of a transaction only once, so pushing many messages to a queue notifies it once.
+     */
+    private void notifyQueue(Connection connection, String queueName) {
+        if (queueListener == null) {
+            return;
+        }
+        final String NOTIFY_QUEUE = "SELECT pg_notify(?, ?)";
+        query(connection, NOTIFY_QUEUE, q -> q.addParameter(PostgresQueueListener.QUEUE_NOTIFICATION_CHANNEL)
+            .addParameter(queueName).executeScalar());
     }
 
     private boolean removeMessage(Connection connection, String queueName, String messageId) {
@@ -317,17 +366,15 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             return messages;
         }
 
-        List<Message> poppedMessages = new ArrayList<>();
-        for (Message message : messages) {
-            final String POP_MESSAGE = "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ? AND popped = false";
-            int result = query(connection, POP_MESSAGE,
-                q -> q.addParameter(queueName).addParameter(message.getId()).executeUpdate());
+        final String POP_MESSAGES = "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ANY(?) AND popped = false RETURNING message_id";
+        List<String> messageIds = messages.stream().map(Message::getId).collect(Collectors.toList());
+        Set<String> poppedMessageIds = new HashSet<>(query(connection, POP_MESSAGES,
+            q -> q.addParameter(queueName).addArrayParameter("varchar", messageIds).executeScalarList(String.class)));
 
-            if (result == 1) {
-                poppedMessages.add(message);
-            }
-        }
-        return poppedMessages;
+        // keep the priority order of the peek
+        return messages.stream()
+            .filter(message -> poppedMessageIds.contains(message.getId()))
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.dao;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens for the notifications sent by {@link PostgresQueueDAO} when messages are pushed, on a connection dedicated to
+ * it, and wakes up the pollers waiting on the notified queues.
+ * <p>
+ * Pollers read the version of a queue before polling it and wait for the version to change, so that a notification
+ * received between an empty poll and the wait is not lost.
+ */
+class PostgresQueueListener {
+
+    static final String QUEUE_NOTIFICATION_CHANNEL = "conductor_queue_message";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresQueueListener.class);
+    private static final int NOTIFICATION_TIMEOUT_MS = 1000;
+
+    private final DataSource dataSource;
+    private final Map<String, QueueSignal> signals = new ConcurrentHashMap<>();
+    private final Thread listenerThread;
+    private volatile boolean running = true;
+
+    PostgresQueueListener(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.listenerThread = new Thread(this::listen, "postgres-queue-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    long getVersion(String queueName) {
+        return getSignal(queueName).getVersion();
+    }
+
+    /**
+     * Waits until a message is pushed to the given queue after the given version was read, or until the timeout
+     * elapses.
+     */
+    void await(String queueName, long version, long timeoutMillis) {
+        getSignal(queueName).await(version, timeoutMillis);
+    }
+
+    private QueueSignal getSignal(String queueName) {
+        return signals.computeIfAbsent(queueName, name -> new QueueSignal());
+    }
+
+    /**
+     * Stops listening and waits for the listening connection to be returned to the pool.
+     */
+    void close() {
+        running = false;
+        listenerThread.interrupt();
+        try {
+            // the connection is checked for notifications at least once per timeout
+            listenerThread.join(2L * NOTIFICATION_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + QUEUE_NOTIFICATION_CHANNEL);
+                }
+                // notifications sent while the connection was not listening are lost
+                signals.values().forEach(QueueSignal::signal);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        QueueSignal signal = signals.get(notification.getParameter());
+                        if (signal != null) {
+                            signal.signal();
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (running) {
+                    LOGGER.warn("Lost the connection listening on {}, reconnecting", QUEUE_NOTIFICATION_CHANNEL, e);
+                    Uninterruptibles.sleepUninterruptibly(1, TimeUnit.SECONDS);
+                }
+            }
+        }
+    }
+
+    private static class QueueSignal {
+
+        private long version;
+
+        synchronized long getVersion() {
+            return version;
+        }
+
+        synchronized void signal() {
+            version++;
+            notifyAll();
+        }
+
+        synchronized void await(long version, long timeoutMillis) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long remaining = timeoutMillis;
+            try {
+                while (this.version == version && remaining > 0) {
+                    wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
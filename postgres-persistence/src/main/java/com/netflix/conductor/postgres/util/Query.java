@@ -37,6 +37,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>
  * This class simulates a parameter building pattern and all {@literal addParameter(*)} methods must be called in the
  * proper order of their expected binding sequence.
+ * <p>
+ * The statement is prepared again for each query, the driver reusing the statement it prepared on the server for the
+ * same SQL on the connection, so the SQL of a query should not depend on the values bound to it: use {@link
+ * #addArrayParameter(String, Collection)} rather than a list of placeholders per value.
  *
  * @author mustafa
  */
@@ -160,6 +164,19 @@ public class Query implements AutoCloseable {
         return addParameter(new Timestamp(epochMillis));
     }
 
+    /**
+     * Bind the given values to the PreparedStatement as a single SQL array, typically for {@literal = ANY(?)} queries
+     * whose statement does not depend on the number of values.
+     *
+     * @param typeName The SQL type name of the elements of the array, e.g. {@literal varchar}.
+     * @param values   The values of the array.
+     * @return {@literal this}
+     */
+    public Query addArrayParameter(String typeName, Collection<?> values) {
+        return addParameterInternal(
+            (ps, idx) -> ps.setArray(idx, ps.getConnection().createArrayOf(typeName, values.toArray())));
+    }
+
     /**
      * Add a collection of primitive values at once, in the order of the collection.
      *
@@ -285,6 +302,50 @@ public class Query implements AutoCloseable {
         }
     }
 
+    /**
+     * Adds the parameters bound so far to the batch of the statement, so that the parameters of the next set can be
+     * bound in the same order.
+     *
+     * @return {@literal this}
+     */
+    public Query addBatch() {
+        try {
+            this.statement.addBatch();
+            index.set(1);
+            return this;
+        } catch (SQLException ex) {
+            throw new ApplicationException(Code.BACKEND_ERROR, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Executes every set of parameters added with {@link #addBatch()} in a single round trip.
+     *
+     * @return The result of {@link PreparedStatement#executeBatch()}, the update count of each set of parameters in
+     * the order they were added. Drivers that rewrite batches into multi-row statements report {@link
+     * java.sql.Statement#SUCCESS_NO_INFO} instead.
+     */
+    public int[] executeBatch() {
+        try {
+
+            Long start = null;
+            if (logger.isTraceEnabled()) {
+                start = System.currentTimeMillis();
+            }
+
+            final int[] counts = this.statement.executeBatch();
+
+            if (null != start && logger.isTraceEnabled()) {
+                long end = System.currentTimeMillis();
+                logger.trace("[{}ms] {} batched: {}", (end - start), counts.length, rawQuery);
+            }
+
+            return counts;
+        } catch (SQLException ex) {
+            throw new ApplicationException(Code.BACKEND_ERROR, ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Execute a query from the PreparedStatement and return the ResultSet.
      * <p>
@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.util;
+
+import com.netflix.conductor.metrics.Monitors;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Routes the reads of the DAO methods that tolerate stale results to an optional read replica, according to the
+ * {@link ReadConsistency} of each method, and records whether each read went to the primary or to the replica.
+ */
+public class ReadRouting implements Closeable {
+
+    public enum ReadConsistency {
+        /**
+         * Reads from the primary data source, which sees every committed write.
+         */
+        PRIMARY,
+        /**
+         * Reads from the read replica, which may lag behind the primary.
+         */
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Map<String, ReadConsistency> readConsistency;
+
+    /**
+     * @param primary The data source all the reads are routed to.
+     */
+    public ReadRouting(DataSource primary) {
+        this(primary, null, Collections.emptyMap());
+    }
+
+    /**
+     * @param primary         The data source of the reads that must see every committed write.
+     * @param replica         The read-only data source of the reads that tolerate stale results, or null.
+     * @param readConsistency The read consistency by method name, the methods missing from it reading from the
+     *                        replica.
+     */
+    public ReadRouting(DataSource primary, DataSource replica, Map<String, ReadConsistency> readConsistency) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readConsistency = readConsistency;
+    }
+
+    /**
+     * @param dao    The name of the DAO reading.
+     * @param method The name of the DAO method reading, whose results must tolerate being stale.
+     * @return The data source the reads of the method are routed to.
+     */
+    public DataSource dataSourceFor(String dao, String method) {
+        if (replica != null && readConsistency.getOrDefault(method, ReadConsistency.REPLICA) == ReadConsistency.REPLICA) {
+            Monitors.recordDaoRead(dao, method, "replica");
+            return replica;
+        }
+        Monitors.recordDaoRead(dao, method, "primary");
+        return primary;
+    }
+
+    /**
+     * Closes the read replica, the primary data source being managed by its own owner.
+     */
+    @Override
+    public void close() throws IOException {
+        if (replica instanceof Closeable) {
+            ((Closeable) replica).close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+-- The number of messages and of popped (unacknowledged) messages of each queue, kept up to date by triggers so that
+-- the queue sizes are read without counting the messages. The counts of a queue are spread over 16 shards, picked by
+-- the backend of the writing transaction, so that concurrent writers to a queue do not wait on a single row. The counts
+-- of a queue are the sums over its shards.
+
+-- keep the messages from changing until the counts are in place
+LOCK TABLE queue, queue_message IN SHARE ROW EXCLUSIVE MODE;
+
+CREATE TABLE queue_message_count (
+  queue_name varchar(255) NOT NULL,
+  shard integer NOT NULL,
+  size bigint NOT NULL DEFAULT 0,
+  unacked bigint NOT NULL DEFAULT 0,
+  PRIMARY KEY (queue_name, shard)
+);
+
+INSERT INTO queue_message_count (queue_name, shard)
+SELECT q.queue_name, s.shard
+FROM (SELECT queue_name FROM queue UNION SELECT queue_name FROM queue_message) q
+CROSS JOIN generate_series(0, 15) AS s(shard);
+
+UPDATE queue_message_count c SET size = m.size, unacked = m.unacked
+FROM (
+  SELECT queue_name, count(*) AS size, count(*) FILTER (WHERE popped) AS unacked FROM queue_message GROUP BY queue_name
+) m
+WHERE c.queue_name = m.queue_name AND c.shard = 0;
+
+CREATE FUNCTION create_queue_message_count() RETURNS trigger AS $$
+BEGIN
+  INSERT INTO queue_message_count (queue_name, shard)
+  SELECT NEW.queue_name, shard FROM generate_series(0, 15) AS shard
+  ON CONFLICT DO NOTHING;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER create_queue_message_count AFTER INSERT ON queue
+FOR EACH ROW EXECUTE PROCEDURE create_queue_message_count();
+
+CREATE FUNCTION count_queue_message() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    UPDATE queue_message_count
+    SET size = size + 1, unacked = unacked + CASE WHEN NEW.popped THEN 1 ELSE 0 END
+    WHERE queue_name = NEW.queue_name AND shard = pg_backend_pid() % 16;
+  ELSIF TG_OP = 'DELETE' THEN
+    UPDATE queue_message_count
+    SET size = size - 1, unacked = unacked - CASE WHEN OLD.popped THEN 1 ELSE 0 END
+    WHERE queue_name = OLD.queue_name AND shard = pg_backend_pid() % 16;
+  ELSE
+    UPDATE queue_message_count
+    SET unacked = unacked + CASE WHEN NEW.popped THEN 1 ELSE 0 END - CASE WHEN OLD.popped THEN 1 ELSE 0 END
+    WHERE queue_name = NEW.queue_name AND shard = pg_backend_pid() % 16;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER count_queue_message AFTER INSERT OR DELETE ON queue_message
+FOR EACH ROW EXECUTE PROCEDURE count_queue_message();
+
+-- the upserts of the messages and their unack timeouts leave the counts unchanged
+CREATE TRIGGER count_popped_queue_message AFTER UPDATE OF popped ON queue_message
+FOR EACH ROW WHEN (OLD.popped IS DISTINCT FROM NEW.popped) EXECUTE PROCEDURE count_queue_message();
+
+CREATE FUNCTION reset_queue_message_count() RETURNS trigger AS $$
+BEGIN
+  UPDATE queue_message_count SET size = 0, unacked = 0;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER reset_queue_message_count AFTER TRUNCATE ON queue_message
+FOR EACH STATEMENT EXECUTE PROCEDURE reset_queue_message_count();
@@ -0,0 +1,7 @@
+-- Workflow definitions referenced by persisted workflows, stored once per distinct content
+CREATE TABLE workflow_def_by_hash (
+  hash varchar(64) NOT NULL,
+  created_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  json_data TEXT NOT NULL,
+  PRIMARY KEY (hash)
+);
@@ -0,0 +1,85 @@
+-- Range partitions the workflow and task tables by day of creation, so that retention drops whole partitions instead
+-- of deleting rows. Only applied when conductor.postgres.partitioning-enabled is set, after which the partitions are
+-- created ahead and dropped by the PostgresExecutionDAO. Requires PostgreSQL 11 or later.
+--
+-- The version 9 is reserved for this migration in db/migration_postgres.
+
+ALTER TABLE workflow RENAME TO workflow_unpartitioned;
+ALTER TABLE task RENAME TO task_unpartitioned;
+ALTER TABLE workflow_to_task RENAME TO workflow_to_task_unpartitioned;
+ALTER TABLE workflow_def_to_workflow RENAME TO workflow_def_to_workflow_unpartitioned;
+
+-- the primary keys of partitioned tables have to include the partition key
+CREATE TABLE workflow (
+  created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  modified_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  workflow_id varchar(255) NOT NULL,
+  correlation_id varchar(255),
+  json_data TEXT NOT NULL,
+  CONSTRAINT workflow_partitioned_pkey PRIMARY KEY (workflow_id, created_on)
+) PARTITION BY RANGE (created_on);
+CREATE INDEX workflow_partitioned_corr_id_index ON workflow (correlation_id);
+
+CREATE TABLE task (
+  created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  modified_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  task_id varchar(255) NOT NULL,
+  json_data TEXT NOT NULL,
+  CONSTRAINT task_partitioned_pkey PRIMARY KEY (task_id, created_on)
+) PARTITION BY RANGE (created_on);
+
+CREATE TABLE workflow_to_task (
+  created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  modified_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  workflow_id varchar(255) NOT NULL,
+  task_id varchar(255) NOT NULL,
+  CONSTRAINT workflow_to_task_partitioned_pkey PRIMARY KEY (workflow_id, task_id, created_on)
+) PARTITION BY RANGE (created_on);
+
+CREATE TABLE workflow_def_to_workflow (
+  created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  modified_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  workflow_def varchar(255) NOT NULL,
+  date_str varchar(60) NOT NULL,
+  workflow_id varchar(255) NOT NULL,
+  CONSTRAINT workflow_def_to_workflow_partitioned_pkey PRIMARY KEY (workflow_def, date_str, workflow_id, created_on)
+) PARTITION BY RANGE (created_on);
+
+-- Everything created before today goes to a single partition named after yesterday, which is dropped once it expires
+-- like the daily ones. The partitions of today and of the following week are created here so that the tables can be
+-- written to before the DAO maintains them.
+DO $$
+DECLARE
+  t text;
+  d date;
+BEGIN
+  FOREACH t IN ARRAY ARRAY['workflow', 'task', 'workflow_to_task', 'workflow_def_to_workflow'] LOOP
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (MINVALUE) TO (%L)',
+      t || '_p' || to_char(CURRENT_DATE - 1, 'YYYYMMDD'), t, CURRENT_DATE);
+    FOR d IN SELECT generate_series(CURRENT_DATE, CURRENT_DATE + 7, interval '1 day')::date LOOP
+      EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+        t || '_p' || to_char(d, 'YYYYMMDD'), t, d, d + 1);
+    END LOOP;
+  END LOOP;
+END $$;
+
+INSERT INTO workflow (created_on, modified_on, workflow_id, correlation_id, json_data)
+SELECT COALESCE(created_on, TIMESTAMP 'epoch'), modified_on, workflow_id, correlation_id, json_data
+FROM workflow_unpartitioned;
+
+INSERT INTO task (created_on, modified_on, task_id, json_data)
+SELECT COALESCE(created_on, TIMESTAMP 'epoch'), modified_on, task_id, json_data
+FROM task_unpartitioned;
+
+INSERT INTO workflow_to_task (created_on, modified_on, workflow_id, task_id)
+SELECT COALESCE(created_on, TIMESTAMP 'epoch'), modified_on, workflow_id, task_id
+FROM workflow_to_task_unpartitioned;
+
+INSERT INTO workflow_def_to_workflow (created_on, modified_on, workflow_def, date_str, workflow_id)
+SELECT COALESCE(created_on, TIMESTAMP 'epoch'), modified_on, workflow_def, date_str, workflow_id
+FROM workflow_def_to_workflow_unpartitioned;
+
+DROP TABLE workflow_unpartitioned;
+DROP TABLE task_unpartitioned;
+DROP TABLE workflow_to_task_unpartitioned;
+DROP TABLE workflow_def_to_workflow_unpartitioned;
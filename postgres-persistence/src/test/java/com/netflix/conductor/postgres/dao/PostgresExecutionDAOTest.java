@@ -12,12 +12,17 @@
  */
 package com.netflix.conductor.postgres.dao;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.utils.DocumentCodec;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.ExecutionDAOTest;
 import com.netflix.conductor.postgres.config.PostgresConfiguration;
+import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.util.ReadRouting;
 import org.flywaydb.core.Flyway;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,10 +33,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ContextConfiguration(
         classes = {TestObjectMapperConfiguration.class, PostgresConfiguration.class, FlywayAutoConfiguration.class})
@@ -42,6 +56,15 @@ public class PostgresExecutionDAOTest extends ExecutionDAOTest {
     @Autowired
     private PostgresExecutionDAO executionDAO;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PostgresProperties properties;
+
     @Autowired
     Flyway flyway;
 
@@ -84,6 +107,48 @@ public class PostgresExecutionDAOTest extends ExecutionDAOTest {
         assertEquals(0, getExecutionDAO().getPendingWorkflowCount("workflow"));
     }
 
+    @Test
+    public void testUpdateTasks() {
+        String workflowId = UUID.randomUUID().toString();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTaskId(workflowId + "_t" + i);
+            task.setWorkflowInstanceId(workflowId);
+            task.setReferenceTaskName("ref_name" + i);
+            task.setTaskDefName("update_tasks_task");
+            task.setTaskType("update_tasks_task");
+            task.setStatus(Task.Status.SCHEDULED);
+            tasks.add(task);
+        }
+        assertEquals(3, getExecutionDAO().createTasks(tasks).size());
+        assertEquals(3, getExecutionDAO().getPendingTasksForTaskType("update_tasks_task").size());
+
+        tasks.forEach(task -> task.setStatus(Task.Status.COMPLETED));
+        getExecutionDAO().updateTasks(tasks);
+
+        List<Task> updated = getExecutionDAO().getTasksForWorkflow(workflowId);
+        assertEquals(3, updated.size());
+        updated.forEach(task -> assertEquals(Task.Status.COMPLETED, task.getStatus()));
+        assertEquals(0, getExecutionDAO().getPendingTasksForTaskType("update_tasks_task").size());
+    }
+
+    @Test
+    public void testReadsRoutedToReplica() throws SQLException {
+        DataSource replica = mock(DataSource.class, delegatesTo(dataSource));
+        PostgresExecutionDAO routedDAO = new PostgresExecutionDAO(objectMapper, dataSource,
+            new ReadRouting(dataSource, replica, Collections.emptyMap()), new DocumentCodec(objectMapper), properties);
+
+        String workflowId = routedDAO.createWorkflow(createTestWorkflow());
+        routedDAO.updateLastPollData("read_routing_task", null, "worker");
+
+        assertNotNull(routedDAO.getWorkflow(workflowId));
+        verify(replica, never()).getConnection();
+
+        assertEquals(1, routedDAO.getAllPollData().size());
+        verify(replica).getConnection();
+    }
+
     @Override
     public ExecutionDAO getExecutionDAO() {
         return executionDAO;
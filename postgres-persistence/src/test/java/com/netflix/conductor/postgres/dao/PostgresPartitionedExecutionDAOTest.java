@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.dao;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.postgres.config.PostgresConfiguration;
+import org.flywaydb.core.Flyway;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(
+        classes = {TestObjectMapperConfiguration.class, PostgresConfiguration.class, FlywayAutoConfiguration.class})
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {
+        // declarative partitioning needs PostgreSQL 11 or later
+        "spring.datasource.url=jdbc:tc:postgresql:12:///conductor",
+        "conductor.postgres.partitioning-enabled=true",
+        "conductor.postgres.partition-retention=1"})
+public class PostgresPartitionedExecutionDAOTest extends ExecutionDAOTest {
+
+    @Autowired
+    private PostgresExecutionDAO executionDAO;
+
+    @Autowired
+    private PostgresPartitionManager partitionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    Flyway flyway;
+
+    // clean the database between tests.
+    @Before
+    public void before() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    public void testExpiredPartitionsAreDropped() throws SQLException {
+        LocalDate today = currentDate();
+
+        Workflow workflow = createTestWorkflow();
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        String workflowId = executionDAO.createWorkflow(workflow);
+
+        // the partitions of today have expired two days later, but hold a running workflow
+        partitionManager.maintainPartitions(today.plusDays(2));
+        assertTrue(partitionExists("workflow", today));
+        assertFalse(partitionExists("workflow", today.minusDays(1)));
+        assertTrue(partitionExists("task", today.plusDays(9)));
+
+        executionDAO.removeWorkflowWithExpiry(workflowId, 0);
+        assertNotNull(executionDAO.getWorkflow(workflowId, false));
+
+        partitionManager.maintainPartitions(today.plusDays(2));
+        for (String table : PostgresPartitionManager.PARTITIONED_TABLES) {
+            assertFalse(partitionExists(table, today));
+        }
+        assertNull(executionDAO.getWorkflow(workflowId, false));
+    }
+
+    private LocalDate currentDate() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement("SELECT CURRENT_DATE");
+            ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getDate(1).toLocalDate();
+        }
+    }
+
+    private boolean partitionExists(String table, LocalDate day) throws SQLException {
+        String partition = table + "_p" + DateTimeFormatter.BASIC_ISO_DATE.format(day);
+        try (Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+            statement.setString(1, partition);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    @Override
+    public ExecutionDAO getExecutionDAO() {
+        return executionDAO;
+    }
+}
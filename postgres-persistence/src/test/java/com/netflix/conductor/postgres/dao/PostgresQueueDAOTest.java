@@ -17,7 +17,10 @@ import com.google.common.collect.ImmutableList;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.postgres.config.PostgresConfiguration;
+import com.netflix.conductor.postgres.config.PostgresProperties;
 import com.netflix.conductor.postgres.util.Query;
+import com.netflix.conductor.postgres.util.ReadRouting;
+import com.zaxxer.hikari.HikariDataSource;
 import org.flywaydb.core.Flyway;
 import org.junit.Before;
 import org.junit.Rule;
@@ -35,10 +38,14 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
@@ -206,6 +213,36 @@ public class PostgresQueueDAOTest {
         }
     }
 
+    @Test
+    public void longPollMessagesTest() throws Exception {
+        PostgresProperties properties = new PostgresProperties();
+        properties.setQueueLongPollEnabled(true);
+        properties.setQueueLongPollRecheckInterval(Duration.ofSeconds(30));
+        PostgresQueueDAO longPollQueueDAO = new PostgresQueueDAO(objectMapper, dataSource, new ReadRouting(dataSource),
+            properties);
+        final String queueName = "longPollQueue";
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            long start = System.currentTimeMillis();
+            Future<List<Message>> poll = executorService.submit(
+                () -> longPollQueueDAO.pollMessages(queueName, 1, 20_000));
+            Thread.sleep(500);
+            longPollQueueDAO.push(queueName, "longPollMessage", 0);
+
+            List<Message> polled = poll.get();
+            assertEquals(1, polled.size());
+            assertEquals("longPollMessage", polled.get(0).getId());
+            assertTrue("The poll should return on the push notification",
+                System.currentTimeMillis() - start < 10_000);
+        } finally {
+            executorService.shutdown();
+            longPollQueueDAO.stop();
+        }
+        assertEquals("The listening connection should be released", 0,
+            dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections());
+    }
+
 
     /**
      * Test fix for https://github.com/Netflix/conductor/issues/1892
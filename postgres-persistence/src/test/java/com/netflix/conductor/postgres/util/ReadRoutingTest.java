@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.util;
+
+import com.netflix.conductor.postgres.util.ReadRouting.ReadConsistency;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class ReadRoutingTest {
+
+    private static Registry registry;
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+
+    @BeforeClass
+    public static void init() {
+        registry = new DefaultRegistry();
+        Spectator.globalRegistry().add(registry);
+    }
+
+    @Test
+    public void testReadsFromPrimaryWithoutReplica() {
+        ReadRouting readRouting = new ReadRouting(primary);
+
+        assertSame(primary, readRouting.dataSourceFor("PostgresExecutionDAO", "getAllPollData"));
+    }
+
+    @Test
+    public void testReadsFromReplicaByDefault() {
+        ReadRouting readRouting = new ReadRouting(primary, replica, Collections.emptyMap());
+
+        assertSame(replica, readRouting.dataSourceFor("PostgresExecutionDAO", "getAllPollData"));
+    }
+
+    @Test
+    public void testReadsFromPrimaryWhenPinned() {
+        ReadRouting readRouting = new ReadRouting(primary, replica,
+            Collections.singletonMap("getAllPollData", ReadConsistency.PRIMARY));
+
+        assertSame(primary, readRouting.dataSourceFor("PostgresExecutionDAO", "getAllPollData"));
+        assertSame(replica, readRouting.dataSourceFor("PostgresExecutionDAO", "getPollData"));
+    }
+
+    @Test
+    public void testReadsAreCountedByTarget() {
+        Counter replicaReads = daoReads("getPendingWorkflowCount", "replica");
+        Counter primaryReads = daoReads("getPendingWorkflowCount", "primary");
+        long replicaCount = replicaReads.count();
+        long primaryCount = primaryReads.count();
+
+        new ReadRouting(primary, replica, Collections.emptyMap())
+            .dataSourceFor("PostgresExecutionDAO", "getPendingWorkflowCount");
+        new ReadRouting(primary).dataSourceFor("PostgresExecutionDAO", "getPendingWorkflowCount");
+        new ReadRouting(primary).dataSourceFor("PostgresExecutionDAO", "getPendingWorkflowCount");
+
+        assertEquals(replicaCount + 1, replicaReads.count());
+        assertEquals(primaryCount + 2, primaryReads.count());
+    }
+
+    private static Counter daoReads(String method, String target) {
+        return registry.counter("dao_reads", "class", "WorkflowMonitor", "dao", "PostgresExecutionDAO", "action",
+            method, "target", target);
+    }
+}
@@ -107,6 +107,12 @@ public class RedisProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration eventExecutionPersistenceTTL = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable storing each distinct workflow definition once and persisting workflows with a reference to their
+     * definition instead of a copy of it
+     */
+    private boolean workflowDefinitionReferencesEnabled = false;
+
     public String getDataCenterRegion() {
         return dataCenterRegion;
     }
@@ -234,4 +240,12 @@ public class RedisProperties {
             return () -> new RetryNTimes(maxRetryAttempts, false);
         }
     }
+
+    public boolean isWorkflowDefinitionReferencesEnabled() {
+        return workflowDefinitionReferencesEnabled;
+    }
+
+    public void setWorkflowDefinitionReferencesEnabled(boolean workflowDefinitionReferencesEnabled) {
+        this.workflowDefinitionReferencesEnabled = workflowDefinitionReferencesEnabled;
+    }
 }
@@ -19,14 +19,18 @@ import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.core.utils.DocumentCodec;
+import com.netflix.conductor.core.utils.WorkflowDefinitionStore;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.redis.config.AnyRedisCondition;
 import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.CommandBatch;
 import com.netflix.conductor.redis.jedis.JedisProxy;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -63,12 +67,18 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
     private final static String WORKFLOW_DEF_TO_WORKFLOWS = "WORKFLOW_DEF_TO_WORKFLOWS";
     private final static String CORR_ID_TO_WORKFLOWS = "CORR_ID_TO_WORKFLOWS";
     private final static String EVENT_EXECUTION = "EVENT_EXECUTION";
+    private final static String WORKFLOW_DEF_BY_HASH = "WORKFLOW_DEF_BY_HASH";
     private final int ttlEventExecutionSeconds;
+    private final DocumentCodec documentCodec;
+    private final WorkflowDefinitionStore workflowDefinitionStore;
 
     public RedisExecutionDAO(JedisProxy jedisProxy, ObjectMapper objectMapper, ConductorProperties conductorProperties,
-        RedisProperties properties) {
+        RedisProperties properties, DocumentCodec documentCodec) {
         super(jedisProxy, objectMapper, conductorProperties, properties);
 
+        this.documentCodec = documentCodec;
+        this.workflowDefinitionStore = new WorkflowDefinitionStore(documentCodec, new WorkflowDefinitionStorage(),
+            properties.isWorkflowDefinitionReferencesEnabled());
         ttlEventExecutionSeconds = (int) properties.getEventExecutionPersistenceTTL().getSeconds();
     }
 
@@ -139,15 +149,23 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
 
         List<Task> tasksCreated = new LinkedList<>();
 
+        CommandBatch scheduleBatch = new CommandBatch();
         for (Task task : tasks) {
             validate(task);
 
             recordRedisDaoRequests("createTask", task.getTaskType(), task.getWorkflowType());
 
             String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
-            Long added = jedisProxy
-                .hset(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey, task.getTaskId());
+            scheduleBatch.hset(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey, task.getTaskId());
+        }
+        List<Object> scheduled = jedisProxy.execute(scheduleBatch);
+
+        CommandBatch createBatch = new CommandBatch();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            Long added = (Long) scheduled.get(i);
             if (added < 1) {
+                String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
                 LOGGER.debug("Task already scheduled, skipping the run " + task.getTaskId() + ", ref=" + task
                     .getReferenceTaskName() + ", key=" + taskKey);
                 continue;
@@ -157,20 +175,16 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
                 task.setScheduledTime(System.currentTimeMillis());
             }
 
-            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
-            LOGGER.debug(
-                "Scheduled task added to WORKFLOW_TO_TASKS workflowId: {}, taskId: {}, taskType: {} during createTasks",
-                task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType());
-
             String inProgressTaskKey = nsKey(IN_PROGRESS_TASKS, task.getTaskDefName());
-            jedisProxy.sadd(inProgressTaskKey, task.getTaskId());
+            createBatch.sadd(inProgressTaskKey, task.getTaskId());
             LOGGER.debug(
                 "Scheduled task added to IN_PROGRESS_TASKS with inProgressTaskKey: {}, workflowId: {}, taskId: {}, taskType: {} during createTasks",
                 inProgressTaskKey, task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType());
 
-            updateTask(task);
+            addTaskUpdate(createBatch, task);
             tasksCreated.add(task);
         }
+        jedisProxy.execute(createBatch);
 
         return tasksCreated;
 
@@ -178,52 +192,74 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
 
     @Override
     public void updateTask(Task task) {
+        CommandBatch batch = new CommandBatch();
+        addTaskUpdate(batch, task);
+        jedisProxy.execute(batch);
+    }
+
+    /**
+     * Writes all the given tasks in a single {@link CommandBatch}.
+     */
+    @Override
+    public void updateTasks(List<Task> tasks) {
+        CommandBatch batch = new CommandBatch();
+        tasks.forEach(task -> addTaskUpdate(batch, task));
+        jedisProxy.execute(batch);
+    }
+
+    /**
+     * Adds the commands that persist the given task and its index entries to the batch.
+     * <p>
+     * The task is always added to WORKFLOW_TO_TASKS, since SADD is idempotent and cheaper than reading the set to
+     * check for membership.
+     */
+    private void addTaskUpdate(CommandBatch batch, Task task) {
         Optional<TaskDef> taskDefinition = task.getTaskDefinition();
 
         if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
 
             if (task.getStatus() != null && task.getStatus().equals(Status.IN_PROGRESS)) {
-                jedisProxy.sadd(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
+                batch.sadd(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
                 LOGGER.debug(
                     "Workflow Task added to TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                     nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName(), task.getTaskId()),
                     task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType(), task.getStatus().name());
             } else {
-                jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
+                batch.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
                 LOGGER.debug(
                     "Workflow Task removed from TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                     nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName(), task.getTaskId()),
                     task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType(), task.getStatus().name());
                 String key = nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName());
-                jedisProxy.zrem(key, task.getTaskId());
+                batch.zrem(key, task.getTaskId());
                 LOGGER.debug(
                     "Workflow Task removed from TASK_LIMIT_BUCKET with taskLimitBucketKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                     key, task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType(), task.getStatus().name());
             }
         }
 
-        String payload = toJson(task);
+        String payload = documentCodec.encode(task);
         recordRedisDaoPayloadSize("updateTask", payload.length(), taskDefinition
             .map(TaskDef::getName)
             .orElse("n/a"), task.getWorkflowType());
 
         recordRedisDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
-        jedisProxy.set(nsKey(TASK, task.getTaskId()), payload);
+        batch.set(nsKey(TASK, task.getTaskId()), payload);
         LOGGER.debug(
             "Workflow task payload saved to TASK with taskKey: {}, workflowId: {}, taskId: {}, taskType: {} during updateTask",
             nsKey(TASK, task.getTaskId()), task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType());
         if (task.getStatus() != null && task.getStatus().isTerminal()) {
-            jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
+            batch.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
             LOGGER.debug(
                 "Workflow Task removed from TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                 nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getWorkflowInstanceId(), task.getTaskId(),
                 task.getTaskType(), task.getStatus().name());
         }
 
-        Set<String> taskIds = jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()));
-        if (!taskIds.contains(task.getTaskId())) {
-            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
-        }
+        String workflowToTaskKey = nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId());
+        batch.sadd(workflowToTaskKey, task.getTaskId());
+        LOGGER.debug("Task mapped in WORKFLOW_TO_TASKS with workflowToTaskKey: {}, workflowId: {}, taskId: {}",
+            workflowToTaskKey, task.getWorkflowInstanceId(), task.getTaskId());
     }
 
     @Override
@@ -317,9 +353,9 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         Preconditions.checkNotNull(taskId, "taskId cannot be null");
         return Optional.ofNullable(jedisProxy.get(nsKey(TASK, taskId)))
             .map(json -> {
-                Task task = readValue(json, Task.class);
+                Task task = documentCodec.decode(json, Task.class);
                 recordRedisDaoRequests("getTask", task.getTaskType(), task.getWorkflowType());
-                recordRedisDaoPayloadSize("getTask", toJson(task).length(), task.getTaskType(), task.getWorkflowType());
+                recordRedisDaoPayloadSize("getTask", json.length(), task.getTaskType(), task.getWorkflowType());
                 return task;
             })
             .orElse(null);
@@ -327,12 +363,13 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
 
     @Override
     public List<Task> getTasks(List<String> taskIds) {
-        return taskIds.stream()
+        List<String> taskKeys = taskIds.stream()
             .map(taskId -> nsKey(TASK, taskId))
-            .map(jedisProxy::get)
+            .collect(Collectors.toList());
+        return jedisProxy.mget(taskKeys).stream()
             .filter(Objects::nonNull)
             .map(jsonString -> {
-                Task task = readValue(jsonString, Task.class);
+                Task task = documentCodec.decode(jsonString, Task.class);
                 recordRedisDaoRequests("getTask", task.getTaskType(), task.getWorkflowType());
                 recordRedisDaoPayloadSize("getTask", jsonString.length(), task.getTaskType(), task.getWorkflowType());
                 return task;
@@ -431,18 +468,43 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         Workflow workflow = null;
 
         if (json != null) {
-            workflow = readValue(json, Workflow.class);
-            recordRedisDaoRequests("getWorkflow", "n/a", workflow.getWorkflowName());
-            recordRedisDaoPayloadSize("getWorkflow", json.length(), "n/a", workflow.getWorkflowName());
+            workflow = readWorkflow(json);
             if (includeTasks) {
-                List<Task> tasks = getTasksForWorkflow(workflowId);
-                tasks.sort(Comparator.comparingLong(Task::getScheduledTime).thenComparingInt(Task::getSeq));
-                workflow.setTasks(tasks);
+                populateTasks(workflow);
             }
         }
         return workflow;
     }
 
+    /**
+     * Reads the given workflows, without their tasks, with a single batch read.
+     *
+     * @param workflowIds the ids of the workflows to read
+     * @return the workflows that exist, in the order of the given ids
+     */
+    private List<Workflow> getWorkflows(List<String> workflowIds) {
+        List<String> workflowKeys = workflowIds.stream()
+            .map(workflowId -> nsKey(WORKFLOW, workflowId))
+            .collect(Collectors.toList());
+        return jedisProxy.mget(workflowKeys).stream()
+            .filter(Objects::nonNull)
+            .map(this::readWorkflow)
+            .collect(Collectors.toList());
+    }
+
+    private Workflow readWorkflow(String json) {
+        Workflow workflow = workflowDefinitionStore.hydrate(documentCodec.decode(json, Workflow.class));
+        recordRedisDaoRequests("getWorkflow", "n/a", workflow.getWorkflowName());
+        recordRedisDaoPayloadSize("getWorkflow", json.length(), "n/a", workflow.getWorkflowName());
+        return workflow;
+    }
+
+    private void populateTasks(Workflow workflow) {
+        List<Task> tasks = getTasksForWorkflow(workflow.getWorkflowId());
+        tasks.sort(Comparator.comparingLong(Task::getScheduledTime).thenComparingInt(Task::getSeq));
+        workflow.setTasks(tasks);
+    }
+
     /**
      * @param workflowName name of the workflow
      * @param version      the workflow version
@@ -468,10 +530,11 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
     public List<Workflow> getPendingWorkflowsByType(String workflowName, int version) {
         Preconditions.checkNotNull(workflowName, "workflowName cannot be null");
         List<String> workflowIds = getRunningWorkflowIds(workflowName, version);
-        return workflowIds.stream()
-            .map(this::getWorkflow)
+        List<Workflow> workflows = getWorkflows(workflowIds).stream()
             .filter(workflow -> workflow.getWorkflowVersion() == version)
             .collect(Collectors.toList());
+        workflows.forEach(this::populateTasks);
+        return workflows;
     }
 
     @Override
@@ -486,16 +549,23 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         List<String> dateStrs = dateStrBetweenDates(startTime, endTime);
         dateStrs.forEach(dateStr -> {
             String key = nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflowName, dateStr);
-            jedisProxy.smembers(key).forEach(workflowId -> {
+            List<String> workflowIds = new ArrayList<>(jedisProxy.smembers(key));
+            List<String> workflowKeys = workflowIds.stream()
+                .map(workflowId -> nsKey(WORKFLOW, workflowId))
+                .collect(Collectors.toList());
+            List<String> jsonValues = jedisProxy.mget(workflowKeys);
+            for (int i = 0; i < workflowIds.size(); i++) {
+                String workflowId = workflowIds.get(i);
                 try {
-                    Workflow workflow = getWorkflow(workflowId);
+                    Workflow workflow = readWorkflow(jsonValues.get(i));
                     if (workflow.getCreateTime() >= startTime && workflow.getCreateTime() <= endTime) {
+                        populateTasks(workflow);
                         workflows.add(workflow);
                     }
                 } catch (Exception e) {
                     LOGGER.error("Failed to get workflow: {}", workflowId, e);
                 }
-            });
+            }
         });
 
         return workflows;
@@ -526,7 +596,13 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         List<Task> tasks = workflow.getTasks();
         workflow.setTasks(new LinkedList<>());
 
-        String payload = toJson(workflow);
+        WorkflowDef workflowDefinition = workflowDefinitionStore.dereference(workflow);
+        String payload;
+        try {
+            payload = documentCodec.encode(workflow);
+        } finally {
+            workflowDefinitionStore.restore(workflow, workflowDefinition);
+        }
         // Store the workflow object
         jedisProxy.set(nsKey(WORKFLOW, workflow.getWorkflowId()), payload);
         recordRedisDaoRequests("storeWorkflow", "n/a", workflow.getWorkflowName());
@@ -666,4 +742,19 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
             throw new ApplicationException(Code.INVALID_INPUT, npe.getMessage(), npe);
         }
     }
+
+    private class WorkflowDefinitionStorage implements WorkflowDefinitionStore.Storage {
+
+        @Override
+        public String get(String hash) {
+            recordRedisDaoRequests("getWorkflowDef");
+            return jedisProxy.get(nsKey(WORKFLOW_DEF_BY_HASH, hash));
+        }
+
+        @Override
+        public void putIfAbsent(String hash, String document) {
+            recordRedisDaoRequests("storeWorkflowDef");
+            jedisProxy.setnx(nsKey(WORKFLOW_DEF_BY_HASH, hash), document);
+        }
+    }
 }
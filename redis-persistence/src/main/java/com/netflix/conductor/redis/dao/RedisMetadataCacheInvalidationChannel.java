@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.metadata.MetadataCacheInvalidationChannel;
+import com.netflix.conductor.redis.config.AnyRedisCondition;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisPubSub;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Propagates the metadata near-cache invalidations through a Redis pub/sub channel. Invalidations published while the
+ * subscription is down are lost, the entries they concern are evicted by the cache TTL. Dynomite does not support
+ * pub/sub, in which case invalidations stay local.
+ */
+@Component
+@Conditional(AnyRedisCondition.class)
+@ConditionalOnProperty(name = "conductor.app.metadata-cache-enabled", havingValue = "true")
+public class RedisMetadataCacheInvalidationChannel extends BaseDynoDAO implements MetadataCacheInvalidationChannel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisMetadataCacheInvalidationChannel.class);
+
+    private static final String METADATA_CACHE_INVALIDATION = "METADATA_CACHE_INVALIDATION";
+    private static final String MESSAGE_SEPARATOR = ":";
+
+    private final String channel;
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final JedisPubSub subscriber = new JedisPubSub() {
+        @Override
+        public void onMessage(String channel, String message) {
+            int separator = message.indexOf(MESSAGE_SEPARATOR);
+            if (separator < 0) {
+                LOGGER.warn("Ignoring malformed metadata cache invalidation: {}", message);
+                return;
+            }
+            String cache = message.substring(0, separator);
+            String key = message.substring(separator + 1);
+            listeners.getOrDefault(cache, List.of()).forEach(listener -> listener.accept(key));
+        }
+    };
+    private volatile boolean running = true;
+    private Thread subscriberThread;
+
+    public RedisMetadataCacheInvalidationChannel(JedisProxy jedisProxy, ObjectMapper objectMapper,
+        ConductorProperties conductorProperties, RedisProperties properties) {
+        super(jedisProxy, objectMapper, conductorProperties, properties);
+        this.channel = nsKey(METADATA_CACHE_INVALIDATION);
+    }
+
+    @Override
+    public void publish(String cache, String key) {
+        if (!jedisProxy.isPubSubSupported()) {
+            return;
+        }
+        try {
+            jedisProxy.publish(channel, cache + MESSAGE_SEPARATOR + key);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to publish the invalidation of {} from the {} metadata cache", key, cache, e);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(String cache, Consumer<String> listener) {
+        listeners.computeIfAbsent(cache, c -> new CopyOnWriteArrayList<>()).add(listener);
+        if (subscriberThread != null) {
+            return;
+        }
+        if (!jedisProxy.isPubSubSupported()) {
+            LOGGER.warn("The Redis client does not support pub/sub, metadata cache invalidations will stay local");
+            return;
+        }
+        subscriberThread = new Thread(this::listen, "metadata-cache-invalidation");
+        subscriberThread.setDaemon(true);
+        subscriberThread.start();
+    }
+
+    private void listen() {
+        while (running) {
+            try {
+                jedisProxy.subscribe(subscriber, channel);
+            } catch (Exception e) {
+                if (running) {
+                    LOGGER.warn("Lost the subscription to {}, resubscribing", channel, e);
+                    Uninterruptibles.sleepUninterruptibly(1, TimeUnit.SECONDS);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (subscriber.isSubscribed()) {
+            subscriber.unsubscribe();
+        }
+    }
+}
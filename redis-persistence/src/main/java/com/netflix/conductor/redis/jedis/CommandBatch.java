@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.RedisPipeline;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A list of write commands that is sent to Redis as one unit through {@link JedisProxy#execute(CommandBatch)}.
+ * <p>
+ * The commands are pipelined when the underlying client implements {@link PipelinedCommands}, and are issued one by
+ * one otherwise. In both cases they are executed in the order they were added.
+ */
+public class CommandBatch {
+
+    private final List<Consumer<RedisPipeline>> pipelineCommands = new ArrayList<>();
+    private final List<Function<JedisCommands, Object>> commands = new ArrayList<>();
+
+    public CommandBatch set(String key, String value) {
+        return add(pipeline -> pipeline.set(key, value), jedis -> jedis.set(key, value));
+    }
+
+    public CommandBatch hset(String key, String field, String value) {
+        return add(pipeline -> pipeline.hset(key, field, value), jedis -> jedis.hset(key, field, value));
+    }
+
+    public CommandBatch sadd(String key, String member) {
+        return add(pipeline -> pipeline.sadd(key, member), jedis -> jedis.sadd(key, member));
+    }
+
+    public CommandBatch srem(String key, String member) {
+        return add(pipeline -> pipeline.srem(key, member), jedis -> jedis.srem(key, member));
+    }
+
+    public CommandBatch zrem(String key, String member) {
+        return add(pipeline -> pipeline.zrem(key, member), jedis -> jedis.zrem(key, member));
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    public boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    private CommandBatch add(Consumer<RedisPipeline> pipelineCommand, Function<JedisCommands, Object> command) {
+        pipelineCommands.add(pipelineCommand);
+        commands.add(command);
+        return this;
+    }
+
+    List<Object> execute(JedisCommands jedisCommands) {
+        if (jedisCommands instanceof PipelinedCommands) {
+            List<Object> replies = ((PipelinedCommands) jedisCommands)
+                .pipelined(pipeline -> pipelineCommands.forEach(command -> command.accept(pipeline)));
+            for (Object reply : replies) {
+                if (reply instanceof JedisDataException) {
+                    throw (JedisDataException) reply;
+                }
+            }
+            return replies;
+        }
+        return commands.stream()
+            .map(command -> command.apply(jedisCommands))
+            .collect(Collectors.toList());
+    }
+}
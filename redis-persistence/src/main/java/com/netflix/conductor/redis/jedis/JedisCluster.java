@@ -16,6 +16,7 @@ import redis.clients.jedis.BitPosParams;
 import redis.clients.jedis.GeoCoordinate;
 import redis.clients.jedis.GeoRadiusResponse;
 import redis.clients.jedis.GeoUnit;
+import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.ListPosition;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
@@ -32,15 +33,19 @@ import redis.clients.jedis.params.GeoRadiusParam;
 import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
 import redis.clients.jedis.params.ZIncrByParams;
+import redis.clients.jedis.util.JedisClusterCRC16;
 
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public class JedisCluster implements JedisCommands {
+public class JedisCluster implements JedisCommands, MultiGetCommands, PubSubCommands {
 
     private final redis.clients.jedis.JedisCluster jedisCluster;
 
@@ -63,6 +68,37 @@ public class JedisCluster implements JedisCommands {
         return jedisCluster.get(key);
     }
 
+    /**
+     * MGET is only allowed on keys that map to the same hash slot, so the keys are grouped by slot and one MGET is
+     * issued per slot.
+     */
+    @Override
+    public List<String> mget(String... keys) {
+        Map<Integer, List<Integer>> indexesBySlot = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            indexesBySlot.computeIfAbsent(JedisClusterCRC16.getSlot(keys[i]), slot -> new ArrayList<>()).add(i);
+        }
+        String[] values = new String[keys.length];
+        for (List<Integer> indexes : indexesBySlot.values()) {
+            String[] slotKeys = indexes.stream().map(i -> keys[i]).toArray(String[]::new);
+            List<String> slotValues = jedisCluster.mget(slotKeys);
+            for (int i = 0; i < indexes.size(); i++) {
+                values[indexes.get(i)] = slotValues.get(i);
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    @Override
+    public Long publish(String channel, String message) {
+        return jedisCluster.publish(channel, message);
+    }
+
+    @Override
+    public void subscribe(JedisPubSub jedisPubSub, String... channels) {
+        jedisCluster.subscribe(jedisPubSub, channels);
+    }
+
     @Override
     public Boolean exists(String key) {
         return jedisCluster.exists(key);
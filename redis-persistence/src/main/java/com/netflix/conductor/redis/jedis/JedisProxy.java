@@ -18,12 +18,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.MultiKeyCommands;
 import redis.clients.jedis.params.ZAddParams;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +34,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.netflix.conductor.redis.config.RedisCommonConfiguration.DEFAULT_CLIENT_INJECTION_NAME;
 
@@ -73,6 +77,61 @@ public class JedisProxy {
         return jedisCommands.get(key);
     }
 
+    /**
+     * Reads the given keys with as few round trips as the underlying client allows. Clients that support neither
+     * {@link MultiKeyCommands} nor {@link MultiGetCommands} fall back to one GET per key.
+     *
+     * @param keys the keys to read
+     * @return the values of the given keys, in the same order, with <code>null</code> for keys that do not exist
+     */
+    public List<String> mget(List<String> keys) {
+        LOGGER.trace("mget {}", keys);
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] keyArray = keys.toArray(new String[0]);
+        if (jedisCommands instanceof MultiKeyCommands) {
+            return ((MultiKeyCommands) jedisCommands).mget(keyArray);
+        }
+        if (jedisCommands instanceof MultiGetCommands) {
+            return ((MultiGetCommands) jedisCommands).mget(keyArray);
+        }
+        return keys.stream()
+            .map(jedisCommands::get)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Sends the commands of the given batch as one unit, pipelined if the underlying client supports it.
+     *
+     * @param batch the commands to send
+     * @return the replies of the commands, in the order they were added to the batch
+     */
+    public List<Object> execute(CommandBatch batch) {
+        LOGGER.trace("execute batch of {} commands", batch.size());
+        if (batch.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return batch.execute(jedisCommands);
+    }
+
+    public boolean isPubSubSupported() {
+        return jedisCommands instanceof PubSubCommands;
+    }
+
+    public Long publish(String channel, String message) {
+        LOGGER.trace("publish {} {}", channel, message);
+        return ((PubSubCommands) jedisCommands).publish(channel, message);
+    }
+
+    /**
+     * Blocks until the given listener unsubscribes or the connection fails.
+     */
+    public void subscribe(JedisPubSub jedisPubSub, String... channels) {
+        LOGGER.trace("subscribe {}", (Object) channels);
+        ((PubSubCommands) jedisCommands).subscribe(jedisPubSub, channels);
+    }
+
     public Long zcard(String key) {
         return jedisCommands.zcard(key);
     }
@@ -18,7 +18,9 @@ import redis.clients.jedis.GeoRadiusResponse;
 import redis.clients.jedis.GeoUnit;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPoolAbstract;
+import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.SortingParams;
@@ -30,6 +32,7 @@ import redis.clients.jedis.StreamInfo;
 import redis.clients.jedis.StreamPendingEntry;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.RedisPipeline;
 import redis.clients.jedis.params.GeoRadiusParam;
 import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
@@ -39,8 +42,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 
-public class JedisSentinel implements JedisCommands {
+public class JedisSentinel implements JedisCommands, MultiGetCommands, PipelinedCommands, PubSubCommands {
 
     private final JedisPoolAbstract jedisPool;
 
@@ -69,6 +73,36 @@ public class JedisSentinel implements JedisCommands {
         }
     }
 
+    @Override
+    public List<String> mget(String... keys) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.mget(keys);
+        }
+    }
+
+    @Override
+    public List<Object> pipelined(Consumer<RedisPipeline> commands) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            commands.accept(pipeline);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public Long publish(String channel, String message) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.publish(channel, message);
+        }
+    }
+
+    @Override
+    public void subscribe(JedisPubSub jedisPubSub, String... channels) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.subscribe(jedisPubSub, channels);
+        }
+    }
+
     @Override
     public Boolean exists(String key) {
         try (Jedis jedis = jedisPool.getResource()) {
@@ -18,7 +18,9 @@ import redis.clients.jedis.GeoRadiusResponse;
 import redis.clients.jedis.GeoUnit;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.SortingParams;
@@ -30,6 +32,7 @@ import redis.clients.jedis.StreamInfo;
 import redis.clients.jedis.StreamPendingEntry;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.RedisPipeline;
 import redis.clients.jedis.params.GeoRadiusParam;
 import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
@@ -38,12 +41,13 @@ import redis.clients.jedis.params.ZIncrByParams;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * A {@link JedisCommands} implementation that delegates to {@link JedisPool}.
  */
-public class JedisStandalone implements JedisCommands {
+public class JedisStandalone implements JedisCommands, MultiGetCommands, PipelinedCommands, PubSubCommands {
 
     private final JedisPool jedisPool;
 
@@ -72,6 +76,32 @@ public class JedisStandalone implements JedisCommands {
         return executeInJedis(jedis -> jedis.get(key));
     }
 
+    @Override
+    public List<String> mget(String... keys) {
+        return executeInJedis(jedis -> jedis.mget(keys));
+    }
+
+    @Override
+    public List<Object> pipelined(Consumer<RedisPipeline> commands) {
+        return executeInJedis(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            commands.accept(pipeline);
+            return pipeline.syncAndReturnAll();
+        });
+    }
+
+    @Override
+    public Long publish(String channel, String message) {
+        return executeInJedis(jedis -> jedis.publish(channel, message));
+    }
+
+    @Override
+    public void subscribe(JedisPubSub jedisPubSub, String... channels) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.subscribe(jedisPubSub, channels);
+        }
+    }
+
     @Override
     public Boolean exists(String key) {
         return executeInJedis(jedis -> jedis.exists(key));
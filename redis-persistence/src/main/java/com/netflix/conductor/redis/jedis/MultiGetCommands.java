@@ -0,0 +1,30 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.commands.JedisCommands;
+
+import java.util.List;
+
+/**
+ * Batch reads for the {@link JedisCommands} implementations in this package, which do not implement the full
+ * {@link redis.clients.jedis.commands.MultiKeyCommands} interface.
+ */
+public interface MultiGetCommands {
+
+    /**
+     * @param keys the keys to read
+     * @return the values of the given keys, in the same order, with <code>null</code> for keys that do not exist
+     */
+    List<String> mget(String... keys);
+}
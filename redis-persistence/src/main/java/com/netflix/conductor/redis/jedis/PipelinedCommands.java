@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.RedisPipeline;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Pipelining for the {@link JedisCommands} implementations in this package that talk to a single Redis node.
+ */
+public interface PipelinedCommands {
+
+    /**
+     * Sends the commands issued on the given pipeline to Redis in a single round trip.
+     *
+     * @param commands issues the commands on the pipeline
+     * @return the replies of the commands, in the order they were issued
+     */
+    List<Object> pipelined(Consumer<RedisPipeline> commands);
+}
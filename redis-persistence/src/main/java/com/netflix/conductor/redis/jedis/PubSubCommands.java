@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.commands.JedisCommands;
+
+/**
+ * Publish/subscribe for the {@link JedisCommands} implementations in this package that talk to Redis directly.
+ */
+public interface PubSubCommands {
+
+    /**
+     * @param channel the channel to publish to
+     * @param message the message to publish
+     * @return the number of clients that received the message
+     */
+    Long publish(String channel, String message);
+
+    /**
+     * Subscribes the given listener to the given channels. Blocks until the listener unsubscribes or the connection
+     * fails.
+     *
+     * @param jedisPubSub the listener
+     * @param channels    the channels to subscribe to
+     */
+    void subscribe(JedisPubSub jedisPubSub, String... channels);
+}
@@ -18,6 +18,7 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.utils.DocumentCodec;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.ExecutionDAOTest;
 import com.netflix.conductor.redis.config.RedisProperties;
@@ -32,6 +33,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import redis.clients.jedis.commands.JedisCommands;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -57,7 +59,8 @@ public class RedisExecutionDAOTest extends ExecutionDAOTest {
         JedisCommands jedisMock = new JedisMock();
         JedisProxy jedisProxy = new JedisProxy(jedisMock);
 
-        executionDAO = new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties);
+        executionDAO = new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties,
+            new DocumentCodec(objectMapper));
     }
 
     @Test
@@ -88,6 +91,32 @@ public class RedisExecutionDAOTest extends ExecutionDAOTest {
         assertEquals(taskId, tasks.get(0).getTaskId());
     }
 
+    @Test
+    public void testUpdateTasks() {
+        String workflowId = "workflowId";
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTaskId("taskId" + i);
+            task.setWorkflowInstanceId(workflowId);
+            task.setReferenceTaskName("ref_name" + i);
+            task.setTaskDefName("task1");
+            task.setTaskType("task1");
+            task.setStatus(Status.SCHEDULED);
+            tasks.add(task);
+        }
+        assertEquals(3, executionDAO.createTasks(tasks).size());
+        assertEquals(3, executionDAO.getPendingTasksForTaskType("task1").size());
+
+        tasks.forEach(task -> task.setStatus(Status.COMPLETED));
+        executionDAO.updateTasks(tasks);
+
+        List<Task> updated = executionDAO.getTasksForWorkflow(workflowId);
+        assertEquals(3, updated.size());
+        updated.forEach(task -> assertEquals(Status.COMPLETED, task.getStatus()));
+        assertEquals(0, executionDAO.getPendingTasksForTaskType("task1").size());
+    }
+
     @Override
     protected ExecutionDAO getExecutionDAO() {
         return executionDAO;
@@ -26,6 +26,7 @@ import redis.clients.jedis.params.ZIncrByParams;
 
 import java.util.AbstractMap;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -50,6 +51,14 @@ public class JedisClusterTest {
         jedisCluster.get("key");
     }
 
+    @Test
+    public void testMget() {
+        when(mockCluster.mget("{a}1", "{a}2")).thenReturn(Arrays.asList("1", "2"));
+        when(mockCluster.mget("b")).thenReturn(Collections.singletonList("3"));
+
+        assertEquals(Arrays.asList("1", "3", "2"), jedisCluster.mget("{a}1", "b", "{a}2"));
+    }
+
     @Test
     public void testExists() {
         jedisCluster.exists("key");
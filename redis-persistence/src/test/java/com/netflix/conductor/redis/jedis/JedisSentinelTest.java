@@ -52,6 +52,11 @@ public class JedisSentinelTest {
         jedisSentinel.get("key");
     }
 
+    @Test
+    public void testMget() {
+        jedisSentinel.mget("key1", "key2");
+    }
+
     @Test
     public void testExists() {
         jedisSentinel.exists("key");